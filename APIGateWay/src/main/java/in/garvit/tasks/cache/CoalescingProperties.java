@@ -0,0 +1,69 @@
+package in.garvit.tasks.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings of {@link RequestCoalescingFilter}.
+ */
+@ConfigurationProperties(prefix = "task.gateway.coalescing")
+public class CoalescingProperties {
+
+    private boolean enabled = true;
+
+    // Followers stop waiting for the shared response after this and call the backend themselves
+    private Duration maxWait = Duration.ofSeconds(10);
+
+    // Larger responses are not shared; the waiting requests are then sent upstream on their own
+    private DataSize maxBodyBytes = DataSize.ofMegabytes(1);
+
+    // Responses that depend only on the caller being signed in, so all users can share one call
+    private List<String> sharedPaths = new ArrayList<>();
+
+    // GETs that are never coalesced, e.g. streams
+    private List<String> excludedPaths = new ArrayList<>(List.of("/api/*/export", "/api/*/stream"));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    public void setMaxWait(Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    public DataSize getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    public void setMaxBodyBytes(DataSize maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    public List<String> getSharedPaths() {
+        return sharedPaths;
+    }
+
+    public void setSharedPaths(List<String> sharedPaths) {
+        this.sharedPaths = sharedPaths;
+    }
+
+    public List<String> getExcludedPaths() {
+        return excludedPaths;
+    }
+
+    public void setExcludedPaths(List<String> excludedPaths) {
+        this.excludedPaths = excludedPaths;
+    }
+}
@@ -0,0 +1,210 @@
+package in.garvit.tasks.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.reactivestreams.Publisher;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Single-flight for GETs: while one request for a path and query is on its way to the backend,
+ * identical requests wait for its response instead of making their own call, and then receive a copy
+ * of it. Requests are identical when they also share the authorization scope, which is the user id
+ * unless the path is listed in {@code shared-paths}, whose responses only depend on the caller being
+ * signed in. Conditional and range requests always go upstream. Requests also share the resource's
+ * generation from {@link ResponseCacheFilter}, so a request arriving after a write to the resource
+ * has started starts a new flight instead of receiving a response that may predate the write.
+ *
+ * Only {@code 2xx} and {@code 304} responses are shared. If the first response cannot be shared (any
+ * other status, too large, sets a cookie, or the call failed or was cancelled) or takes longer than
+ * {@code max-wait}, the waiting requests are sent upstream on their own, so coalescing never turns
+ * one failure into many.
+ */
+@Component
+@EnableConfigurationProperties(CoalescingProperties.class)
+public class RequestCoalescingFilter implements GlobalFilter, Ordered {
+
+    private static final String ANY_USER = "any-user";
+
+    private record Key(String pathAndQuery, long generation, String scope, String accept, String acceptEncoding) {
+    }
+
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+
+    private final CoalescingProperties properties;
+    private final ResponseCacheFilter responseCache;
+    private final List<PathPattern> sharedPaths;
+    private final List<PathPattern> excludedPaths;
+    private final Map<Key, Sinks.One<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter upstreamRequests;
+    private final Counter coalescedRequests;
+    private final Counter fallbackRequests;
+
+    public RequestCoalescingFilter(CoalescingProperties properties, ResponseCacheFilter responseCache,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.responseCache = responseCache;
+        this.sharedPaths = parse(properties.getSharedPaths());
+        this.excludedPaths = parse(properties.getExcludedPaths());
+        this.upstreamRequests = requests(meterRegistry, "upstream");
+        this.coalescedRequests = requests(meterRegistry, "coalesced");
+        this.fallbackRequests = requests(meterRegistry, "fallback");
+        Gauge.builder("gateway.coalescing.inflight", inFlight, Map::size)
+            .description("Distinct GETs currently being fetched for waiting requests")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!properties.isEnabled() || !HttpMethod.GET.equals(request.getMethod()) || isConditional(request.getHeaders())
+                || matches(excludedPaths, request.getPath().pathWithinApplication())) {
+            return chain.filter(exchange);
+        }
+        String scope = scopeOf(request);
+        if (scope == null) {
+            return chain.filter(exchange);
+        }
+
+        String path = request.getPath().pathWithinApplication().value();
+        String query = request.getURI().getRawQuery();
+        Key key = new Key(query != null ? path + '?' + query : path,
+            responseCache.generation(ResponseCacheFilter.resourceOf(path)), scope,
+            request.getHeaders().getFirst(HttpHeaders.ACCEPT), request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+        Sinks.One<SharedResponse> flight = Sinks.one();
+        Sinks.One<SharedResponse> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            return follow(exchange, chain, leader);
+        }
+
+        upstreamRequests.increment();
+        return chain.filter(exchange.mutate().response(new SharingResponse(exchange.getResponse(), key, flight)).build())
+            .doFinally(signal -> finish(key, flight, null));
+    }
+
+    // After the response cache, so only misses are coalesced.
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 3;
+    }
+
+    private Mono<Void> follow(ServerWebExchange exchange, GatewayFilterChain chain, Sinks.One<SharedResponse> leader) {
+        return leader.asMono()
+            .timeout(properties.getMaxWait(), Mono.empty())
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .flatMap(shared -> {
+                if (shared.isEmpty()) {
+                    fallbackRequests.increment();
+                    return chain.filter(exchange);
+                }
+                coalescedRequests.increment();
+                return replay(exchange.getResponse(), shared.get());
+            });
+    }
+
+    /**
+     * Publish the leader's outcome and let the next identical request start a new flight;
+     * only the first call for a flight has any effect
+     */
+    private void finish(Key key, Sinks.One<SharedResponse> flight, SharedResponse response) {
+        inFlight.remove(key, flight);
+        if (response != null) {
+            flight.tryEmitValue(response);
+        } else {
+            flight.tryEmitEmpty();
+        }
+    }
+
+    private static Mono<Void> replay(ServerHttpResponse response, SharedResponse shared) {
+        shared.headers().forEach(response.getHeaders()::put);
+        response.setStatusCode(shared.status());
+        if (shared.body().length == 0) {
+            return response.setComplete();
+        }
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(shared.body())));
+    }
+
+    private String scopeOf(ServerHttpRequest request) {
+        String user = ResponseCacheFilter.userOf(request);
+        if (user == null) {
+            return null;
+        }
+        if (user.isEmpty()) {
+            return "anonymous";
+        }
+        return matches(sharedPaths, request.getPath().pathWithinApplication()) ? ANY_USER : "user:" + user;
+    }
+
+    private static boolean isConditional(HttpHeaders headers) {
+        return headers.containsKey(HttpHeaders.IF_NONE_MATCH) || headers.containsKey(HttpHeaders.IF_MODIFIED_SINCE)
+            || headers.containsKey(HttpHeaders.RANGE);
+    }
+
+    private static boolean matches(List<PathPattern> patterns, PathContainer path) {
+        return patterns.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    private static List<PathPattern> parse(List<String> paths) {
+        return paths.stream().map(path -> PathPatternParser.defaultInstance.parse(path.trim())).toList();
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gateway.coalescing.requests")
+            .description("GETs eligible for coalescing, by how they were answered")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Hands a copy of the leader's response to the waiting requests once it has been written
+     */
+    private final class SharingResponse extends ServerHttpResponseDecorator {
+
+        private final Key key;
+        private final Sinks.One<SharedResponse> flight;
+
+        private SharingResponse(ServerHttpResponse delegate, Key key, Sinks.One<SharedResponse> flight) {
+            super(delegate);
+            this.key = key;
+            this.flight = flight;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            HttpStatusCode status = getStatusCode();
+            if (status == null || !(status.is2xxSuccessful() || status.value() == 304)
+                    || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+                finish(key, flight, null);
+                return super.writeWith(body);
+            }
+            return super.writeWith(ResponseCapture.copying(body, headers, properties.getMaxBodyBytes().toBytes(),
+                bytes -> finish(key, flight, new SharedResponse(status, ResponseCapture.replayableHeaders(headers), bytes))));
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package in.garvit.tasks.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.reactivestreams.Publisher;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import in.garvit.tasks.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Serves repeated GETs from memory so read bursts are absorbed at the edge. Entries are keyed by
+ * path, query and the verified user id, so one user never sees another user's response. Only
+ * {@code 200} responses are stored, for the backend's {@code max-age} (capped) or a short default,
+ * and never when the backend sends {@code no-store}, {@code no-cache} or a cookie. A cached
+ * {@code ETag} answers a matching {@code If-None-Match} with {@code 304}.
+ *
+ * Every resource (e.g. {@code /api/tasks}) has a generation that each write through the gateway
+ * increments, both when it starts and when it finishes. Entries remember the generation their
+ * request started in and are ignored once it has moved on, so a write invalidates every cached
+ * read of the same resource in O(1). Generations move even while the cache is disabled, since
+ * {@link RequestCoalescingFilter} relies on them too. Writes that bypass the gateway, such as the
+ * submission outbox completing tasks, are only picked up when entries expire.
+ */
+@Component
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    public static final String CACHE_HEADER = "X-Cache";
+
+    private static final Pattern MAX_AGE = Pattern.compile("(?:^|[,\\s])max-age=(\\d+)");
+    private static final List<MediaType> STREAMING_TYPES = List.of(MediaType.TEXT_EVENT_STREAM,
+        MediaType.APPLICATION_NDJSON);
+
+    private record Key(String resource, String user, String pathAndQuery) {
+    }
+
+    private record Entry(long generation, HttpHeaders headers, byte[] body, long storedAt, long ttlNanos) {
+    }
+
+    private final ResponseCacheProperties properties;
+    private final List<PathPattern> excludedPaths;
+    private final Cache<Key, Entry> cache;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public ResponseCacheFilter(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.excludedPaths = properties.getExcludedPaths().stream()
+            .map(path -> PathPatternParser.defaultInstance.parse(path.trim()))
+            .toList();
+        long maxBytes = properties.getMaxBytes().toBytes();
+        // Every entry weighs at least its share of the byte budget, which also caps the entry count
+        long minWeight = Math.max(1L, maxBytes / Math.max(1L, properties.getMaxEntries()));
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((Key key, Entry entry) -> (int) Math.min(Integer.MAX_VALUE, Math.max(minWeight, entry.body().length)))
+            .expireAfter(new EntryExpiry())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gatewayResponses");
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().pathWithinApplication().value();
+        String resource = resourceOf(path);
+        HttpMethod method = request.getMethod();
+        if (!HttpMethod.GET.equals(method) && !HttpMethod.HEAD.equals(method) && !HttpMethod.OPTIONS.equals(method)) {
+            invalidate(resource);
+            return chain.filter(exchange).doFinally(signal -> invalidate(resource));
+        }
+
+        String user = userOf(request);
+        if (!properties.isEnabled() || !HttpMethod.GET.equals(method) || user == null || isExcluded(request)) {
+            return chain.filter(exchange);
+        }
+        String query = request.getURI().getRawQuery();
+        Key key = new Key(resource, user, query != null ? path + '?' + query : path);
+        long generation = generation(resource);
+        if (!forbidsCache(request.getHeaders())) {
+            Entry entry = cache.getIfPresent(key);
+            if (entry != null && entry.generation() == generation) {
+                return serve(exchange, entry);
+            }
+        }
+        exchange.getResponse().getHeaders().set(CACHE_HEADER, "MISS");
+        return chain.filter(exchange.mutate().response(new CachingResponse(exchange.getResponse(), key, generation)).build());
+    }
+
+    // After authentication and rate limiting, so hits still count against the caller's limit.
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 2;
+    }
+
+    /**
+     * The first two segments of API paths ({@code /api/tasks}), otherwise the first segment
+     */
+    static String resourceOf(String path) {
+        String[] segments = StringUtils.tokenizeToStringArray(path, "/");
+        if (segments.length == 0) {
+            return "/";
+        }
+        if ("api".equals(segments[0]) && segments.length > 1) {
+            return "/api/" + segments[1];
+        }
+        return "/" + segments[0];
+    }
+
+    private void invalidate(String resource) {
+        generations.computeIfAbsent(resource, ignored -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Moves on whenever a write to the resource starts or finishes
+     */
+    long generation(String resource) {
+        return generations.computeIfAbsent(resource, ignored -> new AtomicLong()).get();
+    }
+
+    /**
+     * Requests carrying a token without a user id cannot be told apart per user, so they are not cached
+     */
+    static String userOf(ServerHttpRequest request) {
+        String userId = request.getHeaders().getFirst(JwtAuthenticationFilter.USER_ID_HEADER);
+        if (StringUtils.hasText(userId)) {
+            return userId;
+        }
+        return request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION) ? null : "";
+    }
+
+    private boolean isExcluded(ServerHttpRequest request) {
+        return excludedPaths.stream().anyMatch(pattern -> pattern.matches(request.getPath().pathWithinApplication()));
+    }
+
+    private static boolean forbidsCache(HttpHeaders headers) {
+        String cacheControl = lowerCase(headers.getCacheControl());
+        return cacheControl.contains("no-cache") || cacheControl.contains("no-store")
+            || lowerCase(headers.getPragma()).contains("no-cache");
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, Entry entry) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        entry.headers().forEach(headers::put);
+        headers.set(HttpHeaders.AGE, Long.toString(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - entry.storedAt())));
+        headers.set(CACHE_HEADER, "HIT");
+        if (etagMatches(exchange.getRequest().getHeaders().getIfNoneMatch(), entry.headers().getETag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(entry.body())));
+    }
+
+    private static boolean etagMatches(List<String> ifNoneMatch, String etag) {
+        if (etag == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        String current = stripWeak(etag);
+        return ifNoneMatch.stream().anyMatch(candidate -> "*".equals(candidate) || stripWeak(candidate).equals(current));
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static String lowerCase(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : "";
+    }
+
+    /**
+     * How long a response may be cached, or {@code null} if it may not
+     */
+    private Duration ttlOf(HttpStatus status, HttpHeaders headers) {
+        if (status != HttpStatus.OK || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return null;
+        }
+        MediaType contentType = headers.getContentType();
+        if (contentType != null && STREAMING_TYPES.stream().anyMatch(contentType::isCompatibleWith)) {
+            return null;
+        }
+        if (headers.getContentLength() > properties.getMaxEntryBytes().toBytes()) {
+            return null;
+        }
+        String cacheControl = lowerCase(headers.getCacheControl());
+        if (cacheControl.contains("no-store") || cacheControl.contains("no-cache")) {
+            return null;
+        }
+        Matcher maxAge = MAX_AGE.matcher(cacheControl);
+        Duration ttl = maxAge.find() ? Duration.ofSeconds(Long.parseLong(maxAge.group(1))) : properties.getDefaultTtl();
+        ttl = ttl.compareTo(properties.getMaxTtl()) > 0 ? properties.getMaxTtl() : ttl;
+        return ttl.isZero() || ttl.isNegative() ? null : ttl;
+    }
+
+    /**
+     * Copies the body into the cache while it is written to the client, so a miss adds no latency
+     */
+    private final class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final Key key;
+        private final long generation;
+
+        private CachingResponse(ServerHttpResponse delegate, Key key, long generation) {
+            super(delegate);
+            this.key = key;
+            this.generation = generation;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatus status = getStatusCode() != null ? HttpStatus.resolve(getStatusCode().value()) : null;
+            Duration ttl = ttlOf(status, getHeaders());
+            if (ttl == null) {
+                return super.writeWith(body);
+            }
+            HttpHeaders headers = getHeaders();
+            Flux<DataBuffer> copying = ResponseCapture.copying(body, headers, properties.getMaxEntryBytes().toBytes(),
+                bytes -> cache.put(key, new Entry(generation, ResponseCapture.replayableHeaders(headers), bytes,
+                    System.nanoTime(), ttl.toNanos())));
+            return super.writeWith(copying);
+        }
+    }
+
+    private static final class EntryExpiry implements Expiry<Key, Entry> {
+
+        @Override
+        public long expireAfterCreate(Key key, Entry entry, long currentTime) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, Entry entry, long currentTime, long currentDuration) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(Key key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
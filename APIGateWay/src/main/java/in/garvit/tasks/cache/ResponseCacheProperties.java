@@ -0,0 +1,90 @@
+package in.garvit.tasks.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings of {@link ResponseCacheFilter}. The cache is bounded both by {@code maxEntries} and by
+ * {@code maxBytes} of stored bodies, whichever is reached first.
+ */
+@ConfigurationProperties(prefix = "task.gateway.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    private long maxEntries = 10_000L;
+
+    private DataSize maxBytes = DataSize.ofMegabytes(64);
+
+    // Larger responses are passed through without being stored
+    private DataSize maxEntryBytes = DataSize.ofKilobytes(512);
+
+    // Used when the backend sends no max-age
+    private Duration defaultTtl = Duration.ofSeconds(5);
+
+    // Upper bound for a backend max-age
+    private Duration maxTtl = Duration.ofMinutes(1);
+
+    // GETs that are never cached, e.g. streams
+    private List<String> excludedPaths = new ArrayList<>(List.of("/api/*/export", "/api/*/stream"));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(long maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public DataSize getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(DataSize maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public DataSize getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    public void setMaxEntryBytes(DataSize maxEntryBytes) {
+        this.maxEntryBytes = maxEntryBytes;
+    }
+
+    public Duration getDefaultTtl() {
+        return defaultTtl;
+    }
+
+    public void setDefaultTtl(Duration defaultTtl) {
+        this.defaultTtl = defaultTtl;
+    }
+
+    public Duration getMaxTtl() {
+        return maxTtl;
+    }
+
+    public void setMaxTtl(Duration maxTtl) {
+        this.maxTtl = maxTtl;
+    }
+
+    public List<String> getExcludedPaths() {
+        return excludedPaths;
+    }
+
+    public void setExcludedPaths(List<String> excludedPaths) {
+        this.excludedPaths = excludedPaths;
+    }
+}
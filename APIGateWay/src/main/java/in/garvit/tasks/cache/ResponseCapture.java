@@ -0,0 +1,78 @@
+package in.garvit.tasks.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Helpers for keeping a copy of a response that is being written, so it can be replayed to other
+ * requests later.
+ */
+final class ResponseCapture {
+
+    // Set by the gateway per request, or meaningless for another response
+    private static final List<String> PER_REQUEST_HEADERS = List.of(HttpHeaders.TRANSFER_ENCODING,
+        HttpHeaders.CONNECTION, HttpHeaders.DATE, HttpHeaders.AGE, ResponseCacheFilter.CACHE_HEADER);
+
+    private ResponseCapture() {
+    }
+
+    /**
+     * Pass the body through unchanged while copying it
+     *
+     * @param body the body being written
+     * @param headers the response headers; a body not matching their Content-Length is not handed out
+     * @param limit largest body that is copied
+     * @param onComplete receives the complete body once the last buffer was passed on; not called for
+     *        larger or failed bodies
+     * @return the body to write instead
+     */
+    static Flux<DataBuffer> copying(Publisher<? extends DataBuffer> body, HttpHeaders headers, long limit,
+            Consumer<byte[]> onComplete) {
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        AtomicBoolean tooLarge = new AtomicBoolean();
+        return Flux.<DataBuffer>from(body)
+            .doOnNext(buffer -> {
+                if (tooLarge.get() || captured.size() + buffer.readableByteCount() > limit) {
+                    tooLarge.set(true);
+                    return;
+                }
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                int position = buffer.readPosition();
+                buffer.read(bytes);
+                buffer.readPosition(position);
+                captured.writeBytes(bytes);
+            })
+            .doOnComplete(() -> {
+                long length = headers.getContentLength();
+                if (!tooLarge.get() && (length < 0 || length == captured.size())) {
+                    onComplete.accept(captured.toByteArray());
+                }
+            });
+    }
+
+    /**
+     * Copy the headers that describe the response itself, leaving out CORS and transport headers
+     *
+     * @param headers the response headers
+     * @return a read-only copy
+     */
+    static HttpHeaders replayableHeaders(HttpHeaders headers) {
+        HttpHeaders copy = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            boolean skipped = name.regionMatches(true, 0, "Access-Control-", 0, 15)
+                || PER_REQUEST_HEADERS.stream().anyMatch(name::equalsIgnoreCase);
+            if (!skipped) {
+                copy.put(name, List.copyOf(values));
+            }
+        });
+        return HttpHeaders.readOnlyHttpHeaders(copy);
+    }
+}
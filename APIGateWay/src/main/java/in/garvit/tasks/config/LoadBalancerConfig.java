@@ -0,0 +1,17 @@
+package in.garvit.tasks.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+import in.garvit.tasks.loadbalancer.EwmaLoadBalancerConfiguration;
+
+/**
+ * Replaces round-robin with the latency-aware {@link in.garvit.tasks.loadbalancer.EwmaLoadBalancer}
+ * for all services; set {@code task.gateway.load-balancer.ewma-enabled=false} to go back.
+ */
+@Configuration
+@ConditionalOnProperty(name = "task.gateway.load-balancer.ewma-enabled", havingValue = "true", matchIfMissing = true)
+@LoadBalancerClients(defaultConfiguration = EwmaLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
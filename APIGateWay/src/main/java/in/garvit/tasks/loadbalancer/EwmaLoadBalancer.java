@@ -0,0 +1,256 @@
+package in.garvit.tasks.loadbalancer;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.util.AntPathMatcher;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Picks the instance for {@code lb://} routes with power-of-two-choices: two random instances are
+ * compared and the one with the lower expected cost (latency EWMA times requests in flight, see
+ * {@link InstanceStats}) gets the request. Sampling two instead of scanning all keeps the choice O(1)
+ * and stops every gateway from piling onto the same momentarily fastest instance, while one slow
+ * instance, e.g. in a GC pause or a Mongo stall, quickly stops receiving traffic.
+ *
+ * The statistics are fed by the gateway's load-balancer lifecycle callbacks. Long-lived streams and
+ * exports are not measured, as their duration says nothing about the instance's health. Failed calls
+ * and {@code 5xx} responses are charged at least {@code failurePenalty}. Every started request is
+ * remembered until it completes, so it leaves the in-flight count exactly once; the gateway does not
+ * report exchanges cancelled by the client, so requests older than {@code inFlightExpiry} are released
+ * without a sample.
+ */
+public class EwmaLoadBalancer implements ReactorServiceInstanceLoadBalancer,
+        LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+
+    private static final Logger log = LoggerFactory.getLogger(EwmaLoadBalancer.class);
+
+    private static final AntPathMatcher PATHS = new AntPathMatcher();
+    private static final long EXPIRY_CHECK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final String serviceId;
+    private final MeterRegistry meterRegistry;
+    private final long decayNanos;
+    private final long failurePenaltyNanos;
+    private final long inFlightExpiryNanos;
+    private final List<String> unmeasuredPaths;
+    private final Map<String, TrackedInstance> instances = new ConcurrentHashMap<>();
+    private final Map<RequestKey, Started> started = new ConcurrentHashMap<>();
+    private final AtomicLong lastExpiry = new AtomicLong(System.nanoTime() - EXPIRY_CHECK_NANOS);
+
+    private record TrackedInstance(InstanceStats stats, Counter choices, List<Meter> meters) {
+    }
+
+    private record Started(InstanceStats stats, long startNanos) {
+    }
+
+    /**
+     * Identifies a request by identity; the same object is passed to every lifecycle callback
+     */
+    private record RequestKey(Request<?> request) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof RequestKey key && key.request == request;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(request);
+        }
+    }
+
+    public EwmaLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> supplierProvider, String serviceId,
+            MeterRegistry meterRegistry, Duration decay, Duration failurePenalty, Duration inFlightExpiry,
+            List<String> unmeasuredPaths) {
+        this.supplierProvider = supplierProvider;
+        this.serviceId = serviceId;
+        this.meterRegistry = meterRegistry;
+        this.decayNanos = decay.toNanos();
+        this.failurePenaltyNanos = failurePenalty.toNanos();
+        this.inFlightExpiryNanos = inFlightExpiry.toNanos();
+        this.unmeasuredPaths = List.copyOf(unmeasuredPaths);
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(candidates -> {
+            Response<ServiceInstance> response = select(candidates);
+            if (supplier instanceof SelectedInstanceCallback callback && response.hasServer()) {
+                callback.selectedServiceInstance(response.getServer());
+            }
+            return response;
+        });
+    }
+
+    Response<ServiceInstance> select(List<ServiceInstance> candidates) {
+        if (candidates.isEmpty()) {
+            log.warn("No servers available for service: {}", serviceId);
+            return new EmptyResponse();
+        }
+        if (instances.size() > candidates.size()) {
+            forgetAllBut(candidates);
+        }
+        long now = System.nanoTime();
+        expireStarted(now);
+        ServiceInstance chosen = candidates.get(0);
+        if (candidates.size() > 1) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int first = random.nextInt(candidates.size());
+            int second = random.nextInt(candidates.size() - 1);
+            if (second >= first) {
+                second++;
+            }
+            ServiceInstance a = candidates.get(first);
+            ServiceInstance b = candidates.get(second);
+            chosen = tracked(a).stats().cost(now) <= tracked(b).stats().cost(now) ? a : b;
+        }
+        tracked(chosen).choices().increment();
+        return new DefaultResponse(chosen);
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return RequestDataContext.class.isAssignableFrom(requestContextClass)
+            && ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<RequestDataContext> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer() || !isMeasured(request)) {
+            return;
+        }
+        InstanceStats stats = tracked(lbResponse.getServer()).stats();
+        if (started.putIfAbsent(new RequestKey(request), new Started(stats, System.nanoTime())) == null) {
+            stats.start();
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completionContext) {
+        Request<RequestDataContext> request = completionContext.getLoadBalancerRequest();
+        // Absent if it was never measured, or already released as expired
+        Started start = request != null ? started.remove(new RequestKey(request)) : null;
+        if (start == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        long latency = now - start.startNanos();
+        if (completionContext.status() == CompletionContext.Status.FAILED || isServerError(completionContext)) {
+            latency = Math.max(latency, failurePenaltyNanos);
+        }
+        start.stats().finish(latency, now);
+    }
+
+    private static boolean isServerError(
+            CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completionContext) {
+        ResponseData response = completionContext.getClientResponse();
+        HttpStatusCode status = response != null ? response.getHttpStatus() : null;
+        return status != null && status.is5xxServerError();
+    }
+
+    /**
+     * Release requests that have been in flight for longer than the expiry, at most once per second
+     */
+    private void expireStarted(long now) {
+        long last = lastExpiry.get();
+        if (now - last < EXPIRY_CHECK_NANOS || !lastExpiry.compareAndSet(last, now)) {
+            return;
+        }
+        started.entrySet().removeIf(entry -> {
+            if (now - entry.getValue().startNanos() < inFlightExpiryNanos) {
+                return false;
+            }
+            entry.getValue().stats().release();
+            return true;
+        });
+    }
+
+    private boolean isMeasured(Request<RequestDataContext> request) {
+        RequestDataContext context = request.getContext();
+        if (context == null || context.getClientRequest() == null) {
+            return true;
+        }
+        URI url = context.getClientRequest().getUrl();
+        String path = url != null ? url.getPath() : null;
+        return path == null || unmeasuredPaths.stream().noneMatch(pattern -> PATHS.match(pattern, path));
+    }
+
+    private TrackedInstance tracked(ServiceInstance instance) {
+        return instances.computeIfAbsent(keyOf(instance), this::track);
+    }
+
+    private TrackedInstance track(String instance) {
+        InstanceStats stats = new InstanceStats(decayNanos, System.nanoTime());
+        Counter choices = Counter.builder("gateway.loadbalancer.choices")
+            .description("Requests sent to each backend instance")
+            .tags("service", serviceId, "instance", instance)
+            .register(meterRegistry);
+        Gauge latency = Gauge.builder("gateway.loadbalancer.latency", stats, InstanceStats::latencyMillis)
+            .description("Decaying peak EWMA of response latency")
+            .baseUnit("milliseconds")
+            .tags("service", serviceId, "instance", instance)
+            .register(meterRegistry);
+        Gauge inFlight = Gauge.builder("gateway.loadbalancer.inflight", stats, InstanceStats::inFlight)
+            .description("Requests in flight to each backend instance")
+            .tags("service", serviceId, "instance", instance)
+            .register(meterRegistry);
+        return new TrackedInstance(stats, choices, List.of(choices, latency, inFlight));
+    }
+
+    /**
+     * Drop statistics and meters of instances that left the registry
+     */
+    private void forgetAllBut(List<ServiceInstance> candidates) {
+        Set<String> live = candidates.stream().map(EwmaLoadBalancer::keyOf).collect(Collectors.toSet());
+        instances.entrySet().removeIf(entry -> {
+            if (live.contains(entry.getKey())) {
+                return false;
+            }
+            entry.getValue().meters().forEach(meterRegistry::remove);
+            return true;
+        });
+    }
+
+    private static String keyOf(ServiceInstance instance) {
+        return instance.getHost() + ':' + instance.getPort();
+    }
+}
@@ -0,0 +1,32 @@
+package in.garvit.tasks.loadbalancer;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Per-service load-balancer configuration, applied to every {@code lb://} service through
+ * {@code @LoadBalancerClients} in {@link in.garvit.tasks.config.LoadBalancerConfig}. Deliberately not
+ * a {@code @Configuration}, so component scanning does not register it in the main context.
+ */
+public class EwmaLoadBalancerConfiguration {
+
+    @Bean
+    EwmaLoadBalancer ewmaLoadBalancer(Environment environment, LoadBalancerClientFactory clientFactory,
+            MeterRegistry meterRegistry,
+            @Value("${task.gateway.load-balancer.decay:10s}") Duration decay,
+            @Value("${task.gateway.load-balancer.failure-penalty:1s}") Duration failurePenalty,
+            @Value("${task.gateway.load-balancer.in-flight-expiry:60s}") Duration inFlightExpiry,
+            @Value("${task.gateway.load-balancer.unmeasured-paths:/api/*/export,/api/*/stream}") List<String> unmeasuredPaths) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new EwmaLoadBalancer(clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+            serviceId, meterRegistry, decay, failurePenalty, inFlightExpiry, unmeasuredPaths);
+    }
+}
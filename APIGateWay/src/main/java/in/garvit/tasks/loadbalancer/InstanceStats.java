@@ -0,0 +1,81 @@
+package in.garvit.tasks.loadbalancer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load seen by the gateway on one backend instance: requests in flight and a peak-sensitive EWMA of
+ * response latency. A sample above the average replaces it at once, so a stalling instance is avoided
+ * from its first slow response. Smaller samples move the average a fifth of the way towards them, and
+ * without samples it decays towards zero with time constant {@code decayNanos}, so an avoided instance
+ * is tried again after a while.
+ */
+final class InstanceStats {
+
+    private static final double SMOOTHING = 0.2;
+    // Keeps queue length meaningful for instances without samples yet, such as a new one that hangs
+    private static final double MIN_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final long decayNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private double latencyNanos;
+    private long stampNanos;
+
+    InstanceStats(long decayNanos, long now) {
+        this.decayNanos = decayNanos;
+        this.stampNanos = now;
+    }
+
+    void start() {
+        inFlight.incrementAndGet();
+    }
+
+    void finish(long latency, long now) {
+        release();
+        observe(latency, now);
+    }
+
+    /**
+     * Stop counting a request without taking a latency sample, for one that never completed
+     */
+    void release() {
+        // Never below zero, even for a request that started before the instance was forgotten and re-added
+        inFlight.updateAndGet(count -> Math.max(0, count - 1));
+    }
+
+    /**
+     * Expected cost of sending one more request: latency weighted by the queue it would join
+     *
+     * @param now current {@link System#nanoTime()}
+     * @return a relative cost; lower is better
+     */
+    double cost(long now) {
+        return Math.max(latency(now), MIN_LATENCY_NANOS) * (inFlight.get() + 1);
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    double latencyMillis() {
+        return latency(System.nanoTime()) / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private synchronized void observe(long latency, long now) {
+        double decayed = decayed(now);
+        latencyNanos = latency > decayed ? latency : decayed + (latency - decayed) * SMOOTHING;
+        stampNanos = now;
+    }
+
+    private synchronized double latency(long now) {
+        return decayed(now);
+    }
+
+    private double decayed(long now) {
+        return latencyNanos * weight(now);
+    }
+
+    private double weight(long now) {
+        return Math.exp(-(double) Math.max(0L, now - stampNanos) / decayNanos);
+    }
+}
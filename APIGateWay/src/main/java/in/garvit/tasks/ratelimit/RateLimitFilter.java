@@ -0,0 +1,127 @@
+package in.garvit.tasks.ratelimit;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+
+import in.garvit.tasks.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Admission control in front of the backends. Each caller gets a {@link TokenBucket} per route, keyed
+ * by the user id that {@link JwtAuthenticationFilter} took from the token, or by client address on
+ * public paths. Requests finding their bucket empty are answered with 429 and a {@code Retry-After}
+ * header without reaching the service. Buckets live in this instance only, so with several gateway
+ * instances a caller's effective limit is multiplied by their number.
+ */
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    private static final String UNROUTED = "unrouted";
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("gateway.ratelimit.buckets", buckets, Map::size)
+            .description("Callers with a partly drained rate-limit bucket")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : UNROUTED;
+        RateLimitProperties.Limit limit = properties.limitFor(routeId);
+        if (limit.isUnlimited()) {
+            return chain.filter(exchange);
+        }
+
+        long now = System.nanoTime();
+        String key = routeId + '|' + callerOf(exchange);
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key,
+                ignored -> new TokenBucket(limit.getCapacity(), limit.getRefillPerSecond(), now));
+        }
+        long waitNanos = bucket.tryConsume(now);
+        if (waitNanos == 0) {
+            requests(routeId, "allowed").increment();
+            return chain.filter(exchange);
+        }
+        requests(routeId, "rejected").increment();
+        return reject(exchange, waitNanos);
+    }
+
+    // Right after authentication, so the bucket can be keyed by the verified user id.
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    /**
+     * Drop buckets that have refilled completely; a new one starts full, so nothing is lost
+     */
+    @Scheduled(fixedDelayString = "${task.gateway.rate-limit.cleanup-interval:1m}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private static String callerOf(ServerWebExchange exchange) {
+        String userId = exchange.getRequest().getHeaders().getFirst(JwtAuthenticationFilter.USER_ID_HEADER);
+        if (StringUtils.hasText(userId)) {
+            return "user:" + userId;
+        }
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        return "ip:" + (remote != null ? remote.getHostString() : "unknown");
+    }
+
+    private Counter requests(String routeId, String result) {
+        return Counter.builder("gateway.ratelimit.requests")
+            .description("Requests checked by the rate limiter")
+            .tag("route", routeId)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private static Mono<Void> reject(ServerWebExchange exchange, long waitNanos) {
+        long retryAfterSeconds = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        byte[] body = ("{\"status\":\"TOO_MANY_REQUESTS\",\"message\":\"Rate limit exceeded. Retry in "
+            + retryAfterSeconds + "s.\"}").getBytes(StandardCharsets.UTF_8);
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+}
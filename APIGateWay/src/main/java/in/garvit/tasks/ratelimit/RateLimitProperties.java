@@ -0,0 +1,89 @@
+package in.garvit.tasks.ratelimit;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limits applied by {@link RateLimitFilter}. Every caller gets one bucket per route; {@code routes}
+ * overrides the default limit for individual route ids.
+ */
+@ConfigurationProperties(prefix = "task.gateway.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    private Limit defaults = new Limit();
+
+    private Map<String, Limit> routes = new HashMap<>();
+
+    // How often buckets that have refilled completely are dropped
+    private Duration cleanupInterval = Duration.ofMinutes(1);
+
+    public Limit limitFor(String routeId) {
+        return routes.getOrDefault(routeId, defaults);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Limit getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Limit defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, Limit> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Limit> routes) {
+        this.routes = routes;
+    }
+
+    public Duration getCleanupInterval() {
+        return cleanupInterval;
+    }
+
+    public void setCleanupInterval(Duration cleanupInterval) {
+        this.cleanupInterval = cleanupInterval;
+    }
+
+    public static class Limit {
+
+        // Burst size
+        private long capacity = 100;
+
+        // Sustained requests per second; 0 disables limiting for the route
+        private double refillPerSecond = 20;
+
+        public boolean isUnlimited() {
+            return capacity < 1 || refillPerSecond <= 0;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
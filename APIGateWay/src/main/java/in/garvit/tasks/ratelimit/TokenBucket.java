@@ -0,0 +1,71 @@
+package in.garvit.tasks.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. Instead of a token count and a refill timestamp, the whole state is the
+ * instant at which the bucket will be full again, so taking a token is a single compare-and-set:
+ * each token pushes that instant one refill interval further out, and a request is refused when it
+ * would lie more than a full bucket's worth of intervals ahead of now.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * @param capacity maximum number of tokens, i.e. the allowed burst
+     * @param refillPerSecond tokens added per second
+     * @param now current {@link System#nanoTime()}; the bucket starts full
+     */
+    public TokenBucket(long capacity, double refillPerSecond, long now) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity must be at least 1 and refillPerSecond positive");
+        }
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = intervalNanos * capacity;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Take one token if available
+     *
+     * @param now current {@link System#nanoTime()}
+     * @return 0 if a token was taken, otherwise the nanoseconds until one will be available
+     */
+    public long tryConsume(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long ahead = next - now;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Tokens currently available
+     *
+     * @param now current {@link System#nanoTime()}
+     * @return a value between 0 and the capacity
+     */
+    public long available(long now) {
+        long missing = Math.max(0L, fullAt.get() - now);
+        return (burstNanos - missing) / intervalNanos;
+    }
+
+    /**
+     * Whether the bucket has refilled completely, so dropping it loses no state
+     *
+     * @param now current {@link System#nanoTime()}
+     * @return {@code true} if no tokens are missing
+     */
+    public boolean isFull(long now) {
+        return fullAt.get() - now <= 0;
+    }
+}
@@ -0,0 +1,157 @@
+package in.garvit.tasks.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import javax.crypto.SecretKey;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import reactor.core.publisher.Mono;
+
+/**
+ * Verifies the bearer token of every routed request once, at the edge. Requests without a valid,
+ * unexpired token are answered with 401 before a backend instance is chosen; valid ones are
+ * forwarded with the caller's identity in the {@code X-User-*} headers. Those headers are always
+ * removed from the incoming request first, so a client can never supply them itself.
+ *
+ * Browsers cannot set headers on an {@code EventSource}, so on the {@code query-token-paths}
+ * (the live event streams) the token may instead be sent as the {@code access_token} query
+ * parameter. It is verified the same way and forwarded as an {@code Authorization} header,
+ * with the parameter removed so it does not reach backend access logs.
+ */
+@Component
+public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USER_EMAIL_HEADER = "X-User-Email";
+    public static final String USER_ROLE_HEADER = "X-User-Role";
+
+    public static final String ACCESS_TOKEN_PARAM = "access_token";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String USER_ID_CLAIM = "userId";
+    private static final String EMAIL_CLAIM = "email";
+    private static final String ROLE_CLAIM = "role";
+
+    private final boolean enabled;
+    private final JwtParser parser;
+    private final List<PathPattern> publicPaths;
+    private final List<PathPattern> queryTokenPaths;
+
+    public JwtAuthenticationFilter(
+            @Value("${task.gateway.auth.enabled:true}") boolean enabled,
+            @Value("${task.jwt.secret}") String secret,
+            @Value("${task.gateway.auth.public-paths:}") List<String> publicPaths,
+            @Value("${task.gateway.auth.query-token-paths:}") List<String> queryTokenPaths) {
+        if (!StringUtils.hasText(secret) || secret.length() < 32) {
+            throw new IllegalStateException("task.jwt.secret must be at least 32 characters long");
+        }
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.enabled = enabled;
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.publicPaths = parse(publicPaths);
+        this.queryTokenPaths = parse(queryTokenPaths);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        ServerHttpRequest.Builder forwarded = request.mutate().headers(headers -> {
+            headers.remove(USER_ID_HEADER);
+            headers.remove(USER_EMAIL_HEADER);
+            headers.remove(USER_ROLE_HEADER);
+        });
+        PathContainer path = request.getPath().pathWithinApplication();
+        if (!enabled || HttpMethod.OPTIONS.equals(request.getMethod()) || matches(publicPaths, path)) {
+            return chain.filter(exchange.mutate().request(forwarded.build()).build());
+        }
+
+        String header = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        String queryToken = request.getQueryParams().getFirst(ACCESS_TOKEN_PARAM);
+        if (header == null && StringUtils.hasText(queryToken) && HttpMethod.GET.equals(request.getMethod())
+                && matches(queryTokenPaths, path)) {
+            header = BEARER_PREFIX + queryToken;
+            String bearer = header;
+            forwarded.headers(headers -> headers.set(HttpHeaders.AUTHORIZATION, bearer))
+                .uri(UriComponentsBuilder.fromUri(request.getURI()).replaceQueryParam(ACCESS_TOKEN_PARAM).build(true).toUri());
+        }
+        if (!StringUtils.hasText(header) || !header.startsWith(BEARER_PREFIX)) {
+            return reject(exchange, "Missing bearer token");
+        }
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(header.substring(BEARER_PREFIX.length())).getPayload();
+        } catch (JwtException | IllegalArgumentException ex) {
+            log.debug("Rejected request to {}: {}", request.getPath(), ex.getMessage());
+            return reject(exchange, "Invalid or expired token");
+        }
+
+        // Tokens issued before the identity claims existed are still valid; they are forwarded without them
+        forwarded.headers(headers -> {
+            setIfPresent(headers, USER_ID_HEADER, claims.get(USER_ID_CLAIM, String.class));
+            setIfPresent(headers, USER_EMAIL_HEADER, claims.get(EMAIL_CLAIM, String.class));
+            setIfPresent(headers, USER_ROLE_HEADER, claims.get(ROLE_CLAIM, String.class));
+        });
+        return chain.filter(exchange.mutate().request(forwarded.build()).build());
+    }
+
+    // Ahead of the route filters, so rejected requests are not counted by the circuit breakers.
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private static boolean matches(List<PathPattern> patterns, PathContainer path) {
+        return patterns.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    private static List<PathPattern> parse(List<String> paths) {
+        return paths.stream()
+            .filter(StringUtils::hasText)
+            .map(path -> PathPatternParser.defaultInstance.parse(path.trim()))
+            .toList();
+    }
+
+    private static void setIfPresent(HttpHeaders headers, String name, String value) {
+        if (StringUtils.hasText(value)) {
+            headers.set(name, value);
+        }
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String message) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+        byte[] body = ("{\"status\":\"UNAUTHORIZED\",\"message\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+}
@@ -0,0 +1,153 @@
+package in.garvit.tasks.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import in.garvit.tasks.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class RequestCoalescingFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ResponseCacheFilter responseCache;
+    private RequestCoalescingFilter filter;
+    private AtomicInteger backendCalls;
+    private Sinks.Empty<Void> backendGate;
+    private HttpStatus firstStatus;
+    private GatewayFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        CoalescingProperties properties = new CoalescingProperties();
+        properties.setSharedPaths(List.of("/api/tasks/{id:[0-9a-f]{24}}"));
+        meterRegistry = new SimpleMeterRegistry();
+        responseCache = new ResponseCacheFilter(new ResponseCacheProperties(), meterRegistry);
+        filter = new RequestCoalescingFilter(properties, responseCache, meterRegistry);
+        backendCalls = new AtomicInteger();
+        backendGate = Sinks.empty();
+        firstStatus = HttpStatus.OK;
+        chain = exchange -> {
+            int call = backendCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            byte[] body = ("{\"call\":" + call + "}").getBytes(StandardCharsets.UTF_8);
+            return backendGate.asMono().then(Mono.defer(() -> {
+                response.setStatusCode(call == 1 ? firstStatus : HttpStatus.OK);
+                response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+            }));
+        };
+    }
+
+    @Test
+    void filter_whenIdenticalRequestIsInFlight_sharesItsResponse() {
+        MockServerWebExchange leader = get("/api/tasks/user", "user-1");
+        MockServerWebExchange follower = get("/api/tasks/user", "user-1");
+
+        Mono<Void> first = filter.filter(leader, chain).cache();
+        Mono<Void> second = filter.filter(follower, chain).cache();
+        first.subscribe();
+        second.subscribe();
+        backendGate.tryEmitEmpty();
+        first.block(Duration.ofSeconds(5));
+        second.block(Duration.ofSeconds(5));
+
+        assertEquals(1, backendCalls.get());
+        assertEquals("{\"call\":1}", follower.getResponse().getBodyAsString().block());
+        assertEquals(1.0, meterRegistry.counter("gateway.coalescing.requests", "result", "coalesced").count());
+    }
+
+    @Test
+    void filter_whenUsersDiffer_callsBackendForEach() {
+        Mono<Void> first = filter.filter(get("/api/tasks/user", "user-1"), chain).cache();
+        Mono<Void> second = filter.filter(get("/api/tasks/user", "user-2"), chain).cache();
+        first.subscribe();
+        second.subscribe();
+        backendGate.tryEmitEmpty();
+        first.block(Duration.ofSeconds(5));
+        second.block(Duration.ofSeconds(5));
+
+        assertEquals(2, backendCalls.get());
+    }
+
+    @Test
+    void filter_whenPathIsShared_coalescesAcrossUsers() {
+        String path = "/api/tasks/65a1b2c3d4e5f6a7b8c9d0e1";
+        MockServerWebExchange follower = get(path, "user-2");
+        Mono<Void> first = filter.filter(get(path, "user-1"), chain).cache();
+        Mono<Void> second = filter.filter(follower, chain).cache();
+        first.subscribe();
+        second.subscribe();
+        backendGate.tryEmitEmpty();
+        first.block(Duration.ofSeconds(5));
+        second.block(Duration.ofSeconds(5));
+
+        assertEquals(1, backendCalls.get());
+        assertEquals("{\"call\":1}", follower.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void filter_afterFlightCompletes_nextRequestGoesUpstream() {
+        backendGate.tryEmitEmpty();
+        filter.filter(get("/api/tasks/user", "user-1"), chain).block(Duration.ofSeconds(5));
+        filter.filter(get("/api/tasks/user", "user-1"), chain).block(Duration.ofSeconds(5));
+
+        assertEquals(2, backendCalls.get());
+    }
+
+    @Test
+    void filter_whenLeaderFails_sendsFollowersUpstream() {
+        firstStatus = HttpStatus.SERVICE_UNAVAILABLE;
+        MockServerWebExchange follower = get("/api/tasks/user", "user-1");
+
+        Mono<Void> first = filter.filter(get("/api/tasks/user", "user-1"), chain).cache();
+        Mono<Void> second = filter.filter(follower, chain).cache();
+        first.subscribe();
+        second.subscribe();
+        backendGate.tryEmitEmpty();
+        first.block(Duration.ofSeconds(5));
+        second.block(Duration.ofSeconds(5));
+
+        assertEquals(2, backendCalls.get());
+        assertEquals(HttpStatus.OK, follower.getResponse().getStatusCode());
+        assertEquals("{\"call\":2}", follower.getResponse().getBodyAsString().block());
+        assertEquals(1.0, meterRegistry.counter("gateway.coalescing.requests", "result", "fallback").count());
+    }
+
+    @Test
+    void filter_whenResourceIsWrittenDuringFlight_laterRequestsStartNewFlight() {
+        MockServerWebExchange follower = get("/api/tasks/user", "user-1");
+
+        Mono<Void> first = filter.filter(get("/api/tasks/user", "user-1"), chain).cache();
+        first.subscribe();
+        responseCache.filter(MockServerWebExchange.from(MockServerHttpRequest.put("/api/tasks/65a1b2c3d4e5f6a7b8c9d0e1")),
+            exchange -> Mono.empty()).block(Duration.ofSeconds(5));
+        Mono<Void> second = filter.filter(follower, chain).cache();
+        second.subscribe();
+        backendGate.tryEmitEmpty();
+        first.block(Duration.ofSeconds(5));
+        second.block(Duration.ofSeconds(5));
+
+        assertEquals(2, backendCalls.get());
+        assertEquals("{\"call\":2}", follower.getResponse().getBodyAsString().block());
+    }
+
+    private static MockServerWebExchange get(String path, String userId) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path)
+            .header(JwtAuthenticationFilter.USER_ID_HEADER, userId));
+    }
+}
@@ -0,0 +1,105 @@
+package in.garvit.tasks.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import in.garvit.tasks.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class ResponseCacheFilterTest {
+
+    private ResponseCacheFilter filter;
+    private AtomicInteger backendCalls;
+    private GatewayFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ResponseCacheFilter(new ResponseCacheProperties(), new SimpleMeterRegistry());
+        backendCalls = new AtomicInteger();
+        chain = exchange -> {
+            int call = backendCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            if (!HttpMethod.GET.equals(exchange.getRequest().getMethod())) {
+                response.setStatusCode(HttpStatus.OK);
+                return response.setComplete();
+            }
+            byte[] body = ("{\"call\":" + call + "}").getBytes(StandardCharsets.UTF_8);
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().setETag("\"" + call + "\"");
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        };
+    }
+
+    @Test
+    void filter_whenSameUserRepeatsGet_servesFromCache() {
+        MockServerWebExchange first = get("/api/tasks/1", "user-1");
+        MockServerWebExchange second = get("/api/tasks/1", "user-1");
+
+        filter.filter(first, chain).block();
+        filter.filter(second, chain).block();
+
+        assertEquals(1, backendCalls.get());
+        assertEquals("{\"call\":1}", second.getResponse().getBodyAsString().block());
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+    }
+
+    @Test
+    void filter_whenAnotherUserRequestsSamePath_callsBackend() {
+        filter.filter(get("/api/tasks/1", "user-1"), chain).block();
+        filter.filter(get("/api/tasks/1", "user-2"), chain).block();
+
+        assertEquals(2, backendCalls.get());
+    }
+
+    @Test
+    void filter_whenResourceWasWritten_callsBackendAgain() {
+        filter.filter(get("/api/tasks/1", "user-1"), chain).block();
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.put("/api/tasks/1")
+            .header(JwtAuthenticationFilter.USER_ID_HEADER, "user-2")), chain).block();
+        MockServerWebExchange after = get("/api/tasks/1", "user-1");
+        filter.filter(after, chain).block();
+
+        assertEquals(3, backendCalls.get());
+        assertEquals("{\"call\":3}", after.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void filter_whenCachedEtagMatches_answersNotModified() {
+        filter.filter(get("/api/tasks/1", "user-1"), chain).block();
+        MockServerWebExchange revalidation = MockServerWebExchange.from(MockServerHttpRequest.get("/api/tasks/1")
+            .header(JwtAuthenticationFilter.USER_ID_HEADER, "user-1")
+            .header(HttpHeaders.IF_NONE_MATCH, "\"1\""));
+
+        filter.filter(revalidation, chain).block();
+
+        assertEquals(1, backendCalls.get());
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidation.getResponse().getStatusCode());
+    }
+
+    @Test
+    void resourceOf_groupsPathsByService() {
+        assertEquals("/api/tasks", ResponseCacheFilter.resourceOf("/api/tasks/1/complete"));
+        assertEquals("/submissions", ResponseCacheFilter.resourceOf("/submissions"));
+        assertEquals("/", ResponseCacheFilter.resourceOf("/"));
+    }
+
+    private static MockServerWebExchange get(String path, String userId) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path)
+            .header(JwtAuthenticationFilter.USER_ID_HEADER, userId));
+    }
+}
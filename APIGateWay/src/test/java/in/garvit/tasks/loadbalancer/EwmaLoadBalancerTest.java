@@ -0,0 +1,151 @@
+package in.garvit.tasks.loadbalancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.LinkedMultiValueMap;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EwmaLoadBalancerTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final ServiceInstance fast = new DefaultServiceInstance("fast", "TASK-SERVICE", "10.0.0.1", 8082, false);
+    private final ServiceInstance slow = new DefaultServiceInstance("slow", "TASK-SERVICE", "10.0.0.2", 8082, false);
+
+    private SimpleMeterRegistry meterRegistry;
+    private EwmaLoadBalancer loadBalancer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loadBalancer = new EwmaLoadBalancer(mock(ObjectProvider.class), "TASK-SERVICE", meterRegistry,
+            Duration.ofSeconds(10), Duration.ofSeconds(1), Duration.ofMinutes(1), List.of("/api/*/stream"));
+    }
+
+    @Test
+    void select_prefersInstanceWithLowerLatency() {
+        Request<RequestDataContext> request = new DefaultRequest<>(new RequestDataContext());
+        complete(request, fast, CompletionContext.Status.SUCCESS);
+        complete(request, slow, CompletionContext.Status.FAILED);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(fast, loadBalancer.select(List.of(fast, slow)).getServer());
+        }
+        assertEquals(20.0, meterRegistry.counter("gateway.loadbalancer.choices",
+            "service", "TASK-SERVICE", "instance", "10.0.0.1:8082").count());
+    }
+
+    @Test
+    void onComplete_penalisesServerErrors() {
+        complete(new DefaultRequest<>(new RequestDataContext()), fast, CompletionContext.Status.SUCCESS);
+        complete(new DefaultRequest<>(new RequestDataContext()), slow, CompletionContext.Status.SUCCESS,
+            new ResponseData(HttpStatus.SERVICE_UNAVAILABLE, new HttpHeaders(), new LinkedMultiValueMap<>(), null));
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(fast, loadBalancer.select(List.of(fast, slow)).getServer());
+        }
+    }
+
+    @Test
+    void onComplete_releasesEachRequestOnce() {
+        Response<ServiceInstance> response = new DefaultResponse(fast);
+        Request<RequestDataContext> first = new DefaultRequest<>(new RequestDataContext());
+        loadBalancer.onStartRequest(first, response);
+        loadBalancer.onStartRequest(new DefaultRequest<>(new RequestDataContext()), response);
+
+        CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completion = new CompletionContext<>(
+            CompletionContext.Status.SUCCESS, first, response);
+        loadBalancer.onComplete(completion);
+        loadBalancer.onComplete(completion);
+
+        assertEquals(1.0, inFlight(fast));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void select_releasesRequestsNeverCompleted() {
+        loadBalancer = new EwmaLoadBalancer(mock(ObjectProvider.class), "TASK-SERVICE", meterRegistry,
+            Duration.ofSeconds(10), Duration.ofSeconds(1), Duration.ZERO, List.of());
+        Response<ServiceInstance> response = new DefaultResponse(fast);
+        Request<RequestDataContext> cancelled = new DefaultRequest<>(new RequestDataContext());
+        loadBalancer.onStartRequest(cancelled, response);
+        assertEquals(1.0, inFlight(fast));
+
+        loadBalancer.select(List.of(fast));
+        loadBalancer.onComplete(new CompletionContext<>(CompletionContext.Status.DISCARD, cancelled, response));
+
+        assertEquals(0.0, inFlight(fast));
+    }
+
+    @Test
+    void select_withoutInstances_returnsEmptyResponse() {
+        assertFalse(loadBalancer.select(List.of()).hasServer());
+    }
+
+    @Test
+    void instanceStats_jumpsToPeaksAndDecaysWithoutSamples() {
+        InstanceStats stats = new InstanceStats(TimeUnit.SECONDS.toNanos(10), 0);
+        stats.start();
+        stats.finish(500 * MILLIS, 0);
+        stats.start();
+        stats.finish(10 * MILLIS, 0);
+
+        assertTrue(stats.cost(0) > 400 * MILLIS);
+        assertTrue(stats.cost(TimeUnit.SECONDS.toNanos(60)) < 5 * MILLIS);
+    }
+
+    @Test
+    void instanceStats_weighsLatencyByRequestsInFlight() {
+        InstanceStats stats = new InstanceStats(TimeUnit.SECONDS.toNanos(10), 0);
+        stats.start();
+        stats.finish(10 * MILLIS, 0);
+        double idle = stats.cost(0);
+        stats.start();
+        stats.start();
+
+        assertEquals(3 * idle, stats.cost(0), 1.0);
+    }
+
+    private void complete(Request<RequestDataContext> request, ServiceInstance instance, CompletionContext.Status status) {
+        complete(request, instance, status, null);
+    }
+
+    private void complete(Request<RequestDataContext> request, ServiceInstance instance, CompletionContext.Status status,
+            ResponseData clientResponse) {
+        Response<ServiceInstance> response = new DefaultResponse(instance);
+        loadBalancer.onStartRequest(request, response);
+        loadBalancer.onComplete(new CompletionContext<ResponseData, ServiceInstance, RequestDataContext>(status, request,
+            response, clientResponse));
+    }
+
+    private double inFlight(ServiceInstance instance) {
+        return meterRegistry.get("gateway.loadbalancer.inflight")
+            .tag("instance", instance.getHost() + ':' + instance.getPort())
+            .gauge()
+            .value();
+    }
+}
@@ -0,0 +1,46 @@
+package in.garvit.tasks.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tryConsume_allowsBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 1, 0);
+
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(SECOND, bucket.tryConsume(0));
+        assertEquals(0, bucket.available(0));
+    }
+
+    @Test
+    void tryConsume_refillsAtConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(2, 2, 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        assertEquals(SECOND / 4, bucket.tryConsume(SECOND / 4));
+        assertEquals(0, bucket.tryConsume(SECOND / 2));
+        assertTrue(bucket.tryConsume(SECOND / 2) > 0);
+    }
+
+    @Test
+    void isFull_onceAllTokensHaveRefilled() {
+        TokenBucket bucket = new TokenBucket(2, 1, 0);
+        bucket.tryConsume(0);
+
+        assertFalse(bucket.isFull(SECOND / 2));
+        assertTrue(bucket.isFull(SECOND));
+        assertEquals(2, bucket.available(5 * SECOND));
+    }
+}
@@ -0,0 +1,163 @@
+package in.garvit.tasks.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import reactor.core.publisher.Mono;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "change-me-change-me-change-me-change-me-123456";
+
+    private JwtAuthenticationFilter filter;
+    private AtomicReference<ServerHttpRequest> forwarded;
+    private GatewayFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        filter = new JwtAuthenticationFilter(true, SECRET, List.of("/auth/**", "/"), List.of("/api/*/stream"));
+        forwarded = new AtomicReference<>();
+        chain = exchange -> {
+            forwarded.set(exchange.getRequest());
+            return Mono.empty();
+        };
+    }
+
+    @Test
+    void filter_whenTokenIsValid_forwardsIdentityHeaders() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/tasks")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(SECRET, Instant.now().plusSeconds(60))));
+
+        filter.filter(exchange, chain).block();
+
+        assertEquals("user-1", forwarded.get().getHeaders().getFirst(JwtAuthenticationFilter.USER_ID_HEADER));
+        assertEquals("jane@example.com", forwarded.get().getHeaders().getFirst(JwtAuthenticationFilter.USER_EMAIL_HEADER));
+        assertEquals("ROLE_ADMIN", forwarded.get().getHeaders().getFirst(JwtAuthenticationFilter.USER_ROLE_HEADER));
+    }
+
+    @Test
+    void filter_whenTokenIsMissing_rejectsWithoutForwarding() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/tasks"));
+
+        filter.filter(exchange, chain).block();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertNull(forwarded.get());
+    }
+
+    @Test
+    void filter_whenTokenIsExpired_rejectsWithoutForwarding() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/tasks")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(SECRET, Instant.now().minusSeconds(60))));
+
+        filter.filter(exchange, chain).block();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertNull(forwarded.get());
+    }
+
+    @Test
+    void filter_whenSignedWithOtherKey_rejectsWithoutForwarding() {
+        String other = "another-secret-another-secret-another-secret";
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/tasks")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(other, Instant.now().plusSeconds(60))));
+
+        filter.filter(exchange, chain).block();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertNull(forwarded.get());
+    }
+
+    @Test
+    void filter_whenPathIsPublic_forwardsWithoutToken() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.post("/auth/signin"));
+
+        filter.filter(exchange, chain).block();
+
+        assertNotNull(forwarded.get());
+    }
+
+    @Test
+    void filter_stripsIdentityHeadersSentByClient() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.post("/auth/signin")
+            .header(JwtAuthenticationFilter.USER_ID_HEADER, "someone-else")
+            .header(JwtAuthenticationFilter.USER_ROLE_HEADER, "ROLE_ADMIN"));
+
+        filter.filter(exchange, chain).block();
+
+        assertFalse(forwarded.get().getHeaders().containsKey(JwtAuthenticationFilter.USER_ID_HEADER));
+        assertFalse(forwarded.get().getHeaders().containsKey(JwtAuthenticationFilter.USER_ROLE_HEADER));
+    }
+
+    @Test
+    void filter_whenStreamTokenIsInQuery_forwardsItAsHeaderWithoutTheParameter() {
+        String token = token(SECRET, Instant.now().plusSeconds(60));
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/tasks/stream")
+            .queryParam(JwtAuthenticationFilter.ACCESS_TOKEN_PARAM, token)
+            .queryParam("since", "1"));
+
+        filter.filter(exchange, chain).block();
+
+        assertEquals("Bearer " + token, forwarded.get().getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        assertEquals("user-1", forwarded.get().getHeaders().getFirst(JwtAuthenticationFilter.USER_ID_HEADER));
+        assertEquals("since=1", forwarded.get().getURI().getRawQuery());
+    }
+
+    @Test
+    void filter_whenStreamQueryTokenIsInvalid_rejectsWithoutForwarding() {
+        String other = "another-secret-another-secret-another-secret";
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/tasks/stream")
+            .queryParam(JwtAuthenticationFilter.ACCESS_TOKEN_PARAM, token(other, Instant.now().plusSeconds(60))));
+
+        filter.filter(exchange, chain).block();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertNull(forwarded.get());
+    }
+
+    @Test
+    void filter_whenQueryTokenIsSentToOtherPath_rejectsIt() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/tasks")
+            .queryParam(JwtAuthenticationFilter.ACCESS_TOKEN_PARAM, token(SECRET, Instant.now().plusSeconds(60))));
+
+        filter.filter(exchange, chain).block();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertNull(forwarded.get());
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        return MockServerWebExchange.from(request);
+    }
+
+    private static String token(String secret, Instant expiration) {
+        return Jwts.builder()
+            .subject("jane@example.com")
+            .claim("email", "jane@example.com")
+            .claim("userId", "user-1")
+            .claim("role", "ROLE_ADMIN")
+            .issuedAt(Date.from(Instant.now().minusSeconds(120)))
+            .expiration(Date.from(expiration))
+            .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+            .compact();
+    }
+}
@@ -0,0 +1,14 @@
+package in.garvit.tasks.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs
+ * 
+ * @author garvitpathak27
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,45 @@
+package in.garvit.tasks.controller;
+
+/**
+ * Conversion between document versions and HTTP entity tags
+ * 
+ * Tasks written before versioning was introduced have no version and are reported as version 0.
+ */
+final class ETags {
+
+	private ETags() {
+	}
+
+	/**
+	 * Build the strong entity tag for a document version
+	 * @param version the document version, or {@code null} for unversioned documents
+	 * @return the quoted entity tag
+	 */
+	static String of(Long version) {
+		return "\"" + (version != null ? version : 0L) + "\"";
+	}
+
+	/**
+	 * Parse the version from an {@code If-Match} header
+	 * @param ifMatch the header value (optional)
+	 * @return the expected version, or {@code null} if the header is absent or {@code *}
+	 * @throws IllegalArgumentException if the header is not a single entity tag issued by this service
+	 */
+	static Long parseIfMatch(String ifMatch) {
+		if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+			return null;
+		}
+		String tag = ifMatch.trim();
+		if (tag.startsWith("W/")) {
+			tag = tag.substring(2);
+		}
+		if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+			throw new IllegalArgumentException("If-Match must be a single entity tag returned by GET");
+		}
+		try {
+			return Long.parseLong(tag.substring(1, tag.length() - 1));
+		} catch (NumberFormatException ex) {
+			throw new IllegalArgumentException("If-Match must be a single entity tag returned by GET");
+		}
+	}
+}
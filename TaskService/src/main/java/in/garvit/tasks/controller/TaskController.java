@@ -1,16 +1,34 @@
 package in.garvit.tasks.controller;
 
+import in.garvit.tasks.dto.BulkItemResult;
+import in.garvit.tasks.dto.CursorPage;
+import in.garvit.tasks.dto.TagCount;
+import in.garvit.tasks.dto.TaskAssignment;
+import in.garvit.tasks.dto.TaskSearchCriteria;
+import in.garvit.tasks.dto.TaskStats;
+import in.garvit.tasks.enums.ExportFormat;
 import in.garvit.tasks.enums.TaskStatus;
 import in.garvit.tasks.exception.UnauthorizedActionException;
+import in.garvit.tasks.security.JwtVerifier;
+import in.garvit.tasks.service.TaskEventStream;
+import in.garvit.tasks.service.TaskExportService;
 import in.garvit.tasks.service.TaskService;
-import in.garvit.tasks.service.UserService;
+import in.garvit.tasks.service.TaskStatsService;
+import in.garvit.tasks.service.UserDirectory;
 import in.garvit.tasks.taskModel.Task;
 import in.garvit.tasks.taskModel.UserDTO;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -21,13 +39,25 @@ import java.util.List;
 @RequestMapping("/api/tasks")
 public class TaskController {
 
+	private static final String DEFAULT_PAGE_SIZE = "50";
+
 	private final TaskService taskService;
-	private final UserService userService;
+	private final TaskExportService taskExportService;
+	private final TaskStatsService taskStatsService;
+	private final TaskEventStream taskEventStream;
+	private final UserDirectory userDirectory;
+	private final JwtVerifier jwtVerifier;
 
 	@Autowired
-	public TaskController(TaskService taskService, UserService userService) {
+	public TaskController(TaskService taskService, TaskExportService taskExportService,
+			TaskStatsService taskStatsService, TaskEventStream taskEventStream, UserDirectory userDirectory,
+			JwtVerifier jwtVerifier) {
 		this.taskService = taskService;
-		this.userService = userService;
+		this.taskExportService = taskExportService;
+		this.taskStatsService = taskStatsService;
+		this.taskEventStream = taskEventStream;
+		this.userDirectory = userDirectory;
+		this.jwtVerifier = jwtVerifier;
 	}
 
 	/**
@@ -39,14 +69,60 @@ public class TaskController {
 	 */
 	@PostMapping
 	public ResponseEntity<Task> createTask(@RequestBody Task task, @RequestHeader("Authorization") String jwt) {
-		UserDTO user = userService.getUserProfileHandler(jwt);
+		UserDTO user = jwtVerifier.verify(jwt);
 		ensureAdmin(user);
 		Task createdTask = taskService.create(task, user.getRole());
 		return new ResponseEntity<>(createdTask, HttpStatus.CREATED);
 	}
 
+	/**
+	 * Create many tasks in one request (Admin only)
+	 * 
+	 * The token is verified once for the whole batch and the tasks are written with a
+	 * single unordered insert. Each task gets its own result, so one bad item does not
+	 * fail the batch.
+	 * @param tasks the tasks to create (at most 1000)
+	 * @param jwt authorization token
+	 * @return one result per task, in request order
+	 */
+	@PostMapping("/bulk")
+	public ResponseEntity<List<BulkItemResult>> createTasks(@RequestBody List<Task> tasks,
+			@RequestHeader("Authorization") String jwt) {
+		ensureAdmin(jwtVerifier.verify(jwt));
+		return ResponseEntity.ok(taskService.createTasks(tasks));
+	}
+
+	/**
+	 * Assign many tasks in one request (Admin only)
+	 * @param assignments (taskId, userId) pairs (at most 1000)
+	 * @param jwt authorization token
+	 * @return one result per assignment, in request order
+	 */
+	@PutMapping("/bulk/assigned")
+	public ResponseEntity<List<BulkItemResult>> assignTasks(@RequestBody List<TaskAssignment> assignments,
+			@RequestHeader("Authorization") String jwt) {
+		ensureAdmin(jwtVerifier.verify(jwt));
+		return ResponseEntity.ok(taskService.assignTasks(assignments));
+	}
+
+	/**
+	 * Mark many tasks as complete in one request (Admin only)
+	 * @param taskIds task IDs (at most 1000)
+	 * @param jwt authorization token
+	 * @return one result per task ID, in request order
+	 */
+	@PutMapping("/bulk/complete")
+	public ResponseEntity<List<BulkItemResult>> completeTasks(@RequestBody List<String> taskIds,
+			@RequestHeader("Authorization") String jwt) {
+		ensureAdmin(jwtVerifier.verify(jwt));
+		return ResponseEntity.ok(taskService.completeTasks(taskIds));
+	}
+
 	/**
 	 * Get a task by ID
+	 * 
+	 * The response carries the task version as its ETag. Spring answers a matching
+	 * {@code If-None-Match} with 304 and no body, so polling clients skip the download.
 	 * @param id task ID
 	 * @param jwt authorization token
 	 * @return task if found
@@ -54,9 +130,9 @@ public class TaskController {
 	 */
 	@GetMapping("/{id}")
 	public ResponseEntity<Task> getTaskById(@PathVariable String id, @RequestHeader("Authorization") String jwt) {
-		userService.getUserProfileHandler(jwt);
+		jwtVerifier.verify(jwt);
 		Task task = taskService.getTaskById(id);
-		return new ResponseEntity<>(task, HttpStatus.OK);
+		return ResponseEntity.ok().eTag(ETags.of(task.getVersion())).body(task);
 	}
 
 	/**
@@ -65,6 +141,8 @@ public class TaskController {
 	 * @param status filter by task status (optional)
 	 * @param sortByDeadline sort by deadline - "asc" or "desc" (optional)
 	 * @param sortByCreatedAt sort by creation date - "asc" or "desc" (optional)
+	 * @param page zero-based page index (defaults to 0)
+	 * @param size page size (defaults to 50, at most 200)
 	 * @return list of assigned tasks
 	 * @throws Exception if JWT is missing
 	 */
@@ -73,9 +151,12 @@ public class TaskController {
 			@RequestHeader("Authorization") String jwt,
 			@RequestParam(required = false) TaskStatus status,
 			@RequestParam(required = false) String sortByDeadline,
-			@RequestParam(required = false) String sortByCreatedAt) throws Exception {
-		UserDTO user = userService.getUserProfileHandler(jwt);
-		List<Task> tasks = taskService.assignedUsersTask(user.getId(), status, sortByDeadline, sortByCreatedAt);
+			@RequestParam(required = false) String sortByCreatedAt,
+			@RequestParam(defaultValue = "0") int page,
+			@RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) throws Exception {
+		UserDTO user = jwtVerifier.verify(jwt);
+		List<Task> tasks = taskService.assignedUsersTask(user.getId(), status, sortByDeadline, sortByCreatedAt,
+				page, size);
 		return new ResponseEntity<>(tasks, HttpStatus.OK);
 	}
 
@@ -85,7 +166,9 @@ public class TaskController {
 	 * @param status filter by task status (optional)
 	 * @param sortByDeadline sort by deadline - "asc" or "desc" (optional)
 	 * @param sortByCreatedAt sort by creation date - "asc" or "desc" (optional)
-	 * @return list of all tasks
+	 * @param page zero-based page index (defaults to 0)
+	 * @param size page size (defaults to 50, at most 200)
+	 * @return list of all tasks, with assignee names
 	 * @throws Exception if JWT is missing
 	 */
 	@GetMapping
@@ -93,17 +176,183 @@ public class TaskController {
 			@RequestHeader("Authorization") String jwt,
 			@RequestParam(required = false) TaskStatus status,
 			@RequestParam(required = false) String sortByDeadline,
-			@RequestParam(required = false) String sortByCreatedAt) {
-		userService.getUserProfileHandler(jwt);
-		List<Task> tasks = taskService.getAllTasks(status, sortByDeadline, sortByCreatedAt);
+			@RequestParam(required = false) String sortByCreatedAt,
+			@RequestParam(defaultValue = "0") int page,
+			@RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+		jwtVerifier.verify(jwt);
+		List<Task> tasks = taskService.getAllTasks(status, sortByDeadline, sortByCreatedAt, page, size);
+		userDirectory.nameAssignees(tasks, jwt);
 		return new ResponseEntity<>(tasks, HttpStatus.OK);
 	}
 
+	/**
+	 * Scroll through all tasks newest first using an opaque keyset cursor
+	 * @param jwt authorization token
+	 * @param cursor cursor returned as {@code nextCursor} by the previous page (optional)
+	 * @param size page size (defaults to 50, at most 200)
+	 * @return the page of tasks, with assignee names, and the cursor for the next page
+	 */
+	@GetMapping("/scroll")
+	public ResponseEntity<CursorPage<Task>> scrollTasks(
+			@RequestHeader("Authorization") String jwt,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+		jwtVerifier.verify(jwt);
+		CursorPage<Task> page = taskService.scrollTasks(cursor, size);
+		userDirectory.nameAssignees(page.items(), jwt);
+		return new ResponseEntity<>(page, HttpStatus.OK);
+	}
+
+	/**
+	 * Stream every matching task, newest first, for offline reporting (Admin only)
+	 * @param jwt authorization token
+	 * @param format "ndjson" (default) or "csv"
+	 * @param status filter by task status (optional)
+	 * @param from only tasks created at or after this ISO date-time (optional)
+	 * @param to only tasks created before this ISO date-time (optional)
+	 * @return the export, written from a database cursor as the client reads it
+	 */
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportTasks(
+			@RequestHeader("Authorization") String jwt,
+			@RequestParam(defaultValue = "ndjson") String format,
+			@RequestParam(required = false) TaskStatus status,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+		UserDTO requester = jwtVerifier.verify(jwt);
+		ensureAdmin(requester);
+		ExportFormat exportFormat = ExportFormat.from(format);
+		Query query = taskExportService.exportQuery(status, from, to);
+		StreamingResponseBody body = out -> taskExportService.export(query, exportFormat, out);
+		return ResponseEntity.ok()
+				.contentType(exportFormat.getMediaType())
+				.header(HttpHeaders.CONTENT_DISPOSITION,
+						"attachment; filename=\"tasks." + exportFormat.getExtension() + "\"")
+				.body(body);
+	}
+
+	/**
+	 * Search tasks by tags, status and deadline range
+	 * @param jwt authorization token
+	 * @param anyTags tasks must carry at least one of these tags (optional, comma separated)
+	 * @param allTags tasks must carry all of these tags (optional, comma separated)
+	 * @param status filter by task status (optional)
+	 * @param deadlineFrom deadline at or after this time (optional)
+	 * @param deadlineTo deadline before this time (optional)
+	 * @param sortByDeadline sort by deadline - "asc" or "desc" (optional)
+	 * @param sortByCreatedAt sort by creation date - "asc" or "desc" (optional)
+	 * @param page zero-based page index (defaults to 0)
+	 * @param size page size (defaults to 50, at most 200)
+	 * @return matching tasks
+	 */
+	@GetMapping("/search")
+	public ResponseEntity<List<Task>> searchTasks(
+			@RequestHeader("Authorization") String jwt,
+			@RequestParam(required = false) List<String> anyTags,
+			@RequestParam(required = false) List<String> allTags,
+			@RequestParam(required = false) TaskStatus status,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime deadlineFrom,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime deadlineTo,
+			@RequestParam(required = false) String sortByDeadline,
+			@RequestParam(required = false) String sortByCreatedAt,
+			@RequestParam(defaultValue = "0") int page,
+			@RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+		jwtVerifier.verify(jwt);
+		TaskSearchCriteria criteria = new TaskSearchCriteria(anyTags, allTags, status, deadlineFrom, deadlineTo);
+		return ResponseEntity.ok(taskService.searchTasks(criteria, sortByDeadline, sortByCreatedAt, page, size));
+	}
+
+	/**
+	 * Full-text search over task titles and descriptions
+	 * @param jwt authorization token
+	 * @param q the search words; tasks matching any of them are returned, most relevant first
+	 * @param page zero-based page index (defaults to 0)
+	 * @param size page size (defaults to 50, at most 200)
+	 * @return matching tasks
+	 */
+	@GetMapping("/search/text")
+	public ResponseEntity<List<Task>> searchTasksByText(
+			@RequestHeader("Authorization") String jwt,
+			@RequestParam String q,
+			@RequestParam(defaultValue = "0") int page,
+			@RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+		jwtVerifier.verify(jwt);
+		return ResponseEntity.ok(taskService.searchText(q, page, size));
+	}
+
+	/**
+	 * Count the tasks matching the search filters per tag
+	 * @param jwt authorization token
+	 * @param anyTags tasks must carry at least one of these tags (optional, comma separated)
+	 * @param allTags tasks must carry all of these tags (optional, comma separated)
+	 * @param status filter by task status (optional)
+	 * @param deadlineFrom deadline at or after this time (optional)
+	 * @param deadlineTo deadline before this time (optional)
+	 * @param limit maximum number of tags (defaults to 50, at most 200)
+	 * @return tags with their task counts, most used first
+	 */
+	@GetMapping("/search/tags")
+	public ResponseEntity<List<TagCount>> tagFacets(
+			@RequestHeader("Authorization") String jwt,
+			@RequestParam(required = false) List<String> anyTags,
+			@RequestParam(required = false) List<String> allTags,
+			@RequestParam(required = false) TaskStatus status,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime deadlineFrom,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime deadlineTo,
+			@RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+		jwtVerifier.verify(jwt);
+		TaskSearchCriteria criteria = new TaskSearchCriteria(anyTags, allTags, status, deadlineFrom, deadlineTo);
+		return ResponseEntity.ok(taskService.tagFacets(criteria, limit));
+	}
+
+	/**
+	 * Stream live task changes as server-sent events
+	 * 
+	 * Administrators receive every task, other users the tasks assigned to them. Each
+	 * {@code task} event carries the task as stored; {@code task-unassigned} and
+	 * {@code task-deleted} carry its ID. Browsers' {@code EventSource} cannot send headers,
+	 * so the token may also be passed as the {@code access_token} query parameter.
+	 * @param jwt authorization token
+	 * @param accessToken authorization token, used when the header is absent
+	 * @return the event stream
+	 */
+	@GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter streamTasks(@RequestHeader(value = "Authorization", required = false) String jwt,
+			@RequestParam(value = "access_token", required = false) String accessToken) {
+		return taskEventStream.subscribe(jwtVerifier.verify(jwt != null ? jwt : accessToken));
+	}
+
+	/**
+	 * Get dashboard counts by status and by assignee
+	 * 
+	 * Read from counters that every task write keeps up to date, so the cost does not
+	 * depend on the number of tasks.
+	 * @param jwt authorization token
+	 * @return task counts
+	 */
+	@GetMapping("/stats")
+	public ResponseEntity<TaskStats> getTaskStats(@RequestHeader("Authorization") String jwt) {
+		jwtVerifier.verify(jwt);
+		return ResponseEntity.ok(taskStatsService.getStats());
+	}
+
+	/**
+	 * Recompute the dashboard counters from the tasks (Admin only)
+	 * @param jwt authorization token
+	 * @return task counts after the rebuild
+	 */
+	@PostMapping("/stats/rebuild")
+	public ResponseEntity<TaskStats> rebuildTaskStats(@RequestHeader("Authorization") String jwt) {
+		ensureAdmin(jwtVerifier.verify(jwt));
+		return ResponseEntity.ok(taskStatsService.rebuild());
+	}
+
 	/**
 	 * Assign a task to a specific user
 	 * @param id task ID
 	 * @param userId user ID to assign the task to
 	 * @param jwt authorization token
+	 * @param ifMatch ETag from a previous read; the update is rejected with 412 if the task changed since (optional)
 	 * @return updated task
 	 * @throws Exception if JWT is missing or task/user not found
 	 */
@@ -111,11 +360,12 @@ public class TaskController {
 	public ResponseEntity<Task> assignedTaskToUser(
 			@PathVariable String id,
 			@PathVariable String userId,
-			@RequestHeader("Authorization") String jwt) {
-		UserDTO requester = userService.getUserProfileHandler(jwt);
+			@RequestHeader("Authorization") String jwt,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		UserDTO requester = jwtVerifier.verify(jwt);
 		ensureAdmin(requester);
-		Task task = taskService.assignedToUser(userId, id);
-		return new ResponseEntity<>(task, HttpStatus.OK);
+		Task task = taskService.assignedToUser(userId, id, ETags.parseIfMatch(ifMatch));
+		return ResponseEntity.ok().eTag(ETags.of(task.getVersion())).body(task);
 	}
 
 	/**
@@ -123,6 +373,7 @@ public class TaskController {
 	 * @param id task ID
 	 * @param req task update request
 	 * @param jwt authorization token
+	 * @param ifMatch ETag from a previous read; the update is rejected with 412 if the task changed since (optional)
 	 * @return updated task
 	 * @throws Exception if JWT is missing or task not found
 	 */
@@ -130,14 +381,11 @@ public class TaskController {
 	public ResponseEntity<Task> updateTask(
 			@PathVariable String id,
 			@RequestBody Task req,
-			@RequestHeader("Authorization") String jwt) {
-		UserDTO requester = userService.getUserProfileHandler(jwt);
-		Task existingTask = taskService.getTaskById(id);
-		if (!isAdmin(requester) && !requester.getId().equals(existingTask.getAssignedUserId())) {
-			throw new UnauthorizedActionException("Only the assigned user or an administrator can update this task");
-		}
-		Task task = taskService.updateTask(id, req);
-		return new ResponseEntity<>(task, HttpStatus.OK);
+			@RequestHeader("Authorization") String jwt,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		UserDTO requester = jwtVerifier.verify(jwt);
+		Task task = taskService.updateTask(id, req, requiredAssigneeId(requester), ETags.parseIfMatch(ifMatch));
+		return ResponseEntity.ok().eTag(ETags.of(task.getVersion())).body(task);
 	}
 
 	/**
@@ -147,7 +395,7 @@ public class TaskController {
 	 */
 	@DeleteMapping("/{id}")
 	public ResponseEntity<Void> deleteTask(@PathVariable String id, @RequestHeader("Authorization") String jwt) {
-		UserDTO requester = userService.getUserProfileHandler(jwt);
+		UserDTO requester = jwtVerifier.verify(jwt);
 		ensureAdmin(requester);
 		taskService.deleteTask(id);
 		return new ResponseEntity<>(HttpStatus.NO_CONTENT);
@@ -156,18 +404,16 @@ public class TaskController {
 	/**
 	 * Mark a task as complete
 	 * @param id task ID
+	 * @param ifMatch ETag from a previous read; the update is rejected with 412 if the task changed since (optional)
 	 * @return updated task with DONE status
 	 * @throws Exception if task not found
 	 */
 	@PutMapping("/{id}/complete")
-	public ResponseEntity<Task> completeTask(@PathVariable String id, @RequestHeader("Authorization") String jwt) {
-		UserDTO requester = userService.getUserProfileHandler(jwt);
-		Task existingTask = taskService.getTaskById(id);
-		if (!isAdmin(requester) && !requester.getId().equals(existingTask.getAssignedUserId())) {
-			throw new UnauthorizedActionException("Only the assigned user or an administrator can complete this task");
-		}
-		Task task = taskService.completeTask(id);
-		return new ResponseEntity<>(task, HttpStatus.OK);
+	public ResponseEntity<Task> completeTask(@PathVariable String id, @RequestHeader("Authorization") String jwt,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		UserDTO requester = jwtVerifier.verify(jwt);
+		Task task = taskService.completeTask(id, requiredAssigneeId(requester), ETags.parseIfMatch(ifMatch));
+		return ResponseEntity.ok().eTag(ETags.of(task.getVersion())).body(task);
 	}
 
 	private void ensureAdmin(UserDTO user) {
@@ -176,6 +422,14 @@ public class TaskController {
 		}
 	}
 
+	/**
+	 * Administrators may change any task; everyone else only tasks assigned to them.
+	 * The service folds this into the update predicate.
+	 */
+	private String requiredAssigneeId(UserDTO user) {
+		return isAdmin(user) ? null : user.getId();
+	}
+
 	private boolean isAdmin(UserDTO user) {
 		return user != null && "ROLE_ADMIN".equalsIgnoreCase(user.getRole());
 	}
@@ -0,0 +1,21 @@
+package in.garvit.tasks.dto;
+
+/**
+ * Outcome of one item of a bulk request, reported in request order
+ * 
+ * @param index position of the item in the request
+ * @param id the task ID (generated for created tasks), or {@code null} if none could be determined
+ * @param success whether the item was written
+ * @param error why the item was rejected, or {@code null} on success
+ * @author garvitpathak27
+ */
+public record BulkItemResult(int index, String id, boolean success, String error) {
+
+	public static BulkItemResult ok(int index, String id) {
+		return new BulkItemResult(index, id, true, null);
+	}
+
+	public static BulkItemResult failed(int index, String id, String error) {
+		return new BulkItemResult(index, id, false, error);
+	}
+}
@@ -0,0 +1,13 @@
+package in.garvit.tasks.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing
+ * 
+ * @param items the items on this page
+ * @param nextCursor opaque cursor for the following page, or {@code null} on the last page
+ * @author garvitpathak27
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+}
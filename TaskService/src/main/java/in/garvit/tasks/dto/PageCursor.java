@@ -0,0 +1,58 @@
+package in.garvit.tasks.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Keyset Pagination Cursor
+ * 
+ * Identifies the last item of a page by its sort key and document id. Clients receive it
+ * as an opaque URL-safe string and send it back unchanged to fetch the next page.
+ * 
+ * A {@code null} sort key is encoded as an empty string. Descending order puts such items
+ * last, and {@code findPageBefore} then only matches items without a key and a smaller id.
+ * 
+ * @author garvitpathak27
+ */
+public record PageCursor(LocalDateTime timestamp, String id) {
+
+	private static final String SEPARATOR = "|";
+
+	public PageCursor {
+		Objects.requireNonNull(id, "Cursor id must not be null");
+	}
+
+	/**
+	 * Encode this cursor as an opaque token
+	 * 
+	 * @return URL-safe Base64 token
+	 */
+	public String encode() {
+		String raw = (timestamp != null ? timestamp.toString() : "") + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decode a token produced by {@link #encode()}
+	 * 
+	 * @param token the opaque cursor token
+	 * @return the decoded cursor
+	 * @throws IllegalArgumentException if the token is malformed
+	 */
+	public static PageCursor decode(String token) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int separator = raw.lastIndexOf(SEPARATOR);
+			if (separator < 0 || separator == raw.length() - 1) {
+				throw new IllegalArgumentException("Invalid cursor");
+			}
+			LocalDateTime timestamp = separator == 0 ? null : LocalDateTime.parse(raw.substring(0, separator));
+			return new PageCursor(timestamp, raw.substring(separator + 1));
+		} catch (DateTimeParseException ex) {
+			throw new IllegalArgumentException("Invalid cursor", ex);
+		}
+	}
+}
@@ -0,0 +1,11 @@
+package in.garvit.tasks.dto;
+
+/**
+ * Number of tasks carrying a tag
+ * 
+ * @param tag the tag
+ * @param count number of matching tasks with this tag
+ * @author garvitpathak27
+ */
+public record TagCount(String tag, long count) {
+}
@@ -0,0 +1,11 @@
+package in.garvit.tasks.dto;
+
+/**
+ * One entry of a bulk assignment request
+ * 
+ * @param taskId the task to assign
+ * @param userId the user to assign it to
+ * @author garvitpathak27
+ */
+public record TaskAssignment(String taskId, String userId) {
+}
@@ -0,0 +1,39 @@
+package in.garvit.tasks.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import in.garvit.tasks.enums.TaskStatus;
+
+/**
+ * Filters for tag-based task search; every filter is optional and they are combined with AND
+ * 
+ * @param anyTags the task must carry at least one of these tags
+ * @param allTags the task must carry every one of these tags
+ * @param status the task must be in this status
+ * @param deadlineFrom the deadline must be at or after this time
+ * @param deadlineTo the deadline must be before this time
+ * @author garvitpathak27
+ */
+public record TaskSearchCriteria(List<String> anyTags, List<String> allTags, TaskStatus status,
+		LocalDateTime deadlineFrom, LocalDateTime deadlineTo) {
+
+	public TaskSearchCriteria {
+		anyTags = normalize(anyTags);
+		allTags = normalize(allTags);
+		if (deadlineFrom != null && deadlineTo != null && !deadlineFrom.isBefore(deadlineTo)) {
+			throw new IllegalArgumentException("deadlineFrom must be before deadlineTo");
+		}
+	}
+
+	private static List<String> normalize(List<String> tags) {
+		if (tags == null) {
+			return List.of();
+		}
+		return tags.stream()
+				.filter(tag -> tag != null && !tag.isBlank())
+				.map(String::trim)
+				.distinct()
+				.toList();
+	}
+}
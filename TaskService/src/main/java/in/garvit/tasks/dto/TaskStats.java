@@ -0,0 +1,16 @@
+package in.garvit.tasks.dto;
+
+import java.util.Map;
+
+import in.garvit.tasks.enums.TaskStatus;
+
+/**
+ * Dashboard task counts
+ * 
+ * @param total number of tasks
+ * @param byStatus number of tasks per status; every status is present
+ * @param byAssignee number of tasks per status for each assignee; unassigned tasks are not listed
+ * @author garvitpathak27
+ */
+public record TaskStats(long total, Map<TaskStatus, Long> byStatus, Map<String, Map<TaskStatus, Long>> byAssignee) {
+}
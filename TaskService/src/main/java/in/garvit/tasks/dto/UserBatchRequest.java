@@ -0,0 +1,12 @@
+package in.garvit.tasks.dto;
+
+import java.util.List;
+
+/**
+ * Request body for the User Service batch lookup ({@code POST /api/users/batch})
+ * 
+ * @param ids user ids to resolve (at most 500 per call)
+ * @author garvitpathak27
+ */
+public record UserBatchRequest(List<String> ids) {
+}
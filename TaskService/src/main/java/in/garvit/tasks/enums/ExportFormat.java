@@ -0,0 +1,65 @@
+package in.garvit.tasks.enums;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Export Format Enumeration
+ * 
+ * Wire formats supported by the streaming export endpoints. Both are line oriented,
+ * so a document can be written as soon as it is read from the cursor.
+ * 
+ * @author garvitpathak27
+ */
+public enum ExportFormat {
+
+	/**
+	 * One JSON document per line
+	 */
+	NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+
+	/**
+	 * RFC 4180 comma separated values with a header row
+	 */
+	CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+	private final MediaType mediaType;
+	private final String extension;
+
+	ExportFormat(MediaType mediaType, String extension) {
+		this.mediaType = mediaType;
+		this.extension = extension;
+	}
+
+	/**
+	 * Get the response content type for this format
+	 * @return the media type
+	 */
+	public MediaType getMediaType() {
+		return mediaType;
+	}
+
+	/**
+	 * Get the file extension used in the download filename
+	 * @return the extension without a leading dot
+	 */
+	public String getExtension() {
+		return extension;
+	}
+
+	/**
+	 * Parse a format name case-insensitively
+	 * @param raw the requested format, e.g. "ndjson" or "csv"
+	 * @return the matching format
+	 * @throws IllegalArgumentException if the format is not supported
+	 */
+	public static ExportFormat from(String raw) {
+		try {
+			return valueOf(raw.trim().toUpperCase(Locale.ROOT));
+		} catch (RuntimeException ex) {
+			throw new IllegalArgumentException("Unsupported export format: " + raw);
+		}
+	}
+}
@@ -88,4 +88,40 @@ public class GlobalExceptionHandler {
 
 		return new ResponseEntity<>(body, HttpStatus.FORBIDDEN);
 	}
-}
+
+	/**
+	 * Handle InvalidTokenException
+	 * @param ex the exception
+	 * @param request the web request
+	 * @return error response
+	 */
+	@ExceptionHandler(InvalidTokenException.class)
+	public ResponseEntity<Map<String, Object>> handleInvalidTokenException(
+			InvalidTokenException ex, WebRequest request) {
+		Map<String, Object> body = new HashMap<>();
+		body.put("timestamp", LocalDateTime.now());
+		body.put("message", ex.getMessage());
+		body.put("status", HttpStatus.UNAUTHORIZED.value());
+		body.put("error", "Unauthorized");
+
+		return new ResponseEntity<>(body, HttpStatus.UNAUTHORIZED);
+	}
+
+	/**
+	 * Handle VersionMismatchException
+	 * @param ex the exception
+	 * @param request the web request
+	 * @return error response
+	 */
+	@ExceptionHandler(VersionMismatchException.class)
+	public ResponseEntity<Map<String, Object>> handleVersionMismatchException(
+			VersionMismatchException ex, WebRequest request) {
+		Map<String, Object> body = new HashMap<>();
+		body.put("timestamp", LocalDateTime.now());
+		body.put("message", ex.getMessage());
+		body.put("status", HttpStatus.PRECONDITION_FAILED.value());
+		body.put("error", "Precondition Failed");
+
+		return new ResponseEntity<>(body, HttpStatus.PRECONDITION_FAILED);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package in.garvit.tasks.exception;
+
+/**
+ * Exception thrown when a request carries a missing, malformed, tampered or expired JWT.
+ */
+public class InvalidTokenException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructor with message
+	 * @param message the exception message
+	 */
+	public InvalidTokenException(String message) {
+		super(message);
+	}
+
+	/**
+	 * Constructor with message and cause
+	 * @param message the exception message
+	 * @param cause the cause of the exception
+	 */
+	public InvalidTokenException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
@@ -0,0 +1,19 @@
+package in.garvit.tasks.exception;
+
+/**
+ * Exception thrown when a conditional update names a version (via {@code If-Match})
+ * that is no longer the current version of the task.
+ */
+public class VersionMismatchException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Create a new VersionMismatchException with the provided message.
+	 *
+	 * @param message description of the conflicting versions
+	 */
+	public VersionMismatchException(String message) {
+		super(message);
+	}
+}
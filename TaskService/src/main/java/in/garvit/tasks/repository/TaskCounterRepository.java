@@ -0,0 +1,263 @@
+package in.garvit.tasks.repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import in.garvit.tasks.dto.TaskStats;
+import in.garvit.tasks.enums.TaskStatus;
+import in.garvit.tasks.taskModel.Task;
+import in.garvit.tasks.taskModel.TaskCounter;
+
+/**
+ * Task Counter Repository
+ * 
+ * Maintains the {@link TaskCounter} documents incrementally. Callers report each task
+ * that was created, deleted or moved to another (status, assignee) combination, and the
+ * resulting deltas are applied as {@code $inc} upserts in one unordered bulk write.
+ * 
+ * The counter write follows the task write and is not part of the same transaction, which
+ * would need a replica set in every deployment. A crash between the two leaves a counter off
+ * by the tasks of that request until the next rebuild; counts are reported as stored, so such
+ * drift shows up as a wrong or negative count instead of being hidden.
+ * 
+ * @author garvitpathak27
+ */
+@Repository
+public class TaskCounterRepository {
+
+	private static final String LEASES = "TaskCounterLeases";
+	private static final String REBUILD_LEASE = "rebuild";
+	private static final String COUNTERS = "TaskCounters";
+
+	private final MongoTemplate mongoTemplate;
+	private final Duration rebuildLease;
+
+	public TaskCounterRepository(MongoTemplate mongoTemplate,
+			@Value("${task.stats.rebuild-lease:10m}") Duration rebuildLease) {
+		this.mongoTemplate = mongoTemplate;
+		this.rebuildLease = rebuildLease;
+	}
+
+	/**
+	 * A task moving from one (status, assignee) combination to another
+	 *
+	 * @param fromStatus status before the write
+	 * @param fromAssignee assignee before the write
+	 * @param toStatus status after the write
+	 * @param toAssignee assignee after the write
+	 */
+	public record Transition(TaskStatus fromStatus, String fromAssignee, TaskStatus toStatus, String toAssignee) {
+
+		public static Transition of(Task before, Task after) {
+			return new Transition(before.getStatus(), before.getAssignedUserId(), after.getStatus(),
+					after.getAssignedUserId());
+		}
+	}
+
+	/**
+	 * Count newly inserted tasks
+	 *
+	 * @param tasks the inserted tasks
+	 */
+	public void recordCreated(Collection<Task> tasks) {
+		Map<String, Delta> deltas = new HashMap<>();
+		tasks.forEach(task -> add(deltas, task.getStatus(), task.getAssignedUserId(), 1));
+		apply(deltas);
+	}
+
+	/**
+	 * Stop counting a deleted task
+	 *
+	 * @param task the task as it was before deletion
+	 */
+	public void recordDeleted(Task task) {
+		Map<String, Delta> deltas = new HashMap<>();
+		add(deltas, task.getStatus(), task.getAssignedUserId(), -1);
+		apply(deltas);
+	}
+
+	/**
+	 * Move tasks between counters; transitions that stay in the same combination are free
+	 *
+	 * @param transitions one entry per updated task
+	 */
+	public void recordTransitions(Collection<Transition> transitions) {
+		Map<String, Delta> deltas = new HashMap<>();
+		for (Transition transition : transitions) {
+			add(deltas, transition.fromStatus(), transition.fromAssignee(), -1);
+			add(deltas, transition.toStatus(), transition.toAssignee(), 1);
+		}
+		apply(deltas);
+	}
+
+	/**
+	 * Sum the counters into dashboard statistics
+	 *
+	 * Only empty counters are skipped; a negative count means the counters drifted and is
+	 * returned as is.
+	 *
+	 * @return counts per status and per assignee
+	 */
+	public TaskStats readStats() {
+		long total = 0;
+		Map<TaskStatus, Long> byStatus = emptyStatusCounts();
+		Map<String, Map<TaskStatus, Long>> byAssignee = new TreeMap<>();
+
+		for (TaskCounter counter : mongoTemplate.find(Query.query(Criteria.where("count").ne(0)), TaskCounter.class)) {
+			total += counter.getCount();
+			if (counter.getStatus() == null) {
+				continue;
+			}
+			byStatus.merge(counter.getStatus(), counter.getCount(), Long::sum);
+			if (counter.getAssignedUserId() != null) {
+				byAssignee.computeIfAbsent(counter.getAssignedUserId(), id -> emptyStatusCounts())
+						.merge(counter.getStatus(), counter.getCount(), Long::sum);
+			}
+		}
+		return new TaskStats(total, byStatus, byAssignee);
+	}
+
+	/**
+	 * Whether any counter exists yet
+	 *
+	 * @return {@code false} until the counters were first built or a task was counted
+	 */
+	public boolean isInitialized() {
+		return mongoTemplate.exists(new Query(), TaskCounter.class);
+	}
+
+	/**
+	 * Build the counters if none exist yet, e.g. on the first start against a database that already holds tasks
+	 *
+	 * @return {@code true} if this call built them
+	 */
+	public boolean seed() {
+		return rebuildUnderLease(true);
+	}
+
+	/**
+	 * Recompute every counter with one {@code $group} aggregation over the tasks
+	 *
+	 * Only meant for seeding an existing database and repairing drift; regular reads
+	 * never scan the tasks. The aggregation ends in {@code $out}, which writes the new
+	 * counters to a temporary collection and renames it over {@code TaskCounters}, so
+	 * readers see either the old or the new counters and never an empty collection.
+	 * Counter writes racing with a rebuild may still be lost, so run it when the service
+	 * is quiet.
+	 *
+	 * @return {@code false} if another rebuild, on this or another instance, holds the lease
+	 */
+	public boolean rebuild() {
+		return rebuildUnderLease(false);
+	}
+
+	private boolean rebuildUnderLease(boolean onlyIfEmpty) {
+		String owner = UUID.randomUUID().toString();
+		if (!acquireRebuildLease(owner)) {
+			return false;
+		}
+		try {
+			// Checked under the lease, so instances starting together seed only once
+			if (onlyIfEmpty && isInitialized()) {
+				return false;
+			}
+			Aggregation aggregation = Aggregation.newAggregation(
+					Aggregation.group("status", "assignedUserId").count().as("count"),
+					context -> new Document("$project", new Document("_id", counterKey())
+							.append("status", "$_id.status")
+							.append("assignedUserId", "$_id.assignedUserId")
+							.append("count", "$count")),
+					Aggregation.out(COUNTERS));
+			mongoTemplate.aggregate(aggregation, Task.class, Document.class);
+			return true;
+		} finally {
+			mongoTemplate.remove(Query.query(Criteria.where("_id").is(REBUILD_LEASE).and("owner").is(owner)), LEASES);
+		}
+	}
+
+	/**
+	 * Take the rebuild lease unless another owner holds an unexpired one. An upsert that finds
+	 * no expired lease tries to insert it and fails on the duplicate {@code _id}.
+	 */
+	private boolean acquireRebuildLease(String owner) {
+		Instant now = Instant.now();
+		Query available = Query.query(Criteria.where("_id").is(REBUILD_LEASE).and("expiresAt").lt(Date.from(now)));
+		Update take = new Update()
+				.set("owner", owner)
+				.set("expiresAt", Date.from(now.plus(rebuildLease)));
+		try {
+			mongoTemplate.upsert(available, take, LEASES);
+			return true;
+		} catch (DuplicateKeyException ex) {
+			return false;
+		}
+	}
+
+	/**
+	 * {@link TaskCounter#keyOf} as an aggregation expression over the group key
+	 */
+	private static Document counterKey() {
+		return new Document("$concat", List.of(
+				new Document("$ifNull", List.of("$_id.status", "null")),
+				"|",
+				new Document("$ifNull", List.of("$_id.assignedUserId", ""))));
+	}
+
+	private void add(Map<String, Delta> deltas, TaskStatus status, String assignedUserId, long amount) {
+		deltas.computeIfAbsent(TaskCounter.keyOf(status, assignedUserId), key -> new Delta(status, assignedUserId))
+				.amount += amount;
+	}
+
+	private void apply(Map<String, Delta> deltas) {
+		deltas.values().removeIf(delta -> delta.amount == 0);
+		if (deltas.isEmpty()) {
+			return;
+		}
+		BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TaskCounter.class);
+		deltas.forEach((key, delta) -> bulk.upsert(Query.query(Criteria.where("id").is(key)),
+				new Update()
+						.inc("count", delta.amount)
+						.setOnInsert("status", delta.status)
+						.setOnInsert("assignedUserId", delta.assignedUserId)));
+		bulk.execute();
+	}
+
+	private static Map<TaskStatus, Long> emptyStatusCounts() {
+		Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+		for (TaskStatus status : TaskStatus.values()) {
+			counts.put(status, 0L);
+		}
+		return counts;
+	}
+
+	private static final class Delta {
+
+		private final TaskStatus status;
+		private final String assignedUserId;
+		private long amount;
+
+		private Delta(TaskStatus status, String assignedUserId) {
+			this.status = status;
+			this.assignedUserId = assignedUserId;
+		}
+	}
+}
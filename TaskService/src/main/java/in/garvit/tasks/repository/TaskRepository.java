@@ -1,10 +1,15 @@
 package in.garvit.tasks.repository;
 
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import in.garvit.tasks.enums.TaskStatus;
 import in.garvit.tasks.taskModel.Task;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -16,7 +21,7 @@ import java.util.List;
  * @author garvitpathak27
  */
 @Repository
-public interface TaskRepository extends MongoRepository<Task, String> {
+public interface TaskRepository extends MongoRepository<Task, String>, TaskRepositoryCustom {
 	
 	/**
 	 * Find all tasks assigned to a specific user
@@ -28,5 +33,57 @@ public interface TaskRepository extends MongoRepository<Task, String> {
 	 * @return list of tasks assigned to the specified user
 	 */
 	List<Task> findByAssignedUserId(String userId);
+	
+	/**
+	 * Find one page of tasks without any filter
+	 * 
+	 * Returns a plain list rather than a {@code Page} so no count query is issued.
+	 * 
+	 * @param pageable page, size and sort order
+	 * @return the requested page of tasks
+	 */
+	List<Task> findAllBy(Pageable pageable);
+
+	/**
+	 * Find one page of tasks in the given status
+	 * 
+	 * @param status the status to filter by
+	 * @param pageable page, size and sort order
+	 * @return the requested page of tasks
+	 */
+	List<Task> findByStatus(TaskStatus status, Pageable pageable);
+
+	/**
+	 * Find one page of tasks assigned to a specific user
+	 * 
+	 * @param userId the ID of the assigned user
+	 * @param pageable page, size and sort order
+	 * @return the requested page of tasks
+	 */
+	List<Task> findByAssignedUserId(String userId, Pageable pageable);
+
+	/**
+	 * Find one page of tasks assigned to a specific user in the given status
+	 * 
+	 * @param userId the ID of the assigned user
+	 * @param status the status to filter by
+	 * @param pageable page, size and sort order
+	 * @return the requested page of tasks
+	 */
+	List<Task> findByAssignedUserIdAndStatus(String userId, TaskStatus status, Pageable pageable);
+
+	/**
+	 * Find the tasks that follow a keyset cursor in (createAt, id) descending order
+	 * 
+	 * The range predicate lets MongoDB seek directly into the {@code createAt_id} index,
+	 * so the cost of a page does not depend on how far the client has scrolled.
+	 * 
+	 * @param createAt creation timestamp of the last task on the previous page
+	 * @param id id of the last task on the previous page
+	 * @param pageable page size and sort order
+	 * @return tasks created strictly before the cursor position
+	 */
+	@Query("{ '$or': [ { 'createAt': { '$lt': ?0 } }, { 'createAt': ?0, '_id': { '$lt': ?1 } } ] }")
+	List<Task> findPageBefore(LocalDateTime createAt, ObjectId id, Pageable pageable);
 }
 
@@ -0,0 +1,330 @@
+package in.garvit.tasks.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Update;
+
+import in.garvit.tasks.dto.TagCount;
+import in.garvit.tasks.dto.TaskSearchCriteria;
+import in.garvit.tasks.taskModel.Task;
+
+/**
+ * Custom Task Repository Operations
+ * 
+ * Operations that Spring Data cannot derive from method names and that are
+ * implemented directly on {@code MongoTemplate} by {@link TaskRepositoryCustomImpl}.
+ * 
+ * @author garvitpathak27
+ */
+public interface TaskRepositoryCustom {
+
+	/**
+	 * A task as it was before and after a single-document update
+	 * 
+	 * @param before the task before the update
+	 * @param after the task after the update
+	 */
+	record TaskChange(Task before, Task after) {
+	}
+
+	/**
+	 * A single-document update guarded by the version the caller read
+	 * 
+	 * @param id the task ID
+	 * @param expectedVersion version the task must still be at
+	 * @param update the {@code $set} operations to apply
+	 */
+	record VersionedUpdate(String id, long expectedVersion, Update update) {
+	}
+
+	/**
+	 * Apply a field-level update to a task if it is assigned to a given user and still at an expected version
+	 * 
+	 * The update is a single {@code findAndModify} whose predicate holds the assignee and version
+	 * checks, so they cannot be separated from the write by a concurrent change. Only the fields named
+	 * in the update are written, and the version is incremented.
+	 * 
+	 * The write returns the document as it was before the update. The after image is that document
+	 * with the update's {@code $set} and {@code $unset} fields applied and the version incremented,
+	 * so callers see both images without a second read.
+	 * 
+	 * @param id the task ID
+	 * @param assignedUserId required assignee, or {@code null} to match the task regardless of assignee
+	 * @param expectedVersion required current version, or {@code null} to skip the version check
+	 * @param update the top-level {@code $set} and {@code $unset} operations to apply; an empty update
+	 *        only reads the task
+	 * @return the task before and after the update, or empty if no task matched the predicate
+	 */
+package in.garvit.tasks.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Update;
+
+import in.garvit.tasks.dto.TagCount;
+import in.garvit.tasks.dto.TaskSearchCriteria;
+import in.garvit.tasks.taskModel.Task;
+
+/**
+ * Custom Task Repository Operations
+ * 
+ * Operations that Spring Data cannot derive from method names and that are
+ * implemented directly on {@code MongoTemplate} by {@link TaskRepositoryCustomImpl}.
+ * 
+ * @author garvitpathak27
+ */
+public interface TaskRepositoryCustom {
+
+	/**
+	 * A task as it was before and after a single-document update
+	 * 
+	 * @param before the task before the update
+	 * @param after the task after the update
+	 */
+	record TaskChange(Task before, Task after) {
+	}
+
+	/**
+	 * A single-document update guarded by the version the caller read
+	 * 
+	 * @param id the task ID
+	 * @param expectedVersion version the task must still be at
+	 * @param update the {@code $set} operations to apply
+	 */
+	record VersionedUpdate(String id, long expectedVersion, Update update) {
+	}
+
+	/**
+	 * Apply a field-level update to a task if it is assigned to a given user and still at an expected version
+	 * 
+	 * The update is a single {@code findAndModify} whose predicate holds the assignee and version
+	 * checks, so they cannot be separated from the write by a concurrent change. Only the fields named
+	 * in the update are written, and the version is incremented.
+	 * 
+	 * The write returns the document as it was before the update. The after image is that document
+	 * with the update's {@code $set} and {@code $unset} fields applied and the version incremented,
+	 * so callers see both images without a second read.
+	 * 
+	 * @param id the task ID
+	 * @param assignedUserId required assignee, or {@code null} to match the task regardless of assignee
+	 * @param expectedVersion required current version, or {@code null} to skip the version check
+	 * @param update the top-level {@code $set} and {@code $unset} operations to apply; an empty update
+	 *        only reads the task
+	 * @return the task before and after the update, or empty if no task matched the predicate
+	 */
+	Optional<TaskChange> updateIfMatches(String id, String assignedUserId, Long expectedVersion, Update update);
+
+	/**
+	 * Delete a task and return it as it was when it was removed, with one {@code findAndRemove}
+	 * 
+	 * Of several concurrent deletes of the same task only one gets the task back, so only that
+	 * one adjusts the counters.
+	 * 
+	 * @param id the task ID
+	 * @return the deleted task, or empty if no task had this ID
+	 */
+	Optional<Task> deleteAndGet(String id);
+
+	/**
+	 * Insert tasks with one unordered {@code insertMany}, so a rejected document does not stop the rest
+	 * 
+	 * Every task is written at version 0, as {@code save} would do for a new task.
+	 * 
+	 * @param tasks tasks with their IDs already assigned
+	 * @return error messages keyed by the position of each rejected task; empty if all were inserted
+	 */
+	Map<Integer, String> insertAllUnordered(List<Task> tasks);
+
+	/**
+	 * Read the ID, status, assignee and version of the given tasks in one query
+	 * 
+	 * @param ids candidate task IDs
+	 * @return the partially loaded tasks keyed by ID; missing tasks are absent
+	 */
+	Map<String, Task> findStates(Collection<String> ids);
+
+	/**
+	 * Apply many version-guarded updates with one unordered {@code bulkWrite}
+	 * 
+	 * A bulk write only reports counts, so every update also sets a token unique to the call, and if
+	 * some updates did not match, the tasks carrying the token are read back once.
+	 * 
+	 * @param updates the updates to apply; each one increments the version
+	 * @return the IDs of the tasks that were updated by this call
+	 */
+	Set<String> updateAllIfVersion(List<VersionedUpdate> updates);
+
+	/**
+	 * Find one page of tasks matching tag, status and deadline filters
+	 * 
+	 * Tag filters use {@code $in} (any of) and {@code $all} (all of) on the multikey
+	 * {@code tags_status_deadline_id} index.
+	 * 
+	 * @param criteria the filters
+	 * @param pageable page, size and sort order
+	 * @return the requested page of matching tasks
+	 */
+	List<Task> search(TaskSearchCriteria criteria, Pageable pageable);
+
+	/**
+	 * Find one page of tasks matching the filters in deadline order, with tasks that have no deadline last
+	 * 
+	 * MongoDB sorts a missing field before every date, so an ascending query sort would list undated
+	 * tasks first. Instead the dated tasks are paged in deadline order and the page is topped up with
+	 * undated tasks, as the submission review queue does for pending submissions. Both queries are
+	 * served by the deadline indexes; a count of the dated tasks locates the boundary between them.
+	 * 
+	 * @param assignedUserId only tasks assigned to this user, or {@code null} for every task
+	 * @param criteria the filters
+	 * @param direction the deadline order
+	 * @param pageable page and size; its sort is ignored
+	 * @return the requested page of matching tasks
+	 */
+	List<Task> findOrderedByDeadline(String assignedUserId, TaskSearchCriteria criteria, Sort.Direction direction,
+			Pageable pageable);
+
+	/**
+	 * Count matching tasks per tag with an aggregation pipeline ({@code $match}, {@code $unwind}, {@code $group})
+	 * 
+	 * @param criteria the filters selecting the tasks to count
+	 * @param limit maximum number of tags to return
+	 * @return tags ordered by descending count, then by name
+	 */
+	List<TagCount> countTags(TaskSearchCriteria criteria, int limit);
+
+	/**
+	 * Find open tasks that are not flagged overdue and whose deadline is before the given time
+	 * 
+	 * Served by the {@code status_overdueSince_deadline} index, so already flagged and done
+	 * tasks are never read. Only the ID and deadline are loaded.
+	 * 
+	 * @param until exclusive upper bound on the deadline
+	 * @param limit maximum number of tasks
+	 * @return the tasks in deadline order
+	 */
+	List<Task> findUnflaggedDueBefore(LocalDateTime until, int limit);
+
+	/**
+	 * Flag the given tasks overdue with one {@code updateMany}, if they are still open and past their deadline
+	 * 
+	 * @param ids candidate task IDs
+	 * @param now the time to record as {@code overdueSince}
+	 * @return the IDs of the tasks flagged by this call
+	 */
+	List<String> markOverdue(Collection<String> ids, LocalDateTime now);
+}
+(String id, String assignedUserId, Long expectedVersion, Update update);
+
+	/**
+	 * Delete a task and return it as it was when it was removed, with one {@code findAndRemove}
+	 * 
+	 * Of several concurrent deletes of the same task only one gets the task back, so only that
+	 * one adjusts the counters.
+	 * 
+	 * @param id the task ID
+	 * @return the deleted task, or empty if no task had this ID
+	 */
+	Optional<Task> deleteAndGet(String id);
+
+	/**
+	 * Insert tasks with one unordered {@code insertMany}, so a rejected document does not stop the rest
+	 * 
+	 * Every task is written at version 0, as {@code save} would do for a new task.
+	 * 
+	 * @param tasks tasks with their IDs already assigned
+	 * @return error messages keyed by the position of each rejected task; empty if all were inserted
+	 */
+	Map<Integer, String> insertAllUnordered(List<Task> tasks);
+
+	/**
+	 * Read the ID, status, assignee and version of the given tasks in one query
+	 * 
+	 * @param ids candidate task IDs
+	 * @return the partially loaded tasks keyed by ID; missing tasks are absent
+	 */
+	Map<String, Task> findStates(Collection<String> ids);
+
+	/**
+	 * Apply many version-guarded updates with one unordered {@code bulkWrite}
+	 * 
+	 * A bulk write only reports counts, so every update also sets a token unique to the call, and if
+	 * some updates did not match, the tasks carrying the token are read back once.
+	 * 
+	 * @param updates the updates to apply; each one increments the version
+	 * @return the IDs of the tasks that were updated by this call
+	 */
+	Set<String> updateAllIfVersion(List<VersionedUpdate> updates);
+
+	/**
+	 * Find one page of tasks matching tag, status and deadline filters
+	 * 
+	 * Tag filters use {@code $in} (any of) and {@code $all} (all of) on the multikey
+	 * {@code tags_status_deadline_id} index.
+	 * 
+	 * @param criteria the filters
+	 * @param pageable page, size and sort order
+	 * @return the requested page of matching tasks
+	 */
+	List<Task> search(TaskSearchCriteria criteria, Pageable pageable);
+
+	/**
+	 * Find one page of tasks matching the filters in deadline order, with tasks that have no deadline last
+	 * 
+	 * MongoDB sorts a missing field before every date, so an ascending query sort would list undated
+	 * tasks first. Instead the dated tasks are paged in deadline order and the page is topped up with
+	 * undated tasks, as the submission review queue does for pending submissions. Both queries are
+	 * served by the deadline indexes; a count of the dated tasks locates the boundary between them.
+	 * 
+	 * @param assignedUserId only tasks assigned to this user, or {@code null} for every task
+	 * @param criteria the filters
+	 * @param direction the deadline order
+	 * @param pageable page and size; its sort is ignored
+	 * @return the requested page of matching tasks
+	 */
+	List<Task> findOrderedByDeadline(String assignedUserId, TaskSearchCriteria criteria, Sort.Direction direction,
+			Pageable pageable);
+
+	/**
+	 * Count matching tasks per tag with an aggregation pipeline ({@code $match}, {@code $unwind}, {@code $group})
+	 * 
+	 * @param criteria the filters selecting the tasks to count
+	 * @param limit maximum number of tags to return
+	 * @return tags ordered by descending count, then by name
+	 */
+	List<TagCount> countTags(TaskSearchCriteria criteria, int limit);
+
+	/**
+	 * Find open tasks that are not flagged overdue and whose deadline is before the given time
+	 * 
+	 * Served by the {@code status_overdueSince_deadline} index, so already flagged and done
+	 * tasks are never read. Only the ID and deadline are loaded.
+	 * 
+	 * @param until exclusive upper bound on the deadline
+	 * @param limit maximum number of tasks
+	 * @return the tasks in deadline order
+	 */
+	List<Task> findUnflaggedDueBefore(LocalDateTime until, int limit);
+
+	/**
+	 * Flag the given tasks overdue with one {@code updateMany}, if they are still open and past their deadline
+	 * 
+	 * @param ids candidate task IDs
+	 * @param now the time to record as {@code overdueSince}
+	 * @return the IDs of the tasks flagged by this call
+	 */
+	List<String> markOverdue(Collection<String> ids, LocalDateTime now);
+}
@@ -0,0 +1,286 @@
+package in.garvit.tasks.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.bson.Document;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.mongodb.bulk.BulkWriteResult;
+
+import in.garvit.tasks.dto.TagCount;
+import in.garvit.tasks.dto.TaskSearchCriteria;
+import in.garvit.tasks.enums.TaskStatus;
+import in.garvit.tasks.taskModel.Task;
+
+/**
+ * {@code MongoTemplate} backed implementation of {@link TaskRepositoryCustom}
+ * 
+ * @author garvitpathak27
+ */
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+	private static final List<TaskStatus> OPEN_STATUSES = List.of(TaskStatus.PENDING, TaskStatus.ASSIGNED);
+
+	/**
+	 * Set by {@link #updateAllIfVersion} to a value unique to the call; not mapped on {@link Task}
+	 */
+	private static final String BULK_WRITE_TOKEN = "bulkWriteToken";
+
+	private final MongoTemplate mongoTemplate;
+
+	public TaskRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+		this.mongoTemplate = mongoTemplate;
+	}
+
+	@Override
+	public Optional<TaskChange> updateIfMatches(String id, String assignedUserId, Long expectedVersion, Update update) {
+		Query query = Query.query(Criteria.where("id").is(id));
+		if (assignedUserId != null) {
+			query.addCriteria(Criteria.where("assignedUserId").is(assignedUserId));
+		}
+		if (expectedVersion != null) {
+			query.addCriteria(versionIs(expectedVersion));
+		}
+
+		// MongoDB rejects an empty $set, and there is nothing to write anyway
+		if (update.getUpdateObject().isEmpty()) {
+			return Optional.ofNullable(mongoTemplate.findOne(query, Task.class))
+					.map(task -> new TaskChange(task, task));
+		}
+		Task before = mongoTemplate.findAndModify(query, replayable(update).inc("version", 1),
+				FindAndModifyOptions.options().returnNew(false), Task.class);
+		if (before == null) {
+			return Optional.empty();
+		}
+		return Optional.of(new TaskChange(before, after(before, update)));
+	}
+
+	/**
+	 * Reject operators that {@link #after} cannot replay before anything is written
+	 */
+	private static Update replayable(Update update) {
+		for (String operator : update.getUpdateObject().keySet()) {
+			if (!"$set".equals(operator) && !"$unset".equals(operator)) {
+				throw new IllegalArgumentException("Task updates may only use $set and $unset, not " + operator);
+			}
+		}
+		return update;
+	}
+
+	/**
+	 * The after image of a write, from its before image and the top-level {@code $set} and {@code $unset}
+	 * fields of the update, whose values are still the Java values the service set. The update matched
+	 * exactly this document, so nothing else changed but the version.
+	 */
+	private static Task after(Task before, Update update) {
+		Task after = new Task();
+		BeanUtils.copyProperties(before, after);
+		BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(after);
+		if (update.getUpdateObject().get("$set") instanceof Document fields) {
+			fields.forEach(wrapper::setPropertyValue);
+		}
+		if (update.getUpdateObject().get("$unset") instanceof Document fields) {
+			fields.keySet().forEach(field -> wrapper.setPropertyValue(field, null));
+		}
+		after.setVersion(before.getVersion() != null ? before.getVersion() + 1 : 1L);
+		return after;
+	}
+
+	private static Criteria versionIs(long expectedVersion) {
+		// Tasks written before versioning have no version field and count as version 0
+		if (expectedVersion == 0) {
+			return Criteria.where("version").in(0L, null);
+		}
+		return Criteria.where("version").is(expectedVersion);
+	}
+
+	@Override
+	public Optional<Task> deleteAndGet(String id) {
+		return Optional.ofNullable(mongoTemplate.findAndRemove(Query.query(Criteria.where("id").is(id)), Task.class));
+	}
+
+	@Override
+	public Map<Integer, String> insertAllUnordered(List<Task> tasks) {
+		Map<Integer, String> errors = new HashMap<>();
+		if (tasks.isEmpty()) {
+			return errors;
+		}
+		// Unlike insert() and save(), bulk inserts do not initialise the @Version property
+		tasks.forEach(task -> task.setVersion(0L));
+		try {
+			mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Task.class)
+					.insert(tasks)
+					.execute();
+		} catch (BulkOperationException ex) {
+			ex.getErrors().forEach(error -> errors.put(error.getIndex(), error.getMessage()));
+		}
+		return errors;
+	}
+
+	@Override
+	public Map<String, Task> findStates(Collection<String> ids) {
+		Query query = Query.query(Criteria.where("id").in(ids));
+		query.fields().include("id", "status", "assignedUserId", "version");
+		Map<String, Task> states = new HashMap<>();
+		mongoTemplate.find(query, Task.class).forEach(task -> states.put(task.getId(), task));
+		return states;
+	}
+
+	@Override
+	public Set<String> updateAllIfVersion(List<VersionedUpdate> updates) {
+		Set<String> applied = new HashSet<>();
+		if (updates.isEmpty()) {
+			return applied;
+		}
+		String token = UUID.randomUUID().toString();
+		BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Task.class);
+		for (VersionedUpdate item : updates) {
+			bulk.updateOne(Query.query(Criteria.where("id").is(item.id())).addCriteria(versionIs(item.expectedVersion())),
+					item.update().set(BULK_WRITE_TOKEN, token).inc("version", 1));
+		}
+		BulkWriteResult result = bulk.execute();
+
+		if (result.getMatchedCount() == updates.size()) {
+			updates.forEach(item -> applied.add(item.id()));
+			return applied;
+		}
+		// A concurrent single update can also reach expectedVersion + 1; only this call's token proves the write
+		Query query = Query.query(Criteria.where("id").in(updates.stream().map(VersionedUpdate::id).toList())
+				.and(BULK_WRITE_TOKEN).is(token));
+		query.fields().include("id");
+		mongoTemplate.find(query, Task.class).forEach(task -> applied.add(task.getId()));
+		return applied;
+	}
+
+	@Override
+	public List<Task> search(TaskSearchCriteria criteria, Pageable pageable) {
+		return mongoTemplate.find(Query.query(searchCriteria(criteria)).with(pageable), Task.class);
+	}
+
+	@Override
+	public List<Task> findOrderedByDeadline(String assignedUserId, TaskSearchCriteria criteria, Sort.Direction direction,
+			Pageable pageable) {
+		Sort order = Sort.by(direction, "deadline", "id");
+		if (criteria.deadlineFrom() != null || criteria.deadlineTo() != null) {
+			// A deadline range already excludes undated tasks. Only the offset and size of the page are used, as
+			// with(pageable) would put the page's own sort ahead of the deadline order
+			return mongoTemplate.find(Query.query(listCriteria(assignedUserId, criteria))
+					.with(order)
+					.skip(pageable.getOffset())
+					.limit(pageable.getPageSize()), Task.class);
+		}
+
+		long offset = pageable.getOffset();
+		int limit = pageable.getPageSize();
+		Criteria dated = listCriteria(assignedUserId, criteria).and("deadline").ne(null);
+		long datedCount = mongoTemplate.count(Query.query(dated), Task.class);
+
+		List<Task> page = new ArrayList<>(limit);
+		if (offset < datedCount) {
+			page.addAll(mongoTemplate.find(Query.query(dated).with(order).skip(offset).limit(limit), Task.class));
+		}
+		if (page.size() < limit) {
+			Criteria undated = listCriteria(assignedUserId, criteria).and("deadline").is(null);
+			page.addAll(mongoTemplate.find(Query.query(undated)
+					.with(Sort.by(direction, "id"))
+					.skip(Math.max(0, offset - datedCount))
+					.limit(limit - page.size()), Task.class));
+		}
+		return page;
+	}
+
+	private static Criteria listCriteria(String assignedUserId, TaskSearchCriteria criteria) {
+		Criteria where = searchCriteria(criteria);
+		if (assignedUserId != null) {
+			where.and("assignedUserId").is(assignedUserId);
+		}
+		return where;
+	}
+
+	@Override
+	public List<TagCount> countTags(TaskSearchCriteria criteria, int limit) {
+		Aggregation aggregation = Aggregation.newAggregation(
+				Aggregation.match(searchCriteria(criteria)),
+				Aggregation.unwind("tags"),
+				Aggregation.group("tags").count().as("count"),
+				Aggregation.sort(Sort.by(Sort.Order.desc("count"), Sort.Order.asc("_id"))),
+				Aggregation.limit(limit),
+				Aggregation.project("count").and("tag").previousOperation());
+		return mongoTemplate.aggregate(aggregation, Task.class, TagCount.class).getMappedResults();
+	}
+
+	private static Criteria searchCriteria(TaskSearchCriteria criteria) {
+		Criteria where = new Criteria();
+		if (!criteria.anyTags().isEmpty() || !criteria.allTags().isEmpty()) {
+			Criteria tags = where.and("tags");
+			if (!criteria.anyTags().isEmpty()) {
+				tags.in(criteria.anyTags());
+			}
+			if (!criteria.allTags().isEmpty()) {
+				tags.all(criteria.allTags());
+			}
+		}
+		if (criteria.status() != null) {
+			where.and("status").is(criteria.status());
+		}
+		if (criteria.deadlineFrom() != null || criteria.deadlineTo() != null) {
+			Criteria deadline = where.and("deadline");
+			if (criteria.deadlineFrom() != null) {
+				deadline.gte(criteria.deadlineFrom());
+			}
+			if (criteria.deadlineTo() != null) {
+				deadline.lt(criteria.deadlineTo());
+			}
+		}
+		return where;
+	}
+
+	@Override
+	public List<Task> findUnflaggedDueBefore(LocalDateTime until, int limit) {
+		Query query = Query.query(Criteria.where("status").in(OPEN_STATUSES)
+				.and("overdueSince").is(null)
+				.and("deadline").lt(until))
+				.with(Sort.by(Sort.Direction.ASC, "deadline"))
+				.limit(limit);
+		query.fields().include("id", "deadline");
+		return mongoTemplate.find(query, Task.class);
+	}
+
+	@Override
+	public List<String> markOverdue(Collection<String> ids, LocalDateTime now) {
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+		// Re-checked in the write, so a task completed or rescheduled since it was queued is left alone
+		Query due = Query.query(Criteria.where("id").in(ids)
+				.and("status").in(OPEN_STATUSES)
+				.and("overdueSince").is(null)
+				.and("deadline").lte(now));
+		mongoTemplate.updateMulti(due, new Update().set("overdueSince", now).inc("version", 1), Task.class);
+
+		Query flagged = Query.query(Criteria.where("id").in(ids).and("overdueSince").is(now));
+		flagged.fields().include("id");
+		return mongoTemplate.find(flagged, Task.class).stream().map(Task::getId).toList();
+	}
+}
@@ -0,0 +1,92 @@
+package in.garvit.tasks.security;
+
+import java.nio.charset.StandardCharsets;
+
+import javax.crypto.SecretKey;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import in.garvit.tasks.exception.InvalidTokenException;
+import in.garvit.tasks.service.UserProfileCache;
+import in.garvit.tasks.taskModel.UserDTO;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * JWT Verifier
+ * 
+ * Authenticates requests locally by checking the token signature and expiry with the secret
+ * shared with the User Service, and builds the caller from the {@code userId}, {@code email}
+ * and {@code role} claims. Only tokens issued before those claims existed fall back to the
+ * remote profile lookup.
+ * 
+ * @author garvitpathak27
+ */
+@Component
+public class JwtVerifier {
+
+	private static final Logger log = LoggerFactory.getLogger(JwtVerifier.class);
+
+	private static final String BEARER_PREFIX = "Bearer ";
+	private static final String EMAIL_CLAIM = "email";
+	private static final String USER_ID_CLAIM = "userId";
+	private static final String ROLE_CLAIM = "role";
+
+	private final JwtParser parser;
+	private final UserProfileCache userProfileCache;
+
+	public JwtVerifier(@Value("${task.jwt.secret}") String secret, UserProfileCache userProfileCache) {
+		if (!StringUtils.hasText(secret) || secret.length() < 32) {
+			throw new IllegalStateException("task.jwt.secret must be at least 32 characters long");
+		}
+		SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+		this.parser = Jwts.parser().verifyWith(key).build();
+		this.userProfileCache = userProfileCache;
+	}
+
+	/**
+	 * Verify the token and resolve the calling user
+	 * 
+	 * @param jwt the Authorization header value, with or without the "Bearer " prefix
+	 * @return the authenticated user (id, email and role)
+	 * @throws InvalidTokenException if the token is missing, invalid or expired
+	 */
+	public UserDTO verify(String jwt) {
+		Claims claims = parseClaims(resolveToken(jwt));
+		String userId = claims.get(USER_ID_CLAIM, String.class);
+		String role = claims.get(ROLE_CLAIM, String.class);
+		if (!StringUtils.hasText(userId) || !StringUtils.hasText(role)) {
+			log.debug("Token has no identity claims, resolving profile through USER-SERVICE");
+			return userProfileCache.getUserProfile(jwt, claims.getExpiration());
+		}
+
+		UserDTO user = new UserDTO();
+		user.setId(userId);
+		user.setEmail(claims.get(EMAIL_CLAIM, String.class));
+		user.setRole(role);
+		return user;
+	}
+
+	private String resolveToken(String jwt) {
+		if (!StringUtils.hasText(jwt)) {
+			throw new InvalidTokenException("Missing JWT token");
+		}
+		return jwt.startsWith(BEARER_PREFIX) ? jwt.substring(BEARER_PREFIX.length()) : jwt;
+	}
+
+	private Claims parseClaims(String token) {
+		try {
+			return parser.parseSignedClaims(token).getPayload();
+		} catch (JwtException | IllegalArgumentException ex) {
+			log.debug("Failed to verify JWT token", ex);
+			throw new InvalidTokenException("Invalid JWT token", ex);
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package in.garvit.tasks.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import in.garvit.tasks.enums.TaskStatus;
+import in.garvit.tasks.repository.TaskRepository;
+import in.garvit.tasks.taskModel.Task;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Deadline Scheduler
+ * 
+ * Flags open tasks overdue shortly after their deadline passes. Deadlines falling within the
+ * next {@code task.deadline.horizon} are kept in an in-memory priority queue ordered by
+ * deadline; a one-second tick pops the entries that are due and flags them in one batched
+ * update, which reaches connected clients through the task change stream like any other write.
+ * 
+ * The queue is refilled every {@code task.deadline.refill-interval} with one indexed range
+ * read of open, unflagged tasks due before the end of the horizon, which also catches tasks
+ * that became overdue while the service was down. Tasks created or rescheduled through this
+ * instance are queued immediately. The update re-checks status and deadline, so stale queue
+ * entries and several instances flagging the same task are harmless.
+ * 
+ * The jobs run on Spring's scheduler pool ({@code spring.task.scheduling.pool.size}), so a long
+ * search index rebuild does not hold up the tick.
+ * 
+ * @author garvitpathak27
+ */
+@Component
+public class DeadlineScheduler {
+
+	private static final Logger log = LoggerFactory.getLogger(DeadlineScheduler.class);
+
+	private record Due(LocalDateTime deadline, String taskId) {
+	}
+
+	private final TaskRepository taskRepository;
+	private final Duration horizon;
+	private final int batchSize;
+	private final Counter flagged;
+
+	private final PriorityQueue<Due> queue = new PriorityQueue<>((a, b) -> a.deadline().compareTo(b.deadline()));
+	// Latest queued deadline per task; queue entries that no longer match it are skipped
+	private final Map<String, LocalDateTime> queued = new HashMap<>();
+
+	public DeadlineScheduler(TaskRepository taskRepository,
+			MeterRegistry meterRegistry,
+			@Value("${task.deadline.horizon:5m}") Duration horizon,
+			@Value("${task.deadline.batch-size:500}") int batchSize) {
+		this.taskRepository = taskRepository;
+		this.horizon = horizon;
+		this.batchSize = batchSize;
+		this.flagged = meterRegistry.counter("task.deadline.overdue");
+	}
+
+	/**
+	 * Queue written tasks whose deadline falls within the horizon
+	 * 
+	 * @param tasks tasks as stored after a create or update
+	 */
+	public void track(Collection<Task> tasks) {
+		LocalDateTime limit = LocalDateTime.now().plus(horizon);
+		synchronized (queue) {
+			for (Task task : tasks) {
+				if (task.getDeadline() != null && task.getDeadline().isBefore(limit)
+						&& task.getOverdueSince() == null && task.getStatus() != TaskStatus.DONE) {
+					enqueue(task.getId(), task.getDeadline());
+				}
+			}
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${task.deadline.refill-interval:1m}")
+	public void refill() {
+		List<Task> due = taskRepository.findUnflaggedDueBefore(LocalDateTime.now().plus(horizon), batchSize);
+		synchronized (queue) {
+			due.forEach(task -> enqueue(task.getId(), task.getDeadline()));
+		}
+		if (due.size() == batchSize) {
+			// The rest is read by a later refill, once the tick has flagged this batch
+			log.warn("More than {} tasks are due within {}; refilling in batches", batchSize, horizon);
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${task.deadline.tick:1s}")
+	public void flagDue() {
+		// MongoDB stores milliseconds; the read-back in markOverdue compares against the stored value
+		LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+		List<String> batch = new ArrayList<>();
+		synchronized (queue) {
+			while (!queue.isEmpty() && !queue.peek().deadline().isAfter(now) && batch.size() < batchSize) {
+				Due entry = queue.poll();
+				if (entry.deadline().equals(queued.get(entry.taskId()))) {
+					queued.remove(entry.taskId());
+					batch.add(entry.taskId());
+				}
+			}
+		}
+		if (batch.isEmpty()) {
+			return;
+		}
+
+		List<String> overdue = taskRepository.markOverdue(batch, now);
+		if (!overdue.isEmpty()) {
+			flagged.increment(overdue.size());
+			log.info("Flagged {} tasks overdue", overdue.size());
+		}
+	}
+
+	private void enqueue(String taskId, LocalDateTime deadline) {
+		if (!deadline.equals(queued.put(taskId, deadline))) {
+			queue.add(new Due(deadline, taskId));
+		}
+	}
+}
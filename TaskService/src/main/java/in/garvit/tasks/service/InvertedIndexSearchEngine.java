@@ -0,0 +1,214 @@
+package in.garvit.tasks.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import in.garvit.tasks.taskModel.Task;
+
+/**
+ * Task search backed by an in-process inverted index
+ * 
+ * Each word of a title or description maps to the tasks containing it, together with a
+ * term frequency in which title words count three times. A query scores every task that
+ * shares a word with it by TF-IDF, so lookups only touch the postings of the query words
+ * and stay fast as the number of tasks grows. Matching tasks are then loaded from MongoDB
+ * by ID, so results always carry the stored fields.
+ * 
+ * Writes made through this instance are indexed immediately. Writes made through other
+ * instances are picked up by a full rebuild every {@code task.search.memory.rebuild-interval}
+ * (default 10m). The first rebuild runs on the scheduler as soon as the application starts,
+ * so startup does not wait for it; until it finishes, only tasks written since are found.
+ * 
+ * @author garvitpathak27
+ */
+@Service
+@ConditionalOnProperty(name = "task.search.engine", havingValue = "memory")
+public class InvertedIndexSearchEngine implements TaskSearchEngine {
+
+	private static final Logger log = LoggerFactory.getLogger(InvertedIndexSearchEngine.class);
+
+	private static final int TITLE_WEIGHT = 3;
+
+	private final MongoTemplate mongoTemplate;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	// word -> (task ID -> weighted term frequency)
+	private Map<String, Map<String, Integer>> postings = new HashMap<>();
+	// task ID -> words it is listed under, so a task can be removed without scanning the postings
+	private Map<String, Set<String>> wordsByTask = new HashMap<>();
+	// Writes seen while a rebuild is reading the tasks, replayed onto the new index (null value = removed)
+	private Map<String, Task> journal;
+
+	public InvertedIndexSearchEngine(MongoTemplate mongoTemplate) {
+		this.mongoTemplate = mongoTemplate;
+	}
+
+	@Override
+	public List<Task> search(String text, int page, int size) {
+		Set<String> words = frequencies(text, 1).keySet();
+		List<String> ranked;
+		lock.readLock().lock();
+		try {
+			Map<String, Double> scores = new HashMap<>();
+			int documents = Math.max(wordsByTask.size(), 1);
+			for (String word : words) {
+				Map<String, Integer> matches = postings.getOrDefault(word, Map.of());
+				double idf = Math.log(1 + (double) documents / (1 + matches.size()));
+				matches.forEach((taskId, frequency) -> scores.merge(taskId, frequency * idf, Double::sum));
+			}
+			ranked = scores.entrySet().stream()
+					.sorted(Map.Entry.<String, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+					.skip((long) page * size)
+					.limit(size)
+					.map(Map.Entry::getKey)
+					.toList();
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		if (ranked.isEmpty()) {
+			return List.of();
+		}
+		Map<String, Task> tasks = new HashMap<>();
+		mongoTemplate.find(Query.query(Criteria.where("id").in(ranked)), Task.class)
+				.forEach(task -> tasks.put(task.getId(), task));
+		// Keep relevance order; a task deleted by another instance since the last rebuild is skipped
+		return ranked.stream().map(tasks::get).filter(Objects::nonNull).toList();
+	}
+
+	@Override
+	public void index(Collection<Task> tasks) {
+		lock.writeLock().lock();
+		try {
+			for (Task task : tasks) {
+				removeLocked(postings, wordsByTask, task.getId());
+				addLocked(postings, wordsByTask, task);
+				if (journal != null) {
+					journal.put(task.getId(), task);
+				}
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void remove(String taskId) {
+		lock.writeLock().lock();
+		try {
+			removeLocked(postings, wordsByTask, taskId);
+			if (journal != null) {
+				journal.put(taskId, null);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Rebuild the index from a cursor over all tasks and swap it in atomically; searches keep
+	 * using the previous index meanwhile, and local writes made during the rebuild are replayed
+	 * onto the new one
+	 */
+	@Scheduled(initialDelay = 0, fixedDelayString = "${task.search.memory.rebuild-interval:10m}")
+	public void rebuild() {
+		lock.writeLock().lock();
+		try {
+			journal = new LinkedHashMap<>();
+		} finally {
+			lock.writeLock().unlock();
+		}
+
+		Map<String, Map<String, Integer>> newPostings = new HashMap<>();
+		Map<String, Set<String>> newWordsByTask = new HashMap<>();
+		Query query = new Query();
+		query.fields().include("id", "title", "description");
+		try (Stream<Task> tasks = mongoTemplate.stream(query, Task.class)) {
+			tasks.forEach(task -> addLocked(newPostings, newWordsByTask, task));
+		} catch (RuntimeException ex) {
+			lock.writeLock().lock();
+			try {
+				journal = null;
+			} finally {
+				lock.writeLock().unlock();
+			}
+			throw ex;
+		}
+
+		lock.writeLock().lock();
+		try {
+			journal.forEach((taskId, task) -> {
+				removeLocked(newPostings, newWordsByTask, taskId);
+				if (task != null) {
+					addLocked(newPostings, newWordsByTask, task);
+				}
+			});
+			journal = null;
+			postings = newPostings;
+			wordsByTask = newWordsByTask;
+		} finally {
+			lock.writeLock().unlock();
+		}
+		log.info("Rebuilt task search index: {} tasks, {} words", newWordsByTask.size(), newPostings.size());
+	}
+
+	private static void addLocked(Map<String, Map<String, Integer>> postings, Map<String, Set<String>> wordsByTask,
+			Task task) {
+		Map<String, Integer> frequencies = frequencies(task.getTitle(), TITLE_WEIGHT);
+		frequencies(task.getDescription(), 1).forEach((word, count) -> frequencies.merge(word, count, Integer::sum));
+		if (frequencies.isEmpty()) {
+			return;
+		}
+		frequencies.forEach((word, count) -> postings.computeIfAbsent(word, w -> new HashMap<>()).put(task.getId(), count));
+		wordsByTask.put(task.getId(), frequencies.keySet());
+	}
+
+	private static void removeLocked(Map<String, Map<String, Integer>> postings, Map<String, Set<String>> wordsByTask,
+			String taskId) {
+		Set<String> words = wordsByTask.remove(taskId);
+		if (words == null) {
+			return;
+		}
+		for (String word : words) {
+			Map<String, Integer> matches = postings.get(word);
+			if (matches != null) {
+				matches.remove(taskId);
+				if (matches.isEmpty()) {
+					postings.remove(word);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Split text into lower-case words of at least two letters or digits and count them
+	 */
+	static Map<String, Integer> frequencies(String text, int weight) {
+		if (text == null || text.isBlank()) {
+			return new HashMap<>();
+		}
+		return Stream.of(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+				.filter(word -> word.length() > 1)
+				.collect(Collectors.toMap(Function.identity(), word -> weight, Integer::sum, HashMap::new));
+	}
+}
@@ -0,0 +1,42 @@
+package in.garvit.tasks.service;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.stereotype.Service;
+
+import in.garvit.tasks.taskModel.Task;
+
+/**
+ * Task search backed by the MongoDB text index on {@code title} and {@code description}
+ * 
+ * MongoDB stems the words and scores each match, weighting the title three times the
+ * description; results are ordered by that score. The index is maintained by MongoDB
+ * itself, so task writes need no extra work.
+ * 
+ * @author garvitpathak27
+ */
+@Service
+@ConditionalOnProperty(name = "task.search.engine", havingValue = "mongo", matchIfMissing = true)
+public class MongoTextSearchEngine implements TaskSearchEngine {
+
+	private final MongoTemplate mongoTemplate;
+
+	public MongoTextSearchEngine(MongoTemplate mongoTemplate) {
+		this.mongoTemplate = mongoTemplate;
+	}
+
+	@Override
+	public List<Task> search(String text, int page, int size) {
+		TextQuery query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text));
+		query.sortByScore();
+		// The ID only breaks ties between equal scores, so pages do not overlap
+		query.with(PageRequest.of(page, size, Sort.by("id")));
+		return mongoTemplate.find(query, Task.class);
+	}
+}
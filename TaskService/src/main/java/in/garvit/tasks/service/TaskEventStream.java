@@ -0,0 +1,264 @@
+package in.garvit.tasks.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.FullDocumentBeforeChange;
+import com.mongodb.client.model.changestream.OperationType;
+
+import in.garvit.tasks.taskModel.Task;
+import in.garvit.tasks.taskModel.UserDTO;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Task Event Stream
+ * 
+ * Pushes task inserts, updates and deletes to connected clients as server-sent events.
+ * Each instance opens a single MongoDB change stream on the task collection and fans
+ * every change out to its subscribers, so the database cost does not grow with the
+ * number of open browser tabs. Administrators receive every task; other users only the
+ * tasks assigned to them, a {@code task-unassigned} event when one is reassigned away
+ * from them, and {@code task-deleted} for the tasks they were assigned when deleted.
+ * 
+ * The previous assignee comes from the change stream's pre-images, which are switched on
+ * for the task collection at startup (MongoDB 6.0 or later). Without them, deletes are
+ * only sent to administrators and reassignments are not announced to the old assignee.
+ * 
+ * Events are written from the application task executor, in order for each client, so a
+ * slow connection neither delays the other clients nor the change stream.
+ * A client more than {@code MAX_PENDING_EVENTS} behind is disconnected and reconnects.
+ * 
+ * Change streams need MongoDB to run as a replica set (a single node is enough, see
+ * docker-compose). Set {@code task.stream.enabled=false} on a standalone server.
+ * 
+ * @author garvitpathak27
+ */
+@Component
+public class TaskEventStream {
+
+	private static final Logger log = LoggerFactory.getLogger(TaskEventStream.class);
+
+	private static final int MAX_PENDING_EVENTS = 1000;
+
+	private final MongoTemplate mongoTemplate;
+	private final Executor senders;
+	private final boolean enabled;
+	private final Duration timeout;
+	private final Map<SseEmitter, Subscriber> subscribers = new ConcurrentHashMap<>();
+	private MessageListenerContainer container;
+
+	public TaskEventStream(MongoTemplate mongoTemplate,
+			@Qualifier("applicationTaskExecutor") Executor senders,
+			@Value("${task.stream.enabled:true}") boolean enabled,
+			@Value("${task.stream.timeout:30m}") Duration timeout) {
+		this.mongoTemplate = mongoTemplate;
+		this.senders = senders;
+		this.enabled = enabled;
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Register a client; it receives {@code task} events carrying the task and
+	 * {@code task-unassigned} and {@code task-deleted} events carrying only the ID
+	 *
+	 * @param user the authenticated user
+	 * @return the emitter to return from the controller
+	 */
+	public SseEmitter subscribe(UserDTO user) {
+		return subscribe(user, new SseEmitter(timeout.toMillis()));
+	}
+
+	SseEmitter subscribe(UserDTO user, SseEmitter emitter) {
+		subscribers.put(emitter, new Subscriber(emitter, user.getId(), "ROLE_ADMIN".equalsIgnoreCase(user.getRole())));
+		emitter.onCompletion(() -> subscribers.remove(emitter));
+		emitter.onTimeout(() -> subscribers.remove(emitter));
+		emitter.onError(error -> subscribers.remove(emitter));
+		return emitter;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		if (!enabled) {
+			log.info("Task change stream is disabled");
+			return;
+		}
+		String collection = mongoTemplate.getCollectionName(Task.class);
+		enablePreImages(collection);
+		ChangeStreamRequest<Task> request = ChangeStreamRequest.<Task>builder(this::onChange)
+				.collection(collection)
+				.fullDocumentLookup(FullDocument.UPDATE_LOOKUP)
+				.fullDocumentBeforeChangeLookup(FullDocumentBeforeChange.WHEN_AVAILABLE)
+				.build();
+		container = new DefaultMessageListenerContainer(mongoTemplate);
+		container.register(request, Task.class,
+				error -> log.warn("Task change stream failed; live updates are unavailable: {}", error.getMessage()));
+		container.start();
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (container != null) {
+			container.stop();
+		}
+		subscribers.keySet().forEach(SseEmitter::complete);
+	}
+
+	/**
+	 * Comment lines keep idle connections from being closed by proxies
+	 */
+	@Scheduled(fixedDelayString = "${task.stream.heartbeat:15s}")
+	public void heartbeat() {
+		send(subscriber -> true, () -> SseEmitter.event().comment("keep-alive"));
+	}
+
+	void onChange(Message<ChangeStreamDocument<Document>, Task> message) {
+		ChangeStreamDocument<Document> change = message.getRaw();
+		if (change == null) {
+			return;
+		}
+		Document before = change.getFullDocumentBeforeChange();
+		String previousAssignee = before != null ? before.getString("assignedUserId") : null;
+		if (change.getOperationType() == OperationType.DELETE) {
+			BsonValue id = change.getDocumentKey() != null ? change.getDocumentKey().get("_id") : null;
+			if (id != null) {
+				String taskId = id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue();
+				send(subscriber -> subscriber.admin() || subscriber.isUser(previousAssignee),
+						() -> SseEmitter.event().name("task-deleted").data(Map.of("id", taskId)));
+			}
+			return;
+		}
+		Task task = message.getBody();
+		if (task == null) {
+			return;
+		}
+		send(subscriber -> subscriber.canSee(task), () -> SseEmitter.event().name("task").id(task.getId()).data(task));
+		if (previousAssignee != null && !previousAssignee.equals(task.getAssignedUserId())) {
+			send(subscriber -> !subscriber.admin() && subscriber.isUser(previousAssignee),
+					() -> SseEmitter.event().name("task-unassigned").id(task.getId()).data(Map.of("id", task.getId())));
+		}
+	}
+
+	/**
+	 * Record pre-images for the collection, so deletes and reassignments can be routed
+	 * to the previous assignee
+	 */
+	private void enablePreImages(String collection) {
+		try {
+			if (!mongoTemplate.collectionExists(collection)) {
+				mongoTemplate.createCollection(collection);
+			}
+			mongoTemplate.executeCommand(new Document("collMod", collection)
+					.append("changeStreamPreAndPostImages", new Document("enabled", true)));
+		} catch (RuntimeException ex) {
+			log.warn("Could not enable change stream pre-images on {}; deletes are only streamed to administrators: {}",
+					collection, ex.getMessage());
+		}
+	}
+
+	// An event builder can only be sent once, so each subscriber gets a fresh one
+	private void send(Predicate<Subscriber> audience, Supplier<SseEmitter.SseEventBuilder> event) {
+		subscribers.values().forEach(subscriber -> {
+			if (audience.test(subscriber)) {
+				subscriber.enqueue(event.get());
+			}
+		});
+	}
+
+	private void drop(Subscriber subscriber, Throwable cause) {
+		subscribers.remove(subscriber.emitter());
+		subscriber.emitter().completeWithError(cause);
+	}
+
+	/**
+	 * A connected client and the events not yet written to it; at most one sender drains the queue
+	 * at a time, which keeps the events in order
+	 */
+	private final class Subscriber {
+
+		private final SseEmitter emitter;
+		private final String userId;
+		private final boolean admin;
+		private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+		private final AtomicInteger size = new AtomicInteger();
+		private final AtomicBoolean draining = new AtomicBoolean();
+
+		private Subscriber(SseEmitter emitter, String userId, boolean admin) {
+			this.emitter = emitter;
+			this.userId = userId;
+			this.admin = admin;
+		}
+
+		SseEmitter emitter() {
+			return emitter;
+		}
+
+		boolean admin() {
+			return admin;
+		}
+
+		boolean isUser(String id) {
+			return userId.equals(id);
+		}
+
+		boolean canSee(Task task) {
+			return admin || userId.equals(task.getAssignedUserId());
+		}
+
+		void enqueue(SseEmitter.SseEventBuilder event) {
+			if (size.incrementAndGet() > MAX_PENDING_EVENTS) {
+				drop(this, new IllegalStateException("Client fell more than " + MAX_PENDING_EVENTS + " events behind"));
+				return;
+			}
+			pending.add(event);
+			if (draining.compareAndSet(false, true)) {
+				senders.execute(this::drain);
+			}
+		}
+
+		private void drain() {
+			do {
+				SseEmitter.SseEventBuilder event;
+				while ((event = pending.poll()) != null) {
+					size.decrementAndGet();
+					try {
+						emitter.send(event);
+					} catch (IOException | IllegalStateException ex) {
+						pending.clear();
+						drop(this, ex);
+						return;
+					}
+				}
+				draining.set(false);
+				// An event queued after the last poll but before the flag was cleared still needs a sender
+			} while (!pending.isEmpty() && draining.compareAndSet(false, true));
+		}
+	}
+}
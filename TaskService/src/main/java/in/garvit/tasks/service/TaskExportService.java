@@ -0,0 +1,167 @@
+package in.garvit.tasks.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import in.garvit.tasks.enums.ExportFormat;
+import in.garvit.tasks.enums.TaskStatus;
+import in.garvit.tasks.taskModel.Task;
+
+/**
+ * Task Export Service
+ * 
+ * Streams tasks straight from a MongoDB cursor to an output stream as NDJSON or CSV.
+ * Only one cursor batch is held in memory at a time, and because every write blocks
+ * until the servlet container accepts the bytes, a slow client slows down the cursor
+ * rather than letting documents pile up on the heap.
+ * 
+ * @author garvitpathak27
+ */
+@Service
+public class TaskExportService {
+
+	private static final Logger log = LoggerFactory.getLogger(TaskExportService.class);
+
+	private static final String[] CSV_HEADER = {
+			"id", "title", "description", "imageUrl", "assignedUserId", "status", "deadline", "createAt", "tags" };
+
+	private final MongoTemplate mongoTemplate;
+	private final ObjectWriter jsonWriter;
+	private final int batchSize;
+
+	public TaskExportService(MongoTemplate mongoTemplate,
+			ObjectMapper objectMapper,
+			@Value("${task.export.batch-size:500}") int batchSize) {
+		this.mongoTemplate = mongoTemplate;
+		this.jsonWriter = objectMapper.writerFor(Task.class);
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Build the export query, newest first, so it can be validated before the response is committed
+	 * 
+	 * @param status only export tasks in this status (optional)
+	 * @param from only export tasks created at or after this time (optional)
+	 * @param to only export tasks created before this time (optional)
+	 * @return the cursor query
+	 * @throws IllegalArgumentException if {@code from} is not before {@code to}
+	 */
+	public Query exportQuery(TaskStatus status, LocalDateTime from, LocalDateTime to) {
+		if (from != null && to != null && !from.isBefore(to)) {
+			throw new IllegalArgumentException("from must be before to");
+		}
+
+		Query query = new Query();
+		if (status != null) {
+			query.addCriteria(Criteria.where("status").is(status));
+		}
+		if (from != null || to != null) {
+			Criteria createAt = Criteria.where("createAt");
+			if (from != null) {
+				createAt.gte(from);
+			}
+			if (to != null) {
+				createAt.lt(to);
+			}
+			query.addCriteria(createAt);
+		}
+		return query.with(Sort.by(Sort.Direction.DESC, "createAt", "id"))
+				.cursorBatchSize(batchSize);
+	}
+
+	/**
+	 * Write every task matching the query to the output stream
+	 * 
+	 * The output is flushed once per cursor batch so the first bytes reach the client
+	 * (and the gateway) early, and the cursor is closed even if the client disconnects.
+	 * The stream itself is left open for the servlet container to close.
+	 * 
+	 * @param query query returned by {@link #exportQuery}
+	 * @param format the output format
+	 * @param out the response body
+	 * @return the number of tasks written
+	 * @throws IOException if the client goes away mid-export
+	 */
+	public long export(Query query, ExportFormat format, OutputStream out) throws IOException {
+		Objects.requireNonNull(format, "Export format must not be null");
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		long count = 0;
+
+		if (format == ExportFormat.CSV) {
+			writeCsvRow(writer, CSV_HEADER);
+		}
+		try (Stream<Task> tasks = mongoTemplate.stream(query, Task.class)) {
+			Iterator<Task> iterator = tasks.iterator();
+			while (iterator.hasNext()) {
+				Task task = iterator.next();
+				if (format == ExportFormat.CSV) {
+					writeCsvRow(writer, toCsvRow(task));
+				} else {
+					writer.write(jsonWriter.writeValueAsString(task));
+					writer.write('\n');
+				}
+				if (++count % batchSize == 0) {
+					writer.flush();
+				}
+			}
+		}
+		writer.flush();
+
+		log.info("Exported {} tasks as {}", count, format);
+		return count;
+	}
+
+	private String[] toCsvRow(Task task) {
+		return new String[] {
+				task.getId(),
+				task.getTitle(),
+				task.getDescription(),
+				task.getImageUrl(),
+				task.getAssignedUserId(),
+				task.getStatus() != null ? task.getStatus().name() : null,
+				task.getDeadline() != null ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(task.getDeadline()) : null,
+				task.getCreateAt() != null ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(task.getCreateAt()) : null,
+				task.getTags() != null ? String.join(";", task.getTags()) : null };
+	}
+
+	private void writeCsvRow(Writer writer, String[] values) throws IOException {
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			writer.write(escapeCsv(values[i]));
+		}
+		writer.write("\r\n");
+	}
+
+	private String escapeCsv(String value) {
+		if (value == null) {
+			return "";
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+}
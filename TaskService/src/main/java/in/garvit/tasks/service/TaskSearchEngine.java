@@ -0,0 +1,46 @@
+package in.garvit.tasks.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import in.garvit.tasks.taskModel.Task;
+
+/**
+ * Task Search Engine
+ * 
+ * Full-text search over task titles and descriptions. The implementation is chosen with
+ * {@code task.search.engine}: {@code mongo} (default) queries the MongoDB text index,
+ * {@code memory} keeps an in-process inverted index. Task writes are reported through
+ * {@link #index} and {@link #remove}, so engines that keep their own index can update
+ * it incrementally.
+ * 
+ * @author garvitpathak27
+ */
+public interface TaskSearchEngine {
+
+	/**
+	 * Find tasks whose title or description contains any of the words in the query
+	 * 
+	 * @param text the search words
+	 * @param page zero-based page index
+	 * @param size page size
+	 * @return the requested page of matching tasks, most relevant first
+	 */
+	List<Task> search(String text, int page, int size);
+
+	/**
+	 * Add or refresh tasks after they were written
+	 * 
+	 * @param tasks the tasks as stored
+	 */
+	default void index(Collection<Task> tasks) {
+	}
+
+	/**
+	 * Forget a deleted task
+	 * 
+	 * @param taskId the task ID
+	 */
+	default void remove(String taskId) {
+	}
+}
@@ -2,7 +2,15 @@ package in.garvit.tasks.service;
 
 import java.util.List;
 
+import in.garvit.tasks.dto.BulkItemResult;
+import in.garvit.tasks.dto.CursorPage;
+import in.garvit.tasks.dto.TagCount;
+import in.garvit.tasks.dto.TaskAssignment;
+import in.garvit.tasks.dto.TaskSearchCriteria;
 import in.garvit.tasks.enums.TaskStatus;
+import in.garvit.tasks.exception.TaskNotFoundException;
+import in.garvit.tasks.exception.UnauthorizedActionException;
+import in.garvit.tasks.exception.VersionMismatchException;
 import in.garvit.tasks.taskModel.Task;
 
 /**
@@ -35,25 +43,79 @@ public interface TaskService {
 	Task getTaskById(String id);
 	
 	/**
-	 * Get all tasks with optional filtering and sorting
+	 * Get one page of tasks with optional filtering and sorting
+	 * 
+	 * Filtering, ordering and paging are executed by MongoDB. When no sort is requested
+	 * tasks are returned newest first.
 	 * 
 	 * @param taskStatus filter by task status (optional)
 	 * @param sortByDeadline sort by deadline - "asc" or "desc" (optional)
 	 * @param sortByCreatedAt sort by creation date - "asc" or "desc" (optional)
+	 * @param page zero-based page index
+	 * @param size number of tasks per page
 	 * @return list of tasks
+	 * @throws IllegalArgumentException if page or size is out of range
+	 */
+	List<Task> getAllTasks(TaskStatus taskStatus, String sortByDeadline, String sortByCreatedAt, int page, int size);
+	
+	/**
+	 * Search tasks by tags, status and deadline range
+	 * 
+	 * @param criteria the filters
+	 * @param sortByDeadline sort by deadline - "asc" or "desc" (optional)
+	 * @param sortByCreatedAt sort by creation date - "asc" or "desc" (optional)
+	 * @param page zero-based page index
+	 * @param size page size
+	 * @return the requested page of matching tasks
+	 * @throws IllegalArgumentException if page or size is out of range
+	 */
+	List<Task> searchTasks(TaskSearchCriteria criteria, String sortByDeadline, String sortByCreatedAt, int page,
+			int size);
+	
+	/**
+	 * Count the tasks matching the filters per tag
+	 * 
+	 * @param criteria the filters
+	 * @param limit maximum number of tags to return
+	 * @return the most used tags with their counts
+	 * @throws IllegalArgumentException if limit is out of range
 	 */
-	List<Task> getAllTasks(TaskStatus taskStatus, String sortByDeadline, String sortByCreatedAt);
+	List<TagCount> tagFacets(TaskSearchCriteria criteria, int limit);
 	
 	/**
-	 * Update an existing task
+	 * Full-text search over task titles and descriptions, most relevant first
+	 * 
+	 * @param text the search words
+	 * @param page zero-based page index
+	 * @param size page size
+	 * @return the requested page of matching tasks
+	 * @throws IllegalArgumentException if the text is blank or page or size is out of range
+	 */
+	List<Task> searchText(String text, int page, int size);
+	
+	/**
+	 * Scroll through all tasks newest first using keyset pagination
+	 * 
+	 * @param cursor opaque cursor returned by the previous page, or {@code null} for the first page
+	 * @param size number of tasks per page
+	 * @return the page of tasks and the cursor for the next page
+	 * @throws IllegalArgumentException if the cursor is malformed or size is out of range
+	 */
+	CursorPage<Task> scrollTasks(String cursor, int size);
+	
+	/**
+	 * Update the non-null fields of an existing task in a single atomic write
 	 * 
 	 * @param id the task ID
 	 * @param updatedTask the task with updated information
-	 * @param userId the ID of the user performing the update
+	 * @param requiredAssigneeId the requester's ID if they must be the assignee, or {@code null} for administrators
+	 * @param expectedVersion the version the client last saw, or {@code null} to update unconditionally
 	 * @return the updated task
-	 * @throws Exception if task is not found
+	 * @throws TaskNotFoundException if task is not found
+	 * @throws UnauthorizedActionException if the task is not assigned to {@code requiredAssigneeId}
+	 * @throws VersionMismatchException if the task is no longer at {@code expectedVersion}
 	 */
-	Task updateTask(String id, Task updatedTask);
+	Task updateTask(String id, Task updatedTask, String requiredAssigneeId, Long expectedVersion);
 	
 	/**
 	 * Delete a task by ID
@@ -64,33 +126,71 @@ public interface TaskService {
 	void deleteTask(String id);
 	
 	/**
-	 * Assign a task to a specific user
+	 * Assign a task to a specific user in a single atomic write
 	 * 
 	 * @param userId the ID of the user to assign the task to
 	 * @param id the task ID
+	 * @param expectedVersion the version the client last saw, or {@code null} to update unconditionally
 	 * @return the updated task with assigned user
-	 * @throws Exception if task or user is not found
+	 * @throws TaskNotFoundException if task is not found
+	 * @throws VersionMismatchException if the task is no longer at {@code expectedVersion}
 	 */
-	Task assignedToUser(String userId, String id);
+	Task assignedToUser(String userId, String id, Long expectedVersion);
 	
 	/**
-	 * Get all tasks assigned to a specific user with optional filtering and sorting
+	 * Get one page of tasks assigned to a specific user with optional filtering and sorting
 	 * 
 	 * @param userId the ID of the user
 	 * @param taskStatus filter by task status (optional)
 	 * @param sortByDeadline sort by deadline - "asc" or "desc" (optional)
 	 * @param sortByCreatedAt sort by creation date - "asc" or "desc" (optional)
+	 * @param page zero-based page index
+	 * @param size number of tasks per page
 	 * @return list of tasks assigned to the user
+	 * @throws IllegalArgumentException if page or size is out of range
 	 */
-	List<Task> assignedUsersTask(String userId, TaskStatus taskStatus, String sortByDeadline, String sortByCreatedAt);
+	List<Task> assignedUsersTask(String userId, TaskStatus taskStatus, String sortByDeadline, String sortByCreatedAt,
+			int page, int size);
 	
 	/**
-	 * Mark a task as complete
+	 * Mark a task as complete in a single atomic write
 	 * 
 	 * @param taskId the task ID
+	 * @param requiredAssigneeId the requester's ID if they must be the assignee, or {@code null} for administrators
+	 * @param expectedVersion the version the client last saw, or {@code null} to update unconditionally
 	 * @return the updated task with DONE status
-	 * @throws Exception if task is not found
+	 * @throws TaskNotFoundException if task is not found
+	 * @throws UnauthorizedActionException if the task is not assigned to {@code requiredAssigneeId}
+	 * @throws VersionMismatchException if the task is no longer at {@code expectedVersion}
 	 */
-	Task completeTask(String taskId);
+	Task completeTask(String taskId, String requiredAssigneeId, Long expectedVersion);
+	
+	/**
+	 * Create many tasks with a single unordered insert (Admin only)
+	 * 
+	 * Invalid tasks are reported and skipped; the rest are still created.
+	 * 
+	 * @param tasks the tasks to create
+	 * @return one result per task, in request order, carrying the generated ID
+	 * @throws IllegalArgumentException if the batch is empty or larger than the maximum batch size
+	 */
+	List<BulkItemResult> createTasks(List<Task> tasks);
+	
+	/**
+	 * Assign many tasks with a single bulk write (Admin only)
+	 * 
+	 * @param assignments the (task, user) pairs to apply
+	 * @return one result per assignment, in request order; unknown tasks are reported as failures
+	 * @throws IllegalArgumentException if the batch is empty or larger than the maximum batch size
+	 */
+	List<BulkItemResult> assignTasks(List<TaskAssignment> assignments);
+	
+	/**
+	 * Mark many tasks as complete with a single update (Admin only)
+	 * 
+	 * @param taskIds the task IDs
+	 * @return one result per task ID, in request order; unknown tasks are reported as failures
+	 * @throws IllegalArgumentException if the batch is empty or larger than the maximum batch size
+	 */
+	List<BulkItemResult> completeTasks(List<String> taskIds);
 }
-
@@ -2,26 +2,56 @@ package in.garvit.tasks.service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import in.garvit.tasks.dto.BulkItemResult;
+import in.garvit.tasks.dto.CursorPage;
+import in.garvit.tasks.dto.PageCursor;
+import in.garvit.tasks.dto.TagCount;
+import in.garvit.tasks.dto.TaskAssignment;
+import in.garvit.tasks.dto.TaskSearchCriteria;
 import in.garvit.tasks.enums.TaskStatus;
 import in.garvit.tasks.exception.TaskNotFoundException;
 import in.garvit.tasks.exception.UnauthorizedActionException;
+import in.garvit.tasks.exception.VersionMismatchException;
+import in.garvit.tasks.repository.TaskCounterRepository;
+import in.garvit.tasks.repository.TaskCounterRepository.Transition;
 import in.garvit.tasks.repository.TaskRepository;
+import in.garvit.tasks.repository.TaskRepositoryCustom.TaskChange;
+import in.garvit.tasks.repository.TaskRepositoryCustom.VersionedUpdate;
 import in.garvit.tasks.taskModel.Task;
 
 @Service
 public class TaskServiceImplementation implements TaskService {
 
+	private static final int MAX_PAGE_SIZE = 200;
+	private static final int MAX_BULK_SIZE = 1000;
+
 	private final TaskRepository taskRepository;
+	private final TaskCounterRepository taskCounters;
+	private final TaskSearchEngine searchEngine;
+	private final DeadlineScheduler deadlineScheduler;
 
-	public TaskServiceImplementation(TaskRepository taskRepository) {
+	public TaskServiceImplementation(TaskRepository taskRepository, TaskCounterRepository taskCounters,
+			TaskSearchEngine searchEngine, DeadlineScheduler deadlineScheduler) {
 		this.taskRepository = taskRepository;
+		this.taskCounters = taskCounters;
+		this.searchEngine = searchEngine;
+		this.deadlineScheduler = deadlineScheduler;
 	}
 
 	@Override
@@ -34,14 +64,52 @@ public class TaskServiceImplementation implements TaskService {
 			throw new IllegalArgumentException("Task title is required");
 		}
 
-		if (task.getTags() == null) {
-			task.setTags(new ArrayList<>());
-		}
+		prepareNewTask(task, LocalDateTime.now());
+		Task saved = taskRepository.save(task);
+		taskCounters.recordCreated(List.of(saved));
+		searchEngine.index(List.of(saved));
+		deadlineScheduler.track(List.of(saved));
+		return saved;
+	}
 
-		task.setStatus(TaskStatus.PENDING);
-		task.setCreateAt(LocalDateTime.now());
+	@Override
+	public List<BulkItemResult> createTasks(List<Task> tasks) {
+		validateBulkSize(tasks);
+		LocalDateTime now = LocalDateTime.now();
+		BulkItemResult[] results = new BulkItemResult[tasks.size()];
+		List<Task> accepted = new ArrayList<>();
+		List<Integer> acceptedIndexes = new ArrayList<>();
 
-		return taskRepository.save(task);
+		for (int i = 0; i < tasks.size(); i++) {
+			Task task = tasks.get(i);
+			if (task == null || !StringUtils.hasText(task.getTitle())) {
+				results[i] = BulkItemResult.failed(i, null, "Task title is required");
+				continue;
+			}
+			prepareNewTask(task, now);
+			// Assigned up front so every result can report its ID without reading the batch back
+			task.setId(new ObjectId().toHexString());
+			accepted.add(task);
+			acceptedIndexes.add(i);
+		}
+
+		Map<Integer, String> errors = taskRepository.insertAllUnordered(accepted);
+		List<Task> inserted = new ArrayList<>(accepted.size());
+		for (int j = 0; j < accepted.size(); j++) {
+			int index = acceptedIndexes.get(j);
+			String id = accepted.get(j).getId();
+			String error = errors.get(j);
+			if (error == null) {
+				inserted.add(accepted.get(j));
+				results[index] = BulkItemResult.ok(index, id);
+			} else {
+				results[index] = BulkItemResult.failed(index, id, error);
+			}
+		}
+		taskCounters.recordCreated(inserted);
+		searchEngine.index(inserted);
+		deadlineScheduler.track(inserted);
+		return Arrays.asList(results);
 	}
 
 	@Override
@@ -51,90 +119,297 @@ public class TaskServiceImplementation implements TaskService {
 	}
 
 	@Override
-	public List<Task> getAllTasks(TaskStatus taskStatus, String sortByDeadline, String sortByCreatedAt) {
-		List<Task> allTasks = taskRepository.findAll();
-		return filterAndSortTasks(allTasks, taskStatus, sortByDeadline, sortByCreatedAt);
+	public List<Task> getAllTasks(TaskStatus taskStatus, String sortByDeadline, String sortByCreatedAt, int page,
+			int size) {
+		if (StringUtils.hasText(sortByDeadline)) {
+			return taskRepository.findOrderedByDeadline(null, statusOnly(taskStatus), resolveDirection(sortByDeadline),
+					resolvePageable(page, size, null));
+		}
+		Pageable pageable = resolvePageable(page, size, sortByCreatedAt);
+		if (taskStatus == null) {
+			return taskRepository.findAllBy(pageable);
+		}
+		return taskRepository.findByStatus(taskStatus, pageable);
 	}
 
 	@Override
-	public Task updateTask(String id, Task updatedTask) {
-		Task existingTask = getTaskById(id);
-		
+	public List<Task> searchTasks(TaskSearchCriteria criteria, String sortByDeadline, String sortByCreatedAt,
+			int page, int size) {
+		if (StringUtils.hasText(sortByDeadline)) {
+			return taskRepository.findOrderedByDeadline(null, criteria, resolveDirection(sortByDeadline),
+					resolvePageable(page, size, null));
+		}
+		return taskRepository.search(criteria, resolvePageable(page, size, sortByCreatedAt));
+	}
+
+	@Override
+	public List<TagCount> tagFacets(TaskSearchCriteria criteria, int limit) {
+		validatePageSize(limit);
+		return taskRepository.countTags(criteria, limit);
+	}
+
+	@Override
+	public List<Task> searchText(String text, int page, int size) {
+		if (!StringUtils.hasText(text)) {
+			throw new IllegalArgumentException("q must not be blank");
+		}
+		if (page < 0) {
+			throw new IllegalArgumentException("page must not be negative");
+		}
+		validatePageSize(size);
+		return searchEngine.search(text.trim(), page, size);
+	}
+
+	@Override
+	public CursorPage<Task> scrollTasks(String cursor, int size) {
+		validatePageSize(size);
+		Pageable pageable = PageRequest.of(0, size + 1, Sort.by(Sort.Direction.DESC, "createAt", "id"));
+		List<Task> tasks;
+		if (StringUtils.hasText(cursor)) {
+			PageCursor position = PageCursor.decode(cursor);
+			tasks = taskRepository.findPageBefore(position.timestamp(), new ObjectId(position.id()), pageable);
+		} else {
+			tasks = taskRepository.findAllBy(pageable);
+		}
+
+		if (tasks.size() <= size) {
+			return new CursorPage<>(tasks, null);
+		}
+		List<Task> page = tasks.subList(0, size);
+		Task last = page.get(size - 1);
+		return new CursorPage<>(page, new PageCursor(last.getCreateAt(), last.getId()).encode());
+	}
+
+	@Override
+	public Task updateTask(String id, Task updatedTask, String requiredAssigneeId, Long expectedVersion) {
+		Update update = new Update();
 		if (updatedTask.getTitle() != null) {
-			existingTask.setTitle(updatedTask.getTitle());
+			update.set("title", updatedTask.getTitle());
 		}
 		if (updatedTask.getImageUrl() != null) {
-			existingTask.setImageUrl(updatedTask.getImageUrl());
+			update.set("imageUrl", updatedTask.getImageUrl());
 		}
 		if (updatedTask.getDescription() != null) {
-			existingTask.setDescription(updatedTask.getDescription());
+			update.set("description", updatedTask.getDescription());
 		}
 		if (updatedTask.getStatus() != null) {
-			existingTask.setStatus(updatedTask.getStatus());
+			update.set("status", updatedTask.getStatus());
 		}
 		if (updatedTask.getDeadline() != null) {
-			existingTask.setDeadline(updatedTask.getDeadline());
+			update.set("deadline", updatedTask.getDeadline());
+			// A new deadline starts over; the scheduler flags the task again if it passes
+			update.unset("overdueSince");
 		}
 		if (updatedTask.getTags() != null) {
-			existingTask.setTags(updatedTask.getTags());
+			update.set("tags", updatedTask.getTags());
 		}
 
-		return taskRepository.save(existingTask);
+		return applyUpdate(id, requiredAssigneeId, expectedVersion, update,
+				"Only the assigned user or an administrator can update this task");
 	}
 
 	@Override
 	public void deleteTask(String id) {
-		Task task = getTaskById(id);
-		taskRepository.delete(task);
+		Task task = taskRepository.deleteAndGet(id)
+				.orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + id));
+		taskCounters.recordDeleted(task);
+		searchEngine.remove(id);
 	}
 
 	@Override
-	public Task assignedToUser(String userId, String taskId) {
-		Task task = getTaskById(taskId);
-		task.setAssignedUserId(userId);
-		task.setStatus(TaskStatus.ASSIGNED);
+	public Task assignedToUser(String userId, String taskId, Long expectedVersion) {
+		Update update = new Update()
+				.set("assignedUserId", userId)
+				.set("status", TaskStatus.ASSIGNED);
+		return applyUpdate(taskId, null, expectedVersion, update, null);
+	}
+
+	@Override
+	public List<BulkItemResult> assignTasks(List<TaskAssignment> assignments) {
+		validateBulkSize(assignments);
+		Map<String, Task> current = taskRepository.findStates(assignments.stream()
+				.filter(assignment -> assignment != null && assignment.taskId() != null)
+				.map(TaskAssignment::taskId)
+				.toList());
 
-		return taskRepository.save(task);
+		BulkItemResult[] results = new BulkItemResult[assignments.size()];
+		Map<Integer, Transition> pending = new LinkedHashMap<>();
+		List<VersionedUpdate> updates = new ArrayList<>();
+		Set<String> seen = new HashSet<>();
+		for (int i = 0; i < assignments.size(); i++) {
+			TaskAssignment assignment = assignments.get(i);
+			if (assignment == null || !StringUtils.hasText(assignment.taskId()) || !StringUtils.hasText(assignment.userId())) {
+				results[i] = BulkItemResult.failed(i, assignment != null ? assignment.taskId() : null,
+						"taskId and userId are required");
+				continue;
+			}
+			String reason = bulkRejection(assignment.taskId(), current, seen);
+			if (reason != null) {
+				results[i] = BulkItemResult.failed(i, assignment.taskId(), reason);
+				continue;
+			}
+			Task task = current.get(assignment.taskId());
+			updates.add(new VersionedUpdate(task.getId(), currentVersion(task), new Update()
+					.set("assignedUserId", assignment.userId())
+					.set("status", TaskStatus.ASSIGNED)));
+			pending.put(i, new Transition(task.getStatus(), task.getAssignedUserId(), TaskStatus.ASSIGNED,
+					assignment.userId()));
+		}
+		return applyBulk(updates, pending, results);
 	}
 
 	@Override
-	public List<Task> assignedUsersTask(String userId, TaskStatus status, String sortByDeadline, String sortByCreatedAt) {
-		List<Task> allTasks = taskRepository.findByAssignedUserId(userId);
-		return filterAndSortTasks(allTasks, status, sortByDeadline, sortByCreatedAt);
+	public List<Task> assignedUsersTask(String userId, TaskStatus status, String sortByDeadline, String sortByCreatedAt,
+			int page, int size) {
+		if (StringUtils.hasText(sortByDeadline)) {
+			return taskRepository.findOrderedByDeadline(userId, statusOnly(status), resolveDirection(sortByDeadline),
+					resolvePageable(page, size, null));
+		}
+		Pageable pageable = resolvePageable(page, size, sortByCreatedAt);
+		if (status == null) {
+			return taskRepository.findByAssignedUserId(userId, pageable);
+		}
+		return taskRepository.findByAssignedUserIdAndStatus(userId, status, pageable);
 	}
 
 	@Override
-	public Task completeTask(String taskId) {
-		Task task = getTaskById(taskId);
-		task.setStatus(TaskStatus.DONE);
-		return taskRepository.save(task);
+	public Task completeTask(String taskId, String requiredAssigneeId, Long expectedVersion) {
+		Update update = new Update().set("status", TaskStatus.DONE);
+		return applyUpdate(taskId, requiredAssigneeId, expectedVersion, update,
+				"Only the assigned user or an administrator can complete this task");
 	}
 
-	private List<Task> filterAndSortTasks(List<Task> tasks, TaskStatus status, String sortByDeadline, String sortByCreatedAt) {
-		List<Task> filteredTasks = tasks.stream()
-				.filter(task -> status == null || task.getStatus() == status)
-				.collect(Collectors.toList());
+	@Override
+	public List<BulkItemResult> completeTasks(List<String> taskIds) {
+		validateBulkSize(taskIds);
+		Map<String, Task> current = taskRepository.findStates(taskIds.stream().filter(Objects::nonNull).toList());
 
-		Comparator<Task> comparator = resolveComparator(sortByDeadline, sortByCreatedAt);
-		if (comparator != null) {
-			filteredTasks.sort(comparator);
+		BulkItemResult[] results = new BulkItemResult[taskIds.size()];
+		Map<Integer, Transition> pending = new LinkedHashMap<>();
+		List<VersionedUpdate> updates = new ArrayList<>();
+		Set<String> seen = new HashSet<>();
+		for (int i = 0; i < taskIds.size(); i++) {
+			String taskId = taskIds.get(i);
+			String reason = bulkRejection(taskId, current, seen);
+			if (reason != null) {
+				results[i] = BulkItemResult.failed(i, taskId, reason);
+				continue;
+			}
+			Task task = current.get(taskId);
+			updates.add(new VersionedUpdate(task.getId(), currentVersion(task),
+					new Update().set("status", TaskStatus.DONE)));
+			pending.put(i, new Transition(task.getStatus(), task.getAssignedUserId(), TaskStatus.DONE,
+					task.getAssignedUserId()));
 		}
-		return filteredTasks;
+		return applyBulk(updates, pending, results);
 	}
 
-	private Comparator<Task> resolveComparator(String sortByDeadline, String sortByCreatedAt) {
-		if (StringUtils.hasText(sortByDeadline)) {
-			boolean ascending = sortByDeadline.equalsIgnoreCase("asc");
-			Comparator<LocalDateTime> base = ascending ? Comparator.naturalOrder() : Comparator.reverseOrder();
-			return Comparator.comparing(Task::getDeadline, Comparator.nullsLast(base));
+	/**
+	 * Write the version-guarded updates of a bulk request and fill in the remaining results.
+	 * Only updates that were applied are reported as successful and moved between counters.
+	 */
+	private List<BulkItemResult> applyBulk(List<VersionedUpdate> updates, Map<Integer, Transition> pending,
+			BulkItemResult[] results) {
+		Set<String> applied = taskRepository.updateAllIfVersion(updates);
+		List<Transition> transitions = new ArrayList<>(pending.size());
+		int position = 0;
+		for (Map.Entry<Integer, Transition> entry : pending.entrySet()) {
+			int index = entry.getKey();
+			String id = updates.get(position++).id();
+			if (applied.contains(id)) {
+				results[index] = BulkItemResult.ok(index, id);
+				transitions.add(entry.getValue());
+			} else {
+				results[index] = BulkItemResult.failed(index, id, "Task was modified concurrently; retry the item");
+			}
+		}
+		taskCounters.recordTransitions(transitions);
+		return Arrays.asList(results);
+	}
+
+	private String bulkRejection(String taskId, Map<String, Task> current, Set<String> seen) {
+		if (taskId == null || !current.containsKey(taskId)) {
+			return "Task not found";
+		}
+		return seen.add(taskId) ? null : "Task appears more than once in the batch";
+	}
+
+	private long currentVersion(Task task) {
+		return task.getVersion() != null ? task.getVersion() : 0L;
+	}
+
+	/**
+	 * Apply a guarded update; only a rejected write pays for another lookup to tell a missing
+	 * task apart from one assigned to somebody else or changed since the client read it.
+	 */
+	private Task applyUpdate(String id, String requiredAssigneeId, Long expectedVersion, Update update,
+			String deniedMessage) {
+		TaskChange change = taskRepository.updateIfMatches(id, requiredAssigneeId, expectedVersion, update)
+				.orElseThrow(() -> explainRejectedUpdate(id, requiredAssigneeId, deniedMessage));
+		taskCounters.recordTransitions(List.of(Transition.of(change.before(), change.after())));
+		searchEngine.index(List.of(change.after()));
+		deadlineScheduler.track(List.of(change.after()));
+		return change.after();
+	}
+
+	private RuntimeException explainRejectedUpdate(String id, String requiredAssigneeId, String deniedMessage) {
+		Task current = taskRepository.findById(id).orElse(null);
+		if (current == null) {
+			return new TaskNotFoundException("Task not found with id: " + id);
+		}
+		if (requiredAssigneeId != null && !requiredAssigneeId.equals(current.getAssignedUserId())) {
+			return new UnauthorizedActionException(deniedMessage);
+		}
+		return new VersionMismatchException("Task " + id + " has been modified; current version is " + currentVersion(current));
+	}
+
+	private void prepareNewTask(Task task, LocalDateTime now) {
+		if (task.getTags() == null) {
+			task.setTags(new ArrayList<>());
+		}
+		task.setStatus(TaskStatus.PENDING);
+		task.setCreateAt(now);
+		task.setVersion(null);
+		task.setOverdueSince(null);
+	}
+
+	private void validateBulkSize(List<?> items) {
+		if (items == null || items.isEmpty() || items.size() > MAX_BULK_SIZE) {
+			throw new IllegalArgumentException("A bulk request must contain between 1 and " + MAX_BULK_SIZE + " items");
+		}
+	}
+
+	/**
+	 * Deadline order is served by {@link TaskRepository#findOrderedByDeadline}, so only the creation time is
+	 * sorted on here
+	 */
+	private Pageable resolvePageable(int page, int size, String sortByCreatedAt) {
+		if (page < 0) {
+			throw new IllegalArgumentException("page must not be negative");
 		}
+		validatePageSize(size);
+		return PageRequest.of(page, size, resolveSort(sortByCreatedAt));
+	}
+
+	private void validatePageSize(int size) {
+		if (size < 1 || size > MAX_PAGE_SIZE) {
+			throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+		}
+	}
 
+	private Sort resolveSort(String sortByCreatedAt) {
 		if (StringUtils.hasText(sortByCreatedAt)) {
-			boolean ascending = sortByCreatedAt.equalsIgnoreCase("asc");
-			Comparator<LocalDateTime> base = ascending ? Comparator.naturalOrder() : Comparator.reverseOrder();
-			return Comparator.comparing(Task::getCreateAt, Comparator.nullsLast(base));
+			return Sort.by(resolveDirection(sortByCreatedAt), "createAt", "id");
 		}
 
-		return null;
+		return Sort.by(Sort.Direction.DESC, "createAt", "id");
+	}
+
+	private TaskSearchCriteria statusOnly(TaskStatus status) {
+		return new TaskSearchCriteria(null, null, status, null, null);
+	}
+
+	private Sort.Direction resolveDirection(String sortOrder) {
+		return sortOrder.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC;
 	}
 }
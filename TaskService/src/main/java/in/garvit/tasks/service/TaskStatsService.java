@@ -0,0 +1,64 @@
+package in.garvit.tasks.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import in.garvit.tasks.dto.TaskStats;
+import in.garvit.tasks.repository.TaskCounterRepository;
+
+/**
+ * Task Statistics Service
+ * 
+ * Serves the dashboard counts from the incrementally maintained task counters, so a
+ * request reads a handful of small documents instead of the task collection.
+ * 
+ * @author garvitpathak27
+ */
+@Service
+public class TaskStatsService {
+
+	private static final Logger log = LoggerFactory.getLogger(TaskStatsService.class);
+
+	private final TaskCounterRepository taskCounters;
+
+	public TaskStatsService(TaskCounterRepository taskCounters) {
+		this.taskCounters = taskCounters;
+	}
+
+	/**
+	 * Get task counts by status and by assignee
+	 * 
+	 * @return the current counts
+	 */
+	public TaskStats getStats() {
+		return taskCounters.readStats();
+	}
+
+	/**
+	 * Recompute the counters from the tasks (Admin only)
+	 * 
+	 * If another rebuild is running, it is not repeated and the current counts are returned.
+	 * 
+	 * @return the counts after the rebuild
+	 */
+	public TaskStats rebuild() {
+		if (!taskCounters.rebuild()) {
+			log.info("Task counter rebuild skipped; another rebuild holds the lease");
+		}
+		return taskCounters.readStats();
+	}
+
+	/**
+	 * Seed the counters once for databases that already held tasks before they were introduced.
+	 * The emptiness check runs under the rebuild lease, so instances starting together seed only once.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void seedCounters() {
+		if (!taskCounters.isInitialized() && taskCounters.seed()) {
+			log.info("Task counters were empty; built them from the task collection");
+		}
+	}
+}
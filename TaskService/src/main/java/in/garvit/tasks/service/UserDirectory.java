@@ -0,0 +1,87 @@
+package in.garvit.tasks.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import feign.FeignException;
+import in.garvit.tasks.dto.UserBatchRequest;
+import in.garvit.tasks.taskModel.Task;
+import in.garvit.tasks.taskModel.UserDTO;
+
+/**
+ * User Directory
+ * 
+ * Resolves many user ids with the User Service batch endpoint, {@value #MAX_IDS_PER_CALL} ids
+ * per call, instead of one call per task. Names only decorate a listing, so a failed lookup is
+ * logged and leaves them out rather than failing the request.
+ * 
+ * @author garvitpathak27
+ */
+@Component
+public class UserDirectory {
+
+	private static final Logger log = LoggerFactory.getLogger(UserDirectory.class);
+
+	/**
+	 * Largest batch the User Service accepts
+	 */
+	static final int MAX_IDS_PER_CALL = 500;
+
+	private final UserService userService;
+
+	public UserDirectory(UserService userService) {
+		this.userService = userService;
+	}
+
+	/**
+	 * Resolve users by id
+	 * 
+	 * @param ids user ids; null, blank and repeated ids are skipped
+	 * @param jwt the caller's Authorization header value
+	 * @return users keyed by id; unknown ids, and all ids after a failed call, are absent
+	 */
+	public Map<String, UserDTO> findByIds(Collection<String> ids, String jwt) {
+		List<String> distinct = ids.stream()
+				.filter(StringUtils::hasText)
+				.distinct()
+				.toList();
+		Map<String, UserDTO> users = new HashMap<>();
+		try {
+			for (int from = 0; from < distinct.size(); from += MAX_IDS_PER_CALL) {
+				List<String> chunk = distinct.subList(from, Math.min(distinct.size(), from + MAX_IDS_PER_CALL));
+				users.putAll(userService.findUsersByIds(new UserBatchRequest(chunk), jwt));
+			}
+		} catch (FeignException ex) {
+			log.warn("Could not resolve {} users: {}", distinct.size(), ex.getMessage());
+			return Map.of();
+		}
+		return users;
+	}
+
+	/**
+	 * Set the assignee name of every assigned task with one lookup for the whole list
+	 * 
+	 * @param tasks the tasks of one page
+	 * @param jwt the caller's Authorization header value
+	 */
+	public void nameAssignees(Collection<Task> tasks, String jwt) {
+		Map<String, UserDTO> users = findByIds(tasks.stream()
+				.map(Task::getAssignedUserId)
+				.filter(Objects::nonNull)
+				.toList(), jwt);
+		for (Task task : tasks) {
+			UserDTO assignee = task.getAssignedUserId() != null ? users.get(task.getAssignedUserId()) : null;
+			if (assignee != null) {
+				task.setAssigneeName(assignee.getFullName());
+			}
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package in.garvit.tasks.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import in.garvit.tasks.taskModel.UserDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * User Profile Cache
+ * 
+ * Size-bounded, expiring cache in front of the {@link UserService} Feign client, keyed by token.
+ * An entry never outlives the token's {@code exp} claim, concurrent misses for the same token
+ * share a single downstream call, and hit/miss/eviction counts are published to Micrometer
+ * under the {@code userProfiles} cache name.
+ * 
+ * @author garvitpathak27
+ */
+@Component
+public class UserProfileCache {
+
+	private final UserService userService;
+	private final Cache<String, CachedProfile> cache;
+
+	public UserProfileCache(UserService userService,
+			MeterRegistry meterRegistry,
+			@Value("${task.user-cache.max-size:10000}") long maxSize,
+			@Value("${task.user-cache.ttl:60s}") Duration ttl) {
+		this.userService = userService;
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfter(new TokenBoundExpiry(ttl))
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "userProfiles");
+	}
+
+	/**
+	 * Get the profile for a token, calling the User Service only on a miss
+	 * 
+	 * @param jwt the Authorization header value
+	 * @param tokenExpiry the token's expiry, or {@code null} if it has none
+	 * @return the user profile
+	 */
+	public UserDTO getUserProfile(String jwt, Date tokenExpiry) {
+		Instant expiresAt = tokenExpiry != null ? tokenExpiry.toInstant() : null;
+		return cache.get(jwt, token -> new CachedProfile(userService.getUserProfileHandler(token), expiresAt)).user();
+	}
+
+	private record CachedProfile(UserDTO user, Instant tokenExpiry) {
+	}
+
+	/**
+	 * Expires each entry after the configured TTL or at the token expiry, whichever comes first.
+	 */
+	private static final class TokenBoundExpiry implements Expiry<String, CachedProfile> {
+
+		private final long ttlNanos;
+
+		private TokenBoundExpiry(Duration ttl) {
+			this.ttlNanos = ttl.toNanos();
+		}
+
+		@Override
+		public long expireAfterCreate(String key, CachedProfile value, long currentTime) {
+			if (value.tokenExpiry() == null) {
+				return ttlNanos;
+			}
+			long untilExpiry = Duration.between(Instant.now(), value.tokenExpiry()).toNanos();
+			return Math.max(0, Math.min(ttlNanos, untilExpiry));
+		}
+
+		@Override
+		public long expireAfterUpdate(String key, CachedProfile value, long currentTime, long currentDuration) {
+			return expireAfterCreate(key, value, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(String key, CachedProfile value, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
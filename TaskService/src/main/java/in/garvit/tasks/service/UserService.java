@@ -1,9 +1,14 @@
 package in.garvit.tasks.service;
 
+import java.util.Map;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 
+import in.garvit.tasks.dto.UserBatchRequest;
 import in.garvit.tasks.taskModel.UserDTO;
 
 /**
@@ -25,5 +30,16 @@ public interface UserService {
 	 */
 	@GetMapping("/profile")
 	UserDTO getUserProfileHandler(@RequestHeader("Authorization") String jwt);
+
+	/**
+	 * Resolve many users in one round trip, e.g. the assignees of a task list
+	 * 
+	 * @param request the ids to resolve (at most 500)
+	 * @param jwt JWT authentication token
+	 * @return users keyed by id; unknown ids are omitted
+	 */
+	@PostMapping("/batch")
+	Map<String, UserDTO> findUsersByIds(@RequestBody UserBatchRequest request,
+			@RequestHeader("Authorization") String jwt);
 }
 
@@ -4,9 +4,15 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import in.garvit.tasks.enums.TaskStatus;
 import lombok.AllArgsConstructor;
@@ -19,10 +25,29 @@ import lombok.NoArgsConstructor;
  * Represents a task in the Task Management System.
  * This entity is persisted in MongoDB with collection name "Tasks".
  * 
+ * The compound indexes back the filtered and sorted listing queries: an equality
+ * prefix ({@code assignedUserId}, {@code status}) followed by the sort key and
+ * {@code _id} as a tie-breaker, so pages are read straight from the index.
+ * {@code tags_status_deadline_id} is a multikey index (one entry per tag) that
+ * serves tag search and the tag facet aggregation. {@code status_overdueSince_deadline}
+ * lets the deadline scheduler read only open, not yet flagged tasks in deadline order.
+ * 
  * @author garvitpathak27
  */
 @Data
 @Document(collection = "Tasks")
+@CompoundIndexes({
+	@CompoundIndex(name = "createAt_id", def = "{'createAt': -1, '_id': -1}"),
+	@CompoundIndex(name = "deadline_id", def = "{'deadline': 1, '_id': 1}"),
+	@CompoundIndex(name = "status_createAt_id", def = "{'status': 1, 'createAt': -1, '_id': -1}"),
+	@CompoundIndex(name = "status_deadline_id", def = "{'status': 1, 'deadline': 1, '_id': 1}"),
+	@CompoundIndex(name = "assignee_createAt_id", def = "{'assignedUserId': 1, 'createAt': -1, '_id': -1}"),
+	@CompoundIndex(name = "assignee_deadline_id", def = "{'assignedUserId': 1, 'deadline': 1, '_id': 1}"),
+	@CompoundIndex(name = "assignee_status_deadline_id", def = "{'assignedUserId': 1, 'status': 1, 'deadline': 1, '_id': 1}"),
+	@CompoundIndex(name = "assignee_status_createAt_id", def = "{'assignedUserId': 1, 'status': 1, 'createAt': -1, '_id': -1}"),
+	@CompoundIndex(name = "tags_status_deadline_id", def = "{'tags': 1, 'status': 1, 'deadline': 1, '_id': 1}"),
+	@CompoundIndex(name = "status_overdueSince_deadline", def = "{'status': 1, 'overdueSince': 1, 'deadline': 1}")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 public class Task {
@@ -34,13 +59,15 @@ public class Task {
 	private String id;
 	
 	/**
-	 * Title of the task
+	 * Title of the task (weighted above the description in text search)
 	 */
+	@TextIndexed(weight = 3)
 	private String title;
 	
 	/**
 	 * Detailed description of the task
 	 */
+	@TextIndexed
 	private String description;
 	
 	/**
@@ -64,6 +91,12 @@ public class Task {
 	 */
 	private LocalDateTime deadline;
 	
+	/**
+	 * When the deadline scheduler found the task past its deadline and not done;
+	 * {@code null} while the task is not overdue (cleared when the deadline changes)
+	 */
+	private LocalDateTime overdueSince;
+	
 	/**
 	 * Timestamp when the task was created
 	 */
@@ -73,5 +106,19 @@ public class Task {
 	 * List of tags associated with the task for categorization
 	 */
 	private List<String> tags = new ArrayList<>();
+	
+	/**
+	 * Optimistic locking version, incremented on every write and exposed as the ETag
+	 * (absent on tasks created before versioning, which count as version 0)
+	 */
+	@Version
+	private Long version;
+	
+	/**
+	 * Full name of the assignee, filled in by admin listings from the User Service and never stored
+	 */
+	@Transient
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private String assigneeName;
 }
 
@@ -0,0 +1,57 @@
+package in.garvit.tasks.taskModel;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import in.garvit.tasks.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Task Counter Entity
+ * 
+ * Number of tasks in one (status, assignee) combination, kept up to date by every
+ * task write. The dashboard statistics are summed from these documents, so their
+ * cost grows with the number of assignees rather than the number of tasks.
+ * 
+ * @author garvitpathak27
+ */
+@Data
+@Document(collection = "TaskCounters")
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskCounter {
+
+	/**
+	 * Combination key, {@code <status>|<assignedUserId>}
+	 */
+	@Id
+	private String id;
+
+	/**
+	 * Status of the counted tasks
+	 */
+	private TaskStatus status;
+
+	/**
+	 * Assignee of the counted tasks, or {@code null} for unassigned tasks
+	 */
+	private String assignedUserId;
+
+	/**
+	 * Number of tasks in this combination
+	 */
+	private long count;
+
+	/**
+	 * Build the counter key for a (status, assignee) combination
+	 * 
+	 * @param status task status (may be {@code null} for legacy tasks)
+	 * @param assignedUserId assignee (may be {@code null})
+	 * @return the document ID of the matching counter
+	 */
+	public static String keyOf(TaskStatus status, String assignedUserId) {
+		return status + "|" + (assignedUserId != null ? assignedUserId : "");
+	}
+}
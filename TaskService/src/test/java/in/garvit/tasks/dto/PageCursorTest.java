@@ -0,0 +1,44 @@
+package in.garvit.tasks.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+class PageCursorTest {
+
+	@Test
+	void decode_whenEncoded_returnsSameCursor() {
+		PageCursor cursor = new PageCursor(LocalDateTime.of(2024, 3, 1, 12, 30, 15), "65f000000000000000000001");
+
+		assertEquals(cursor, PageCursor.decode(cursor.encode()));
+	}
+
+	@Test
+	void decode_whenTimestampIsNull_returnsCursorWithoutTimestamp() {
+		PageCursor cursor = new PageCursor(null, "65f000000000000000000001");
+
+		assertEquals(cursor, PageCursor.decode(cursor.encode()));
+	}
+
+	@Test
+	void decode_whenTokenIsMalformed_throwsIllegalArgument() {
+		assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("not base64!"));
+		assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(token("2024-03-01T12:30:15")));
+		assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(token("2024-03-01T12:30:15|")));
+		assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(token("null|65f000000000000000000001")));
+	}
+
+	@Test
+	void constructor_whenIdIsNull_throwsNullPointer() {
+		assertThrows(NullPointerException.class, () -> new PageCursor(LocalDateTime.now(), null));
+	}
+
+	private static String token(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,30 @@
+package in.garvit.tasks.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TaskSearchCriteriaTest {
+
+	@Test
+	void constructor_whenTagsHaveBlanksAndDuplicates_normalizesThem() {
+		TaskSearchCriteria criteria = new TaskSearchCriteria(Arrays.asList(" api ", null, "", "api", "backend"), null,
+				null, null, null);
+
+		assertEquals(List.of("api", "backend"), criteria.anyTags());
+		assertTrue(criteria.allTags().isEmpty());
+	}
+
+	@Test
+	void constructor_whenDeadlineRangeIsEmpty_throwsIllegalArgument() {
+		LocalDateTime now = LocalDateTime.now();
+
+		assertThrows(IllegalArgumentException.class, () -> new TaskSearchCriteria(null, null, null, now, now));
+	}
+}
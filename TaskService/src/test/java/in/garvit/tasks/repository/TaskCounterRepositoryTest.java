@@ -0,0 +1,131 @@
+package in.garvit.tasks.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import in.garvit.tasks.dto.TaskStats;
+import in.garvit.tasks.enums.TaskStatus;
+import in.garvit.tasks.repository.TaskCounterRepository.Transition;
+import in.garvit.tasks.taskModel.Task;
+import in.garvit.tasks.taskModel.TaskCounter;
+
+class TaskCounterRepositoryTest {
+
+	private static final String LEASES = "TaskCounterLeases";
+
+	private MongoTemplate mongoTemplate;
+	private TaskCounterRepository taskCounters;
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		taskCounters = new TaskCounterRepository(mongoTemplate, Duration.ofMinutes(10));
+	}
+
+	@Test
+	void recordTransitions_whenCombinationUnchanged_writesNothing() {
+		taskCounters.recordTransitions(List.of(
+				new Transition(TaskStatus.ASSIGNED, "user-1", TaskStatus.ASSIGNED, "user-1")));
+
+		verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(TaskCounter.class));
+	}
+
+	@Test
+	void recordTransitions_whenTaskMoves_decrementsSourceAndIncrementsTarget() {
+		BulkOperations bulk = mock(BulkOperations.class);
+		given(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TaskCounter.class)).willReturn(bulk);
+
+		taskCounters.recordTransitions(List.of(
+				new Transition(TaskStatus.PENDING, null, TaskStatus.ASSIGNED, "user-1"),
+				new Transition(TaskStatus.PENDING, null, TaskStatus.ASSIGNED, "user-1")));
+
+		ArgumentCaptor<Query> keys = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+		verify(bulk, times(2)).upsert(keys.capture(), updates.capture());
+		verify(bulk).execute();
+		for (int i = 0; i < 2; i++) {
+			Object key = keys.getAllValues().get(i).getQueryObject().get("id");
+			Object amount = ((Document) updates.getAllValues().get(i).getUpdateObject().get("$inc")).get("count");
+			assertEquals("PENDING|".equals(key) ? -2L : 2L, amount);
+		}
+	}
+
+	@Test
+	void readStats_whenCountIsNegative_reportsItInsteadOfHidingIt() {
+		given(mongoTemplate.find(any(Query.class), eq(TaskCounter.class))).willReturn(List.of(
+				new TaskCounter("ASSIGNED|user-1", TaskStatus.ASSIGNED, "user-1", 3),
+				new TaskCounter("DONE|user-1", TaskStatus.DONE, "user-1", -1)));
+
+		TaskStats stats = taskCounters.readStats();
+
+		assertEquals(2L, stats.total());
+		assertEquals(-1L, stats.byStatus().get(TaskStatus.DONE));
+		assertEquals(Map.of(TaskStatus.PENDING, 0L, TaskStatus.ASSIGNED, 3L, TaskStatus.DONE, -1L),
+				stats.byAssignee().get("user-1"));
+		verify(mongoTemplate).find(argThat(q -> q != null && new Document("$ne", 0).equals(q.getQueryObject().get("count"))),
+				eq(TaskCounter.class));
+	}
+
+	@Test
+	void rebuild_whenLeaseIsFree_replacesCountersWithOutAndReleasesLease() {
+		boolean rebuilt = taskCounters.rebuild();
+
+		assertTrue(rebuilt);
+		verify(mongoTemplate).aggregate(argThat(aggregation -> aggregation != null && lastStage(aggregation)
+				.equals(new Document("$out", "TaskCounters"))), eq(Task.class), eq(Document.class));
+		verify(mongoTemplate).remove(argThat(q -> q != null && "rebuild".equals(q.getQueryObject().get("_id"))), eq(LEASES));
+	}
+
+	@Test
+	void rebuild_whenLeaseIsHeldElsewhere_skipsAggregation() {
+		given(mongoTemplate.upsert(any(Query.class), any(UpdateDefinition.class), eq(LEASES)))
+				.willThrow(new DuplicateKeyException("E11000 duplicate key"));
+
+		boolean rebuilt = taskCounters.rebuild();
+
+		assertFalse(rebuilt);
+		verify(mongoTemplate, never()).aggregate(any(Aggregation.class), eq(Task.class), eq(Document.class));
+		verify(mongoTemplate, never()).remove(any(Query.class), eq(LEASES));
+	}
+
+	@Test
+	void seed_whenCountersAlreadyExist_leavesThemAndReleasesLease() {
+		given(mongoTemplate.exists(any(Query.class), eq(TaskCounter.class))).willReturn(true);
+
+		boolean seeded = taskCounters.seed();
+
+		assertFalse(seeded);
+		verify(mongoTemplate, never()).aggregate(any(Aggregation.class), eq(Task.class), eq(Document.class));
+		verify(mongoTemplate).remove(any(Query.class), eq(LEASES));
+	}
+
+	private static Document lastStage(Aggregation aggregation) {
+		List<Document> pipeline = aggregation.toPipeline(Aggregation.DEFAULT_CONTEXT);
+		return pipeline.get(pipeline.size() - 1);
+	}
+}
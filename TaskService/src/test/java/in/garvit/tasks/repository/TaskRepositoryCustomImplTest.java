@@ -0,0 +1,310 @@
+package in.garvit.tasks.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+
+import in.garvit.tasks.dto.TagCount;
+import in.garvit.tasks.dto.TaskSearchCriteria;
+import in.garvit.tasks.enums.TaskStatus;
+import in.garvit.tasks.repository.TaskRepositoryCustom.TaskChange;
+import in.garvit.tasks.repository.TaskRepositoryCustom.VersionedUpdate;
+import in.garvit.tasks.taskModel.Task;
+
+class TaskRepositoryCustomImplTest {
+
+	private MongoTemplate mongoTemplate;
+	private BulkOperations bulk;
+	private TaskRepositoryCustomImpl repository;
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		bulk = mock(BulkOperations.class);
+		given(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Task.class)).willReturn(bulk);
+		repository = new TaskRepositoryCustomImpl(mongoTemplate);
+	}
+
+	@Test
+	void insertAllUnordered_whenAllInserted_returnsNoErrorsAndStartsAtVersionZero() {
+		Task task = task("65f000000000000000000001");
+		given(bulk.insert(anyList())).willReturn(bulk);
+
+		Map<Integer, String> errors = repository.insertAllUnordered(List.of(task));
+
+		assertTrue(errors.isEmpty());
+		assertEquals(0L, task.getVersion());
+	}
+
+	@Test
+	void insertAllUnordered_whenSomeRejected_reportsErrorsByPosition() {
+		BulkOperationException failure = mock(BulkOperationException.class);
+		given(failure.getErrors()).willReturn(List.of(new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1)));
+		given(bulk.insert(anyList())).willReturn(bulk);
+		given(bulk.execute()).willThrow(failure);
+
+		Map<Integer, String> errors = repository.insertAllUnordered(
+				List.of(task("65f000000000000000000001"), task("65f000000000000000000002"), task("65f000000000000000000003")));
+
+		assertEquals(Map.of(1, "E11000 duplicate key"), errors);
+	}
+
+	@Test
+	void updateIfMatches_whenWritten_derivesAfterImageFromSingleWrite() {
+		Task before = task("65f000000000000000000001");
+		before.setVersion(2L);
+		before.setStatus(TaskStatus.ASSIGNED);
+		before.setAssignedUserId("user-1");
+		before.setOverdueSince(LocalDateTime.of(2024, 5, 1, 0, 0));
+		given(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+				eq(Task.class))).willReturn(before);
+
+		TaskChange change = repository.updateIfMatches(before.getId(), "user-1", 2L,
+				new Update().set("status", TaskStatus.DONE).unset("overdueSince")).orElseThrow();
+
+		assertSame(before, change.before());
+		assertEquals(TaskStatus.DONE, change.after().getStatus());
+		assertEquals("user-1", change.after().getAssignedUserId());
+		assertEquals(before.getTitle(), change.after().getTitle());
+		assertNull(change.after().getOverdueSince());
+		assertEquals(3L, change.after().getVersion());
+		assertEquals(TaskStatus.ASSIGNED, before.getStatus());
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+		verify(mongoTemplate).findAndModify(query.capture(), update.capture(),
+				argThat(options -> options != null && !options.isReturnNew()), eq(Task.class));
+		assertEquals(2L, query.getValue().getQueryObject().get("version"));
+		assertEquals("user-1", query.getValue().getQueryObject().get("assignedUserId"));
+		assertEquals(new Document("version", 1), update.getValue().getUpdateObject().get("$inc"));
+		verify(mongoTemplate, never()).findOne(any(Query.class), eq(Task.class));
+	}
+
+	@Test
+	void updateIfMatches_withoutVersion_countsAsVersionZero() {
+		Task before = task("65f000000000000000000001");
+		given(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+				eq(Task.class))).willReturn(before);
+
+		TaskChange change = repository.updateIfMatches(before.getId(), null, null,
+				new Update().set("assignedUserId", "user-2")).orElseThrow();
+
+		assertEquals("user-2", change.after().getAssignedUserId());
+		assertEquals(1L, change.after().getVersion());
+	}
+
+	@Test
+	void updateIfMatches_whenPredicateMisses_returnsEmptyAfterOneWrite() {
+		Optional<TaskChange> change = repository.updateIfMatches("65f000000000000000000001", null, 2L,
+				new Update().set("status", TaskStatus.DONE));
+
+		assertTrue(change.isEmpty());
+		verify(mongoTemplate, times(1)).findAndModify(any(Query.class), any(UpdateDefinition.class),
+				any(FindAndModifyOptions.class), eq(Task.class));
+		verify(mongoTemplate, never()).findOne(any(Query.class), eq(Task.class));
+	}
+
+	@Test
+	void updateIfMatches_withOperatorItCannotReplay_writesNothing() {
+		assertThrows(IllegalArgumentException.class, () -> repository.updateIfMatches("65f000000000000000000001", null,
+				null, new Update().push("tags", "api")));
+
+		verify(mongoTemplate, never()).findAndModify(any(Query.class), any(UpdateDefinition.class),
+				any(FindAndModifyOptions.class), eq(Task.class));
+	}
+
+	@Test
+	void updateAllIfVersion_whenSomeMiss_readsBackOnlyDocumentsCarryingItsToken() {
+		BulkWriteResult result = mock(BulkWriteResult.class);
+		given(result.getMatchedCount()).willReturn(1);
+		given(bulk.execute()).willReturn(result);
+		given(mongoTemplate.find(any(Query.class), eq(Task.class))).willReturn(List.of(task("65f000000000000000000002")));
+
+		Set<String> applied = repository.updateAllIfVersion(List.of(
+				new VersionedUpdate("65f000000000000000000001", 0, new Update().set("status", TaskStatus.DONE)),
+				new VersionedUpdate("65f000000000000000000002", 4, new Update().set("status", TaskStatus.DONE))));
+
+		assertEquals(Set.of("65f000000000000000000002"), applied);
+		ArgumentCaptor<Update> written = ArgumentCaptor.forClass(Update.class);
+		verify(bulk, times(2)).updateOne(any(Query.class), written.capture());
+		Object token = ((Document) written.getValue().getUpdateObject().get("$set")).get("bulkWriteToken");
+		assertNotNull(token);
+		verify(mongoTemplate).find(argThat(q -> q != null && token.equals(q.getQueryObject().get("bulkWriteToken"))),
+				eq(Task.class));
+	}
+
+	@Test
+	void updateAllIfVersion_whenAllMatch_skipsReadBack() {
+		BulkWriteResult result = mock(BulkWriteResult.class);
+		given(result.getMatchedCount()).willReturn(1);
+		given(bulk.execute()).willReturn(result);
+
+		Set<String> applied = repository.updateAllIfVersion(List.of(
+				new VersionedUpdate("65f000000000000000000001", 0, new Update().set("status", TaskStatus.DONE))));
+
+		assertEquals(Set.of("65f000000000000000000001"), applied);
+		verify(mongoTemplate, never()).find(any(Query.class), eq(Task.class));
+	}
+
+	@Test
+	void search_combinesTagStatusAndDeadlineFilters() {
+		LocalDateTime from = LocalDateTime.of(2024, 5, 1, 0, 0);
+		LocalDateTime to = from.plusDays(7);
+		TaskSearchCriteria criteria = new TaskSearchCriteria(List.of("api", "ui"), List.of("urgent"), TaskStatus.PENDING,
+				from, to);
+
+		repository.search(criteria, PageRequest.of(1, 20, Sort.by(Sort.Direction.DESC, "createAt", "id")));
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).find(query.capture(), eq(Task.class));
+		Document filter = query.getValue().getQueryObject();
+		assertEquals(new Document("$in", List.of("api", "ui")).append("$all", List.of("urgent")), filter.get("tags"));
+		assertEquals(TaskStatus.PENDING, filter.get("status"));
+		assertEquals(new Document("$gte", from).append("$lt", to), filter.get("deadline"));
+		assertEquals(20, query.getValue().getSkip());
+		assertEquals(20, query.getValue().getLimit());
+	}
+
+	@Test
+	void findOrderedByDeadline_whenPageRunsPastDatedTasks_topsUpWithUndatedOnes() {
+		TaskSearchCriteria criteria = new TaskSearchCriteria(null, null, TaskStatus.PENDING, null, null);
+		Task dated = task("65f000000000000000000001");
+		Task undated = task("65f000000000000000000002");
+		given(mongoTemplate.count(any(Query.class), eq(Task.class))).willReturn(3L);
+		given(mongoTemplate.find(argThat(q -> q != null && q.getQueryObject().get("deadline") != null), eq(Task.class)))
+				.willReturn(List.of(dated));
+		given(mongoTemplate.find(argThat(q -> q != null && q.getQueryObject().containsKey("deadline")
+				&& q.getQueryObject().get("deadline") == null), eq(Task.class))).willReturn(List.of(undated));
+
+		List<Task> page = repository.findOrderedByDeadline("user-1", criteria, Sort.Direction.ASC, PageRequest.of(1, 2));
+
+		assertEquals(List.of(dated, undated), page);
+		ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate, times(2)).find(queries.capture(), eq(Task.class));
+		Query datedQuery = queries.getAllValues().get(0);
+		assertEquals(new Document("$ne", null), datedQuery.getQueryObject().get("deadline"));
+		assertEquals("user-1", datedQuery.getQueryObject().get("assignedUserId"));
+		assertEquals(new Document("deadline", 1).append("id", 1), datedQuery.getSortObject());
+		assertEquals(2, datedQuery.getSkip());
+		Query undatedQuery = queries.getAllValues().get(1);
+		assertEquals(new Document("id", 1), undatedQuery.getSortObject());
+		assertEquals(0, undatedQuery.getSkip());
+		assertEquals(1, undatedQuery.getLimit());
+	}
+
+	@Test
+	void findOrderedByDeadline_whenOffsetIsPastDatedTasks_readsOnlyUndatedOnes() {
+		TaskSearchCriteria criteria = new TaskSearchCriteria(null, null, null, null, null);
+		given(mongoTemplate.count(any(Query.class), eq(Task.class))).willReturn(3L);
+
+		repository.findOrderedByDeadline(null, criteria, Sort.Direction.DESC, PageRequest.of(1, 5));
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate, times(1)).find(query.capture(), eq(Task.class));
+		assertTrue(query.getValue().getQueryObject().containsKey("deadline"));
+		assertEquals(2, query.getValue().getSkip());
+		assertEquals(5, query.getValue().getLimit());
+	}
+
+	@Test
+	void findOrderedByDeadline_whenDeadlineRangeGiven_usesSingleQuery() {
+		LocalDateTime from = LocalDateTime.of(2024, 5, 1, 0, 0);
+		TaskSearchCriteria criteria = new TaskSearchCriteria(null, null, null, from, null);
+
+		repository.findOrderedByDeadline(null, criteria, Sort.Direction.DESC,
+				PageRequest.of(2, 20, Sort.by(Sort.Direction.DESC, "createAt", "id")));
+
+		verify(mongoTemplate, never()).count(any(Query.class), eq(Task.class));
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate, times(1)).find(query.capture(), eq(Task.class));
+		assertEquals(new Document("deadline", -1).append("id", -1), query.getValue().getSortObject());
+		assertEquals(40, query.getValue().getSkip());
+		assertEquals(20, query.getValue().getLimit());
+	}
+
+	@Test
+	void countTags_unwindsMatchingTasksAndRanksTagsByCount() {
+		List<TagCount> counts = List.of(new TagCount("api", 2));
+		given(mongoTemplate.aggregate(any(Aggregation.class), eq(Task.class), eq(TagCount.class)))
+				.willReturn(new AggregationResults<>(counts, new Document()));
+
+		assertEquals(counts, repository.countTags(new TaskSearchCriteria(null, null, TaskStatus.DONE, null, null), 10));
+
+		ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+		verify(mongoTemplate).aggregate(aggregation.capture(), eq(Task.class), eq(TagCount.class));
+		List<Document> pipeline = aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+		assertEquals(new Document("$match", new Document("status", TaskStatus.DONE)), pipeline.get(0));
+		assertEquals(new Document("$unwind", "$tags"), pipeline.get(1));
+		assertEquals(new Document("count", -1).append("_id", 1), pipeline.get(3).get("$sort"));
+		assertEquals(new Document("$limit", 10L), pipeline.get(4));
+	}
+
+	@Test
+	void markOverdue_flagsOpenDueTasksAndReadsBackThoseCarryingThisRunsTime() {
+		LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0, 0, 123_000_000);
+		given(mongoTemplate.find(any(Query.class), eq(Task.class))).willReturn(List.of(task("65f000000000000000000001")));
+
+		List<String> flagged = repository.markOverdue(List.of("65f000000000000000000001", "65f000000000000000000002"),
+				now);
+
+		assertEquals(List.of("65f000000000000000000001"), flagged);
+		ArgumentCaptor<Query> due = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).updateMulti(due.capture(), update.capture(), eq(Task.class));
+		assertEquals(new Document("$lte", now), due.getValue().getQueryObject().get("deadline"));
+		assertTrue(due.getValue().getQueryObject().containsKey("overdueSince"));
+		assertEquals(now, update.getValue().getUpdateObject().get("$set", Document.class).get("overdueSince"));
+		verify(mongoTemplate).find(argThat(q -> q != null && now.equals(q.getQueryObject().get("overdueSince"))),
+				eq(Task.class));
+	}
+
+	@Test
+	void markOverdue_whenNothingQueued_skipsDatabase() {
+		assertTrue(repository.markOverdue(List.of(), LocalDateTime.now()).isEmpty());
+		verify(mongoTemplate, never()).updateMulti(any(Query.class), any(UpdateDefinition.class), eq(Task.class));
+	}
+
+	private static Task task(String id) {
+		Task task = new Task();
+		task.setId(id);
+		task.setTitle("Task " + id);
+		return task;
+	}
+}
@@ -0,0 +1,94 @@
+package in.garvit.tasks.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import in.garvit.tasks.exception.InvalidTokenException;
+import in.garvit.tasks.service.UserProfileCache;
+import in.garvit.tasks.taskModel.UserDTO;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+class JwtVerifierTest {
+
+	private static final String SECRET = "change-me-change-me-change-me-change-me-123456";
+
+	private UserProfileCache userProfileCache;
+	private JwtVerifier jwtVerifier;
+
+	@BeforeEach
+	void setUp() {
+		userProfileCache = mock(UserProfileCache.class);
+		jwtVerifier = new JwtVerifier(SECRET, userProfileCache);
+	}
+
+	@Test
+	void verify_whenTokenHasIdentityClaims_resolvesUserLocally() {
+		String jwt = "Bearer " + token(SECRET, Instant.now().plusSeconds(60))
+				.claim("userId", "user-1")
+				.claim("role", "ROLE_ADMIN")
+				.compact();
+
+		UserDTO user = jwtVerifier.verify(jwt);
+
+		assertEquals("user-1", user.getId());
+		assertEquals("jane@example.com", user.getEmail());
+		assertEquals("ROLE_ADMIN", user.getRole());
+		verifyNoInteractions(userProfileCache);
+	}
+
+	@Test
+	void verify_whenTokenHasNoIdentityClaims_fallsBackToProfileLookup() {
+		String jwt = "Bearer " + token(SECRET, Instant.now().plusSeconds(60)).compact();
+		UserDTO remote = new UserDTO("user-1", "Jane Doe", "jane@example.com", null, "ROLE_USER", "9876543210");
+		given(userProfileCache.getUserProfile(eq(jwt), any())).willReturn(remote);
+
+		assertEquals(remote, jwtVerifier.verify(jwt));
+	}
+
+	@Test
+	void verify_whenSignedWithOtherKey_throwsInvalidToken() {
+		String jwt = token("another-secret-another-secret-another-secret", Instant.now().plusSeconds(60))
+				.claim("userId", "user-1")
+				.claim("role", "ROLE_ADMIN")
+				.compact();
+
+		assertThrows(InvalidTokenException.class, () -> jwtVerifier.verify(jwt));
+	}
+
+	@Test
+	void verify_whenExpired_throwsInvalidToken() {
+		String jwt = token(SECRET, Instant.now().minusSeconds(60))
+				.claim("userId", "user-1")
+				.claim("role", "ROLE_ADMIN")
+				.compact();
+
+		assertThrows(InvalidTokenException.class, () -> jwtVerifier.verify(jwt));
+	}
+
+	@Test
+	void verify_whenMissing_throwsInvalidToken() {
+		assertThrows(InvalidTokenException.class, () -> jwtVerifier.verify(" "));
+	}
+
+	private JwtBuilder token(String secret, Instant expiresAt) {
+		return Jwts.builder()
+				.subject("jane@example.com")
+				.claim("email", "jane@example.com")
+				.expiration(Date.from(expiresAt))
+				.signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)));
+	}
+}
@@ -0,0 +1,119 @@
+package in.garvit.tasks.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import in.garvit.tasks.enums.TaskStatus;
+import in.garvit.tasks.repository.TaskRepository;
+import in.garvit.tasks.taskModel.Task;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SuppressWarnings("null")
+class DeadlineSchedulerTest {
+
+	private TaskRepository taskRepository;
+	private SimpleMeterRegistry meterRegistry;
+	private DeadlineScheduler deadlineScheduler;
+
+	@BeforeEach
+	void setUp() {
+		taskRepository = mock(TaskRepository.class);
+		meterRegistry = new SimpleMeterRegistry();
+		deadlineScheduler = new DeadlineScheduler(taskRepository, meterRegistry, Duration.ofMinutes(5), 2);
+	}
+
+	@Test
+	void flagDue_whenTrackedDeadlinePassed_marksTaskAndCountsIt() {
+		Task due = task("task-1", LocalDateTime.now().minusSeconds(1));
+		given(taskRepository.markOverdue(anyList(), any())).willReturn(List.of("task-1"));
+
+		deadlineScheduler.track(List.of(due));
+		deadlineScheduler.flagDue();
+
+		ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+		verify(taskRepository).markOverdue(eq(List.of("task-1")), now.capture());
+		// Stored with millisecond precision, so the read-back can match it exactly
+		assertEquals(now.getValue().truncatedTo(ChronoUnit.MILLIS), now.getValue());
+		assertEquals(1.0, meterRegistry.counter("task.deadline.overdue").count());
+	}
+
+	@Test
+	void flagDue_leavesTasksThatAreNotDueYetQueued() {
+		deadlineScheduler.track(List.of(task("task-1", LocalDateTime.now().plusMinutes(4))));
+
+		deadlineScheduler.flagDue();
+
+		verify(taskRepository, never()).markOverdue(anyList(), any());
+	}
+
+	@Test
+	void track_skipsDoneFlaggedAndDistantTasks() {
+		Task done = task("task-1", LocalDateTime.now().minusSeconds(1));
+		done.setStatus(TaskStatus.DONE);
+		Task flagged = task("task-2", LocalDateTime.now().minusSeconds(1));
+		flagged.setOverdueSince(LocalDateTime.now());
+		Task distant = task("task-3", LocalDateTime.now().plusHours(1));
+
+		deadlineScheduler.track(List.of(done, flagged, distant));
+		deadlineScheduler.flagDue();
+
+		verify(taskRepository, never()).markOverdue(anyList(), any());
+	}
+
+	@Test
+	void flagDue_whenDeadlineWasMoved_skipsStaleEntry() {
+		deadlineScheduler.track(List.of(task("task-1", LocalDateTime.now().minusSeconds(1))));
+		deadlineScheduler.track(List.of(task("task-1", LocalDateTime.now().plusMinutes(4))));
+
+		deadlineScheduler.flagDue();
+
+		verify(taskRepository, never()).markOverdue(anyList(), any());
+	}
+
+	@Test
+	void flagDue_flagsAtMostOneBatchPerTick() {
+		LocalDateTime past = LocalDateTime.now().minusMinutes(1);
+		deadlineScheduler.track(List.of(task("task-1", past.minusSeconds(2)), task("task-2", past.minusSeconds(1)),
+				task("task-3", past)));
+
+		deadlineScheduler.flagDue();
+		deadlineScheduler.flagDue();
+
+		verify(taskRepository).markOverdue(eq(List.of("task-1", "task-2")), any());
+		verify(taskRepository).markOverdue(eq(List.of("task-3")), any());
+	}
+
+	@Test
+	void refill_queuesTasksReadFromTheIndex() {
+		given(taskRepository.findUnflaggedDueBefore(any(), eq(2)))
+				.willReturn(List.of(task("task-1", LocalDateTime.now().minusDays(1))));
+
+		deadlineScheduler.refill();
+		deadlineScheduler.flagDue();
+
+		verify(taskRepository).markOverdue(eq(List.of("task-1")), any());
+	}
+
+	private static Task task(String id, LocalDateTime deadline) {
+		Task task = new Task();
+		task.setId(id);
+		task.setStatus(TaskStatus.ASSIGNED);
+		task.setDeadline(deadline);
+		return task;
+	}
+}
@@ -0,0 +1,111 @@
+package in.garvit.tasks.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import in.garvit.tasks.taskModel.Task;
+
+class InvertedIndexSearchEngineTest {
+
+	private MongoTemplate mongoTemplate;
+	private InvertedIndexSearchEngine searchEngine;
+
+	private final Task loginTitle = task("task-1", "Fix login page", "Users cannot sign in");
+	private final Task loginDescription = task("task-2", "Release notes", "Mention the login fix");
+	private final Task unrelated = task("task-3", "Update logo", "New colours");
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		// Search loads the ranked IDs back from MongoDB and keeps only those
+		given(mongoTemplate.find(any(Query.class), eq(Task.class)))
+				.willReturn(List.of(loginTitle, loginDescription, unrelated));
+		searchEngine = new InvertedIndexSearchEngine(mongoTemplate);
+	}
+
+	@Test
+	void search_ranksTitleMatchesAboveDescriptionMatches() {
+		searchEngine.index(List.of(loginDescription, loginTitle, unrelated));
+
+		assertEquals(List.of(loginTitle, loginDescription), searchEngine.search("Login", 0, 10));
+		assertEquals(List.of(loginDescription), searchEngine.search("login", 1, 1));
+	}
+
+	@Test
+	void search_whenWordsAreRare_ranksThemAboveCommonOnes() {
+		Task sign = task("task-4", "Sign form", null);
+		Task fix = task("task-5", "Fix", null);
+		Task fixCrash = task("task-6", "Fix crash", null);
+		given(mongoTemplate.find(any(Query.class), eq(Task.class))).willReturn(List.of(sign, fix, fixCrash));
+		searchEngine.index(List.of(sign, fix, fixCrash));
+
+		// Same weight per match, but "sign" is in one task and "fix" in two
+		assertEquals(List.of(sign, fix, fixCrash), searchEngine.search("fix sign", 0, 10));
+	}
+
+	@Test
+	void index_whenTaskChanges_replacesItsWords() {
+		searchEngine.index(List.of(loginTitle));
+		searchEngine.index(List.of(task("task-1", "Update logo", null)));
+
+		assertTrue(searchEngine.search("login", 0, 10).isEmpty());
+	}
+
+	@Test
+	void remove_dropsTaskFromResults() {
+		searchEngine.index(List.of(loginTitle, loginDescription));
+
+		searchEngine.remove(loginTitle.getId());
+
+		assertEquals(List.of(loginDescription), searchEngine.search("login", 0, 10));
+	}
+
+	@Test
+	void rebuild_replaysWritesMadeWhileReadingTasks() {
+		given(mongoTemplate.stream(any(Query.class), eq(Task.class))).willAnswer(invocation -> {
+			// Local writes racing the cursor, which still returns the old state
+			searchEngine.remove(loginTitle.getId());
+			searchEngine.index(List.of(loginDescription));
+			return Stream.of(loginTitle, unrelated);
+		});
+
+		searchEngine.rebuild();
+
+		assertEquals(List.of(loginDescription), searchEngine.search("login", 0, 10));
+		assertEquals(List.of(unrelated), searchEngine.search("logo", 0, 10));
+	}
+
+	@Test
+	void rebuild_whenReadFails_keepsCurrentIndexAndStopsJournaling() {
+		searchEngine.index(List.of(loginTitle));
+		given(mongoTemplate.stream(any(Query.class), eq(Task.class))).willThrow(new IllegalStateException("down"));
+
+		assertThrows(IllegalStateException.class, searchEngine::rebuild);
+
+		assertEquals(List.of(loginTitle), searchEngine.search("login", 0, 10));
+		given(mongoTemplate.stream(any(Query.class), eq(Task.class))).willReturn(Stream.of(unrelated));
+		searchEngine.rebuild();
+		assertTrue(searchEngine.search("login", 0, 10).isEmpty());
+	}
+
+	private static Task task(String id, String title, String description) {
+		Task task = new Task();
+		task.setId(id);
+		task.setTitle(title);
+		task.setDescription(description);
+		return task;
+	}
+}
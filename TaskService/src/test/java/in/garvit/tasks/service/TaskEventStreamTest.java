@@ -0,0 +1,170 @@
+package in.garvit.tasks.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+import in.garvit.tasks.taskModel.Task;
+import in.garvit.tasks.taskModel.UserDTO;
+
+@SuppressWarnings({ "null", "unchecked" })
+class TaskEventStreamTest {
+
+	private static final String TASK_ID = "65f000000000000000000001";
+
+	private List<Runnable> queuedSends;
+	private TaskEventStream eventStream;
+
+	@BeforeEach
+	void setUp() {
+		queuedSends = new ArrayList<>();
+		eventStream = new TaskEventStream(mock(MongoTemplate.class), queuedSends::add, false, Duration.ofMinutes(30));
+	}
+
+	@Test
+	void onChange_whenTaskDeleted_notifiesAdminsAndPreviousAssigneeOnly() {
+		RecordingEmitter admin = subscribe("admin-1", "ROLE_ADMIN");
+		RecordingEmitter assignee = subscribe("user-1", "ROLE_USER");
+		RecordingEmitter other = subscribe("user-2", "ROLE_USER");
+
+		eventStream.onChange(change(OperationType.DELETE, new Document("assignedUserId", "user-1"), null));
+		runSends();
+
+		assertEquals(List.of("task-deleted"), admin.names());
+		assertEquals(List.of("task-deleted"), assignee.names());
+		assertTrue(other.names().isEmpty());
+	}
+
+	@Test
+	void onChange_whenDeletedWithoutPreImage_notifiesAdminsOnly() {
+		RecordingEmitter admin = subscribe("admin-1", "ROLE_ADMIN");
+		RecordingEmitter user = subscribe("user-1", "ROLE_USER");
+
+		eventStream.onChange(change(OperationType.DELETE, null, null));
+		runSends();
+
+		assertEquals(List.of("task-deleted"), admin.names());
+		assertTrue(user.names().isEmpty());
+	}
+
+	@Test
+	void onChange_whenReassigned_tellsPreviousAssigneeAndSendsTaskToNewOne() {
+		RecordingEmitter previous = subscribe("user-1", "ROLE_USER");
+		RecordingEmitter current = subscribe("user-2", "ROLE_USER");
+		RecordingEmitter admin = subscribe("admin-1", "ROLE_ADMIN");
+
+		eventStream.onChange(change(OperationType.UPDATE, new Document("assignedUserId", "user-1"), task("user-2")));
+		runSends();
+
+		assertEquals(List.of("task-unassigned"), previous.names());
+		assertEquals(List.of("task"), current.names());
+		assertEquals(List.of("task"), admin.names());
+	}
+
+	@Test
+	void onChange_sendsOnExecutorInOrderWithOneSenderPerClient() {
+		RecordingEmitter assignee = subscribe("user-1", "ROLE_USER");
+
+		eventStream.onChange(change(OperationType.UPDATE, null, task("user-1")));
+		eventStream.heartbeat();
+		eventStream.onChange(change(OperationType.DELETE, new Document("assignedUserId", "user-1"), null));
+
+		assertTrue(assignee.names().isEmpty());
+		assertEquals(1, queuedSends.size());
+		runSends();
+		assertEquals(List.of("task", "keep-alive", "task-deleted"), assignee.names());
+	}
+
+	@Test
+	void heartbeat_whenClientIsGone_dropsItAndKeepsServingOthers() {
+		RecordingEmitter gone = subscribe("user-1", "ROLE_USER");
+		gone.failing = true;
+		RecordingEmitter connected = subscribe("user-2", "ROLE_USER");
+
+		eventStream.heartbeat();
+		runSends();
+		eventStream.heartbeat();
+		runSends();
+
+		assertEquals(1, gone.attempts);
+		assertEquals(List.of("keep-alive", "keep-alive"), connected.names());
+	}
+
+	private RecordingEmitter subscribe(String userId, String role) {
+		RecordingEmitter emitter = new RecordingEmitter();
+		eventStream.subscribe(new UserDTO(userId, null, null, null, role, null), emitter);
+		return emitter;
+	}
+
+	private void runSends() {
+		while (!queuedSends.isEmpty()) {
+			queuedSends.remove(0).run();
+		}
+	}
+
+	private static Task task(String assignedUserId) {
+		Task task = new Task();
+		task.setId(TASK_ID);
+		task.setTitle("Task");
+		task.setAssignedUserId(assignedUserId);
+		return task;
+	}
+
+	private static Message<ChangeStreamDocument<Document>, Task> change(OperationType type, Document before, Task body) {
+		ChangeStreamDocument<Document> raw = mock(ChangeStreamDocument.class);
+		given(raw.getOperationType()).willReturn(type);
+		given(raw.getDocumentKey()).willReturn(new BsonDocument("_id", new BsonObjectId(new ObjectId(TASK_ID))));
+		given(raw.getFullDocumentBeforeChange()).willReturn(before);
+		Message<ChangeStreamDocument<Document>, Task> message = mock(Message.class);
+		given(message.getRaw()).willReturn(raw);
+		given(message.getBody()).willReturn(body);
+		return message;
+	}
+
+	/**
+	 * Records the event names (or comments) sent to a client instead of writing them
+	 */
+	private static final class RecordingEmitter extends SseEmitter {
+
+		private final List<String> events = new ArrayList<>();
+		private boolean failing;
+		private int attempts;
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			attempts++;
+			if (failing) {
+				throw new IOException("Broken pipe");
+			}
+			events.add(builder.build().stream()
+					.map(part -> String.valueOf(part.getData()))
+					.collect(Collectors.joining()));
+		}
+
+		List<String> names() {
+			return events.stream()
+					.map(event -> event.startsWith(":") ? event.substring(1).trim() : event.split("\n")[0].substring(6))
+					.toList();
+		}
+	}
+}
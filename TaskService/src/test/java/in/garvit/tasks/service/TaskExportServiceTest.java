@@ -0,0 +1,105 @@
+package in.garvit.tasks.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import in.garvit.tasks.enums.ExportFormat;
+import in.garvit.tasks.enums.TaskStatus;
+import in.garvit.tasks.taskModel.Task;
+
+class TaskExportServiceTest {
+
+	private MongoTemplate mongoTemplate;
+	private TaskExportService exportService;
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		ObjectMapper objectMapper = new ObjectMapper()
+				.registerModule(new JavaTimeModule())
+				.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		exportService = new TaskExportService(mongoTemplate, objectMapper, 2);
+	}
+
+	@Test
+	void export_asNdjson_writesOneDocumentPerLineAndClosesCursor() throws Exception {
+		AtomicBoolean closed = new AtomicBoolean();
+		given(mongoTemplate.stream(any(Query.class), eq(Task.class)))
+				.willReturn(Stream.of(task("task-1", "First"), task("task-2", "Second"), task("task-3", "Third"))
+						.onClose(() -> closed.set(true)));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		long count = exportService.export(exportService.exportQuery(null, null, null), ExportFormat.NDJSON, out);
+
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+		assertEquals(3, count);
+		assertEquals(3, lines.length);
+		assertTrue(lines[0].contains("\"id\":\"task-1\""));
+		assertTrue(lines[2].contains("\"createAt\":\"2024-05-01T10:00:00\""));
+		assertTrue(closed.get());
+	}
+
+	@Test
+	void export_asCsv_writesHeaderAndQuotesSpecialCharacters() throws Exception {
+		given(mongoTemplate.stream(any(Query.class), eq(Task.class)))
+				.willReturn(Stream.of(task("task-1", "Fix \"login\", then\nrelease")));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		exportService.export(exportService.exportQuery(TaskStatus.PENDING, null, null), ExportFormat.CSV, out);
+
+		assertEquals("id,title,description,imageUrl,assignedUserId,status,deadline,createAt,tags\r\n"
+				+ "task-1,\"Fix \"\"login\"\", then\nrelease\",,,,PENDING,,2024-05-01T10:00:00,backend;urgent\r\n",
+				out.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void exportQuery_whenRangeGiven_filtersOnCreationTimeNewestFirst() {
+		LocalDateTime from = LocalDateTime.of(2024, 5, 1, 0, 0);
+		LocalDateTime to = from.plusDays(1);
+
+		Query query = exportService.exportQuery(TaskStatus.DONE, from, to);
+
+		assertEquals(TaskStatus.DONE, query.getQueryObject().get("status"));
+		assertEquals(new Document("$gte", from).append("$lt", to), query.getQueryObject().get("createAt"));
+		assertEquals(new Document("createAt", -1).append("id", -1), query.getSortObject());
+	}
+
+	@Test
+	void exportQuery_whenRangeIsInverted_throwsIllegalArgument() {
+		LocalDateTime now = LocalDateTime.now();
+
+		assertThrows(IllegalArgumentException.class, () -> exportService.exportQuery(null, now, now.minusDays(1)));
+	}
+
+	private Task task(String id, String title) {
+		Task task = new Task();
+		task.setId(id);
+		task.setTitle(title);
+		task.setStatus(TaskStatus.PENDING);
+		task.setCreateAt(LocalDateTime.of(2024, 5, 1, 10, 0));
+		task.setTags(List.of("backend", "urgent"));
+		return task;
+	}
+}
@@ -0,0 +1,359 @@
+package in.garvit.tasks.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Update;
+
+import in.garvit.tasks.dto.BulkItemResult;
+import in.garvit.tasks.dto.CursorPage;
+import in.garvit.tasks.dto.PageCursor;
+import in.garvit.tasks.dto.TagCount;
+import in.garvit.tasks.dto.TaskAssignment;
+import in.garvit.tasks.dto.TaskSearchCriteria;
+import in.garvit.tasks.enums.TaskStatus;
+import in.garvit.tasks.exception.TaskNotFoundException;
+import in.garvit.tasks.exception.UnauthorizedActionException;
+import in.garvit.tasks.exception.VersionMismatchException;
+import in.garvit.tasks.repository.TaskCounterRepository;
+import in.garvit.tasks.repository.TaskCounterRepository.Transition;
+import in.garvit.tasks.repository.TaskRepository;
+import in.garvit.tasks.repository.TaskRepositoryCustom.TaskChange;
+import in.garvit.tasks.taskModel.Task;
+
+@SuppressWarnings("null")
+class TaskServiceImplementationTest {
+
+	@Mock
+	private TaskRepository taskRepository;
+
+	@Mock
+	private TaskCounterRepository taskCounters;
+
+	@Mock
+	private TaskSearchEngine searchEngine;
+
+	@Mock
+	private DeadlineScheduler deadlineScheduler;
+
+	@InjectMocks
+	private TaskServiceImplementation taskService;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+	}
+
+	@Test
+	void createTasks_whenSomeItemsFail_reportsEachItemAndRecordsOnlyInserted() {
+		Task first = task("First");
+		Task untitled = task(" ");
+		Task third = task("Third");
+		// Position 1 of the accepted tasks is the third request item
+		given(taskRepository.insertAllUnordered(anyList())).willReturn(Map.of(1, "E11000 duplicate key"));
+
+		List<BulkItemResult> results = taskService.createTasks(List.of(first, untitled, third));
+
+		assertEquals(3, results.size());
+		assertEquals(BulkItemResult.ok(0, first.getId()), results.get(0));
+		assertEquals(BulkItemResult.failed(1, null, "Task title is required"), results.get(1));
+		assertEquals(BulkItemResult.failed(2, third.getId(), "E11000 duplicate key"), results.get(2));
+		assertNotNull(third.getId());
+		assertEquals(TaskStatus.PENDING, first.getStatus());
+		verify(taskCounters).recordCreated(List.of(first));
+		verify(searchEngine).index(List.of(first));
+		verify(deadlineScheduler).track(List.of(first));
+	}
+
+	@Test
+	void createTasks_whenAtMaximumSize_insertsWholeBatch() {
+		List<Task> tasks = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			tasks.add(task("Task " + i));
+		}
+		given(taskRepository.insertAllUnordered(anyList())).willReturn(Map.of());
+
+		List<BulkItemResult> results = taskService.createTasks(tasks);
+
+		assertEquals(1000, results.stream().filter(BulkItemResult::success).count());
+		verify(taskRepository).insertAllUnordered(argThat(batch -> batch.size() == 1000));
+	}
+
+	@Test
+	void createTasks_whenOverMaximumSize_rejectsBatchWithoutWriting() {
+		List<Task> tasks = new ArrayList<>();
+		for (int i = 0; i < 1001; i++) {
+			tasks.add(task("Task " + i));
+		}
+
+		assertThrows(IllegalArgumentException.class, () -> taskService.createTasks(tasks));
+		verifyNoInteractions(taskRepository, taskCounters, searchEngine, deadlineScheduler);
+	}
+
+	@Test
+	void completeTasks_whenEmpty_rejectsBatch() {
+		assertThrows(IllegalArgumentException.class, () -> taskService.completeTasks(List.of()));
+		verifyNoInteractions(taskRepository);
+	}
+
+	@Test
+	void deleteTask_whenRemoved_uncountsTheDeletedState() {
+		Task deleted = task("Old");
+		deleted.setId("65f000000000000000000001");
+		deleted.setStatus(TaskStatus.ASSIGNED);
+		given(taskRepository.deleteAndGet(deleted.getId())).willReturn(Optional.of(deleted));
+
+		taskService.deleteTask(deleted.getId());
+
+		verify(taskCounters).recordDeleted(deleted);
+		verify(searchEngine).remove(deleted.getId());
+	}
+
+	@Test
+	void deleteTask_whenAlreadyGone_throwsNotFoundWithoutTouchingCounters() {
+		given(taskRepository.deleteAndGet("65f000000000000000000001")).willReturn(Optional.empty());
+
+		assertThrows(TaskNotFoundException.class, () -> taskService.deleteTask("65f000000000000000000001"));
+		verify(taskCounters, never()).recordDeleted(any());
+	}
+
+	@Test
+	void getAllTasks_whenSortedByCreation_pagesNewestFirstWithIdTieBreak() {
+		ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+		given(taskRepository.findByStatus(eq(TaskStatus.PENDING), pageable.capture())).willReturn(List.of());
+
+		taskService.getAllTasks(TaskStatus.PENDING, null, null, 2, 50);
+
+		assertEquals(100, pageable.getValue().getOffset());
+		assertEquals(50, pageable.getValue().getPageSize());
+		assertEquals(Sort.by(Sort.Direction.DESC, "createAt", "id"), pageable.getValue().getSort());
+	}
+
+	@Test
+	void getAllTasks_whenSortedByDeadline_usesDeadlineOrderedQuery() {
+		ArgumentCaptor<TaskSearchCriteria> criteria = ArgumentCaptor.forClass(TaskSearchCriteria.class);
+		given(taskRepository.findOrderedByDeadline(isNull(), criteria.capture(), eq(Sort.Direction.ASC), any()))
+				.willReturn(List.of());
+
+		taskService.getAllTasks(TaskStatus.ASSIGNED, "ASC", "desc", 0, 20);
+
+		assertEquals(TaskStatus.ASSIGNED, criteria.getValue().status());
+		verify(taskRepository, never()).findByStatus(any(), any());
+	}
+
+	@Test
+	void getAllTasks_whenPageOrSizeOutOfRange_rejectsRequest() {
+		assertThrows(IllegalArgumentException.class, () -> taskService.getAllTasks(null, null, null, -1, 20));
+		assertThrows(IllegalArgumentException.class, () -> taskService.getAllTasks(null, null, null, 0, 0));
+		assertThrows(IllegalArgumentException.class, () -> taskService.getAllTasks(null, null, null, 0, 201));
+		verifyNoInteractions(taskRepository);
+	}
+
+	@Test
+	void assignedUsersTask_whenSortedByDeadline_scopesQueryToAssignee() {
+		given(taskRepository.findOrderedByDeadline(eq("user-1"), any(), eq(Sort.Direction.DESC), any()))
+				.willReturn(List.of());
+
+		taskService.assignedUsersTask("user-1", null, "desc", null, 0, 20);
+
+		verify(taskRepository, never()).findByAssignedUserId(any(), any(Pageable.class));
+	}
+
+	@Test
+	void searchTasks_passesCriteriaAndPageToRepository() {
+		TaskSearchCriteria criteria = new TaskSearchCriteria(List.of("api"), null, TaskStatus.PENDING, null, null);
+		Task match = task("Match");
+		given(taskRepository.search(eq(criteria), any())).willReturn(List.of(match));
+
+		assertEquals(List.of(match), taskService.searchTasks(criteria, null, null, 0, 20));
+	}
+
+	@Test
+	void tagFacets_whenLimitOutOfRange_rejectsRequest() {
+		TaskSearchCriteria criteria = new TaskSearchCriteria(null, null, null, null, null);
+
+		assertThrows(IllegalArgumentException.class, () -> taskService.tagFacets(criteria, 0));
+		verifyNoInteractions(taskRepository);
+	}
+
+	@Test
+	void tagFacets_returnsRepositoryCounts() {
+		TaskSearchCriteria criteria = new TaskSearchCriteria(null, null, TaskStatus.DONE, null, null);
+		List<TagCount> counts = List.of(new TagCount("api", 3), new TagCount("ui", 1));
+		given(taskRepository.countTags(criteria, 10)).willReturn(counts);
+
+		assertEquals(counts, taskService.tagFacets(criteria, 10));
+	}
+
+	@Test
+	void searchText_whenQueryIsBlank_rejectsRequest() {
+		assertThrows(IllegalArgumentException.class, () -> taskService.searchText("  ", 0, 20));
+		verifyNoInteractions(searchEngine);
+	}
+
+	@Test
+	void searchText_trimsQueryBeforeSearching() {
+		taskService.searchText("  login bug ", 1, 20);
+
+		verify(searchEngine).search("login bug", 1, 20);
+	}
+
+	@Test
+	void scrollTasks_whenMoreTasksRemain_returnsCursorForLastItem() {
+		Task newest = created("65f000000000000000000003", LocalDateTime.of(2024, 5, 3, 9, 0));
+		Task middle = created("65f000000000000000000002", LocalDateTime.of(2024, 5, 2, 9, 0));
+		Task oldest = created("65f000000000000000000001", LocalDateTime.of(2024, 5, 1, 9, 0));
+		given(taskRepository.findAllBy(argThat(pageable -> pageable.getPageSize() == 3)))
+				.willReturn(List.of(newest, middle, oldest));
+
+		CursorPage<Task> page = taskService.scrollTasks(null, 2);
+
+		assertEquals(List.of(newest, middle), page.items());
+		assertEquals(new PageCursor(middle.getCreateAt(), middle.getId()), PageCursor.decode(page.nextCursor()));
+	}
+
+	@Test
+	void scrollTasks_whenCursorGiven_continuesAfterIt() {
+		LocalDateTime createdAt = LocalDateTime.of(2024, 5, 2, 9, 0);
+		String cursor = new PageCursor(createdAt, "65f000000000000000000002").encode();
+		Task oldest = created("65f000000000000000000001", LocalDateTime.of(2024, 5, 1, 9, 0));
+		given(taskRepository.findPageBefore(eq(createdAt), eq(new ObjectId("65f000000000000000000002")), any()))
+				.willReturn(List.of(oldest));
+
+		CursorPage<Task> page = taskService.scrollTasks(cursor, 2);
+
+		assertEquals(List.of(oldest), page.items());
+		assertNull(page.nextCursor());
+	}
+
+	@Test
+	void updateTask_whenDeadlineChanges_clearsOverdueFlagAndReindexes() {
+		Task changes = new Task();
+		changes.setDeadline(LocalDateTime.of(2030, 1, 1, 0, 0));
+		changes.setTags(null);
+		Task before = task("Task");
+		Task after = task("Task");
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		given(taskRepository.updateIfMatches(eq("task-1"), eq("user-1"), eq(4L), update.capture()))
+				.willReturn(Optional.of(new TaskChange(before, after)));
+
+		assertEquals(after, taskService.updateTask("task-1", changes, "user-1", 4L));
+
+		Document written = update.getValue().getUpdateObject();
+		assertEquals(changes.getDeadline(), written.get("$set", Document.class).get("deadline"));
+		assertEquals(new Document("overdueSince", 1), written.get("$unset"));
+		verify(taskCounters).recordTransitions(List.of(Transition.of(before, after)));
+		verify(searchEngine).index(List.of(after));
+		verify(deadlineScheduler).track(List.of(after));
+	}
+
+	@Test
+	void updateTask_whenRejectedAndTaskMissing_throwsNotFound() {
+		given(taskRepository.updateIfMatches(any(), any(), any(), any())).willReturn(Optional.empty());
+		given(taskRepository.findById("task-1")).willReturn(Optional.empty());
+
+		assertThrows(TaskNotFoundException.class, () -> taskService.updateTask("task-1", new Task(), null, null));
+		verifyNoInteractions(taskCounters, searchEngine, deadlineScheduler);
+	}
+
+	@Test
+	void completeTask_whenRejectedAndAssignedElsewhere_throwsUnauthorized() {
+		Task current = task("Task");
+		current.setAssignedUserId("user-2");
+		given(taskRepository.updateIfMatches(any(), any(), any(), any())).willReturn(Optional.empty());
+		given(taskRepository.findById("task-1")).willReturn(Optional.of(current));
+
+		assertThrows(UnauthorizedActionException.class, () -> taskService.completeTask("task-1", "user-1", null));
+	}
+
+	@Test
+	void completeTask_whenRejectedByVersion_throwsVersionMismatch() {
+		Task current = task("Task");
+		current.setAssignedUserId("user-1");
+		current.setVersion(5L);
+		given(taskRepository.updateIfMatches(any(), any(), any(), any())).willReturn(Optional.empty());
+		given(taskRepository.findById("task-1")).willReturn(Optional.of(current));
+
+		assertThrows(VersionMismatchException.class, () -> taskService.completeTask("task-1", "user-1", 4L));
+	}
+
+	@Test
+	void assignTasks_whenOneItemLosesRace_reportsItAndCountsOnlyApplied() {
+		Task first = stored("65f000000000000000000001", TaskStatus.PENDING);
+		Task second = stored("65f000000000000000000002", TaskStatus.PENDING);
+		given(taskRepository.findStates(anyList())).willReturn(Map.of(first.getId(), first, second.getId(), second));
+		given(taskRepository.updateAllIfVersion(anyList())).willReturn(Set.of(first.getId()));
+
+		List<BulkItemResult> results = taskService.assignTasks(List.of(new TaskAssignment(first.getId(), "user-1"),
+				new TaskAssignment(second.getId(), "user-1"), new TaskAssignment(first.getId(), "user-2")));
+
+		assertEquals(BulkItemResult.ok(0, first.getId()), results.get(0));
+		assertEquals(BulkItemResult.failed(1, second.getId(), "Task was modified concurrently; retry the item"),
+				results.get(1));
+		assertEquals(BulkItemResult.failed(2, first.getId(), "Task appears more than once in the batch"),
+				results.get(2));
+		verify(taskCounters).recordTransitions(
+				List.of(new Transition(TaskStatus.PENDING, null, TaskStatus.ASSIGNED, "user-1")));
+	}
+
+	@Test
+	void completeTasks_whenTaskMissing_reportsNotFound() {
+		Task first = stored("65f000000000000000000001", TaskStatus.ASSIGNED);
+		given(taskRepository.findStates(anyList())).willReturn(Map.of(first.getId(), first));
+		given(taskRepository.updateAllIfVersion(anyList())).willReturn(Set.of(first.getId()));
+
+		List<BulkItemResult> results = taskService.completeTasks(List.of(first.getId(), "65f000000000000000000009"));
+
+		assertEquals(BulkItemResult.ok(0, first.getId()), results.get(0));
+		assertEquals(BulkItemResult.failed(1, "65f000000000000000000009", "Task not found"), results.get(1));
+	}
+
+	private static Task created(String id, LocalDateTime createAt) {
+		Task task = task("Task " + id);
+		task.setId(id);
+		task.setCreateAt(createAt);
+		return task;
+	}
+
+	private static Task stored(String id, TaskStatus status) {
+		Task task = task("Task " + id);
+		task.setId(id);
+		task.setStatus(status);
+		task.setVersion(1L);
+		return task;
+	}
+
+	private static Task task(String title) {
+		Task task = new Task();
+		task.setTitle(title);
+		return task;
+	}
+}
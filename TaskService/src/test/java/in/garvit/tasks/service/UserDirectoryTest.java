@@ -0,0 +1,93 @@
+package in.garvit.tasks.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import feign.FeignException;
+import in.garvit.tasks.dto.UserBatchRequest;
+import in.garvit.tasks.taskModel.Task;
+import in.garvit.tasks.taskModel.UserDTO;
+
+class UserDirectoryTest {
+
+	private UserService userService;
+	private UserDirectory userDirectory;
+
+	@BeforeEach
+	void setUp() {
+		userService = mock(UserService.class);
+		userDirectory = new UserDirectory(userService);
+	}
+
+	@Test
+	void nameAssignees_resolvesEveryAssigneeWithOneCall() {
+		Task first = task("user-1");
+		Task second = task("user-2");
+		Task again = task("user-1");
+		Task unassigned = task(null);
+		given(userService.findUsersByIds(any(UserBatchRequest.class), eq("token")))
+				.willReturn(Map.of("user-1", user("user-1", "Jane Doe"), "user-2", user("user-2", "John Roe")));
+
+		userDirectory.nameAssignees(List.of(first, second, again, unassigned), "token");
+
+		assertEquals("Jane Doe", first.getAssigneeName());
+		assertEquals("John Roe", second.getAssigneeName());
+		assertEquals("Jane Doe", again.getAssigneeName());
+		assertNull(unassigned.getAssigneeName());
+		ArgumentCaptor<UserBatchRequest> request = ArgumentCaptor.forClass(UserBatchRequest.class);
+		verify(userService, times(1)).findUsersByIds(request.capture(), eq("token"));
+		assertEquals(List.of("user-1", "user-2"), request.getValue().ids());
+	}
+
+	@Test
+	void findByIds_splitsLargeListsIntoBatchesTheUserServiceAccepts() {
+		List<String> ids = new ArrayList<>(IntStream.range(0, UserDirectory.MAX_IDS_PER_CALL + 1)
+				.mapToObj(i -> "user-" + i)
+				.toList());
+		ids.addAll(Arrays.asList(null, " "));
+		given(userService.findUsersByIds(any(UserBatchRequest.class), eq("token"))).willReturn(Map.of());
+
+		userDirectory.findByIds(ids, "token");
+
+		ArgumentCaptor<UserBatchRequest> requests = ArgumentCaptor.forClass(UserBatchRequest.class);
+		verify(userService, times(2)).findUsersByIds(requests.capture(), eq("token"));
+		assertEquals(UserDirectory.MAX_IDS_PER_CALL, requests.getAllValues().get(0).ids().size());
+		assertEquals(List.of("user-" + UserDirectory.MAX_IDS_PER_CALL), requests.getAllValues().get(1).ids());
+	}
+
+	@Test
+	void nameAssignees_whenUserServiceFails_leavesNamesOut() {
+		Task task = task("user-1");
+		given(userService.findUsersByIds(any(UserBatchRequest.class), eq("token"))).willThrow(FeignException.class);
+
+		userDirectory.nameAssignees(List.of(task), "token");
+
+		assertNull(task.getAssigneeName());
+	}
+
+	private static Task task(String assignedUserId) {
+		Task task = new Task();
+		task.setAssignedUserId(assignedUserId);
+		return task;
+	}
+
+	private static UserDTO user(String id, String fullName) {
+		return new UserDTO(id, fullName, id + "@example.com", null, "ROLE_USER", null);
+	}
+}
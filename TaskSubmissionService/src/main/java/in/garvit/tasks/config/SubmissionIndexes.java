@@ -0,0 +1,87 @@
+package in.garvit.tasks.config;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import in.garvit.tasks.submissionModel.TaskSubmission;
+
+/**
+ * Builds the unique (taskId, userId) index that lets submitTask be a single insert. It is not declared on
+ * TaskSubmission because auto-index-creation would then abort startup on a database that still holds repeat
+ * submissions from before the index existed. Here those pairs are logged and the service starts without the
+ * index; a second submission is then not rejected until the duplicates are removed (see the README) and the
+ * service is restarted.
+ */
+@Component
+public class SubmissionIndexes {
+
+	private static final Logger log = LoggerFactory.getLogger(SubmissionIndexes.class);
+
+	// Same name as the old non-unique index, which is replaced once the data allows it.
+	static final String TASK_USER_INDEX = "taskId_1_userId_1";
+	private static final int DUPLICATE_SAMPLE = 5;
+
+	private final MongoTemplate mongoTemplate;
+
+	public SubmissionIndexes(MongoTemplate mongoTemplate) {
+		this.mongoTemplate = mongoTemplate;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void ensureUniqueTaskUserIndex() {
+		try {
+			IndexOperations indexOps = mongoTemplate.indexOps(TaskSubmission.class);
+			Optional<IndexInfo> existing = indexOps.getIndexInfo().stream()
+				.filter(index -> TASK_USER_INDEX.equals(index.getName()))
+				.findFirst();
+			if (existing.map(IndexInfo::isUnique).orElse(false)) {
+				return;
+			}
+			List<Document> duplicates = duplicatePairs();
+			if (!duplicates.isEmpty()) {
+				log.warn("Not creating the unique {} index: taskSubmission holds repeat submissions for the same "
+						+ "task and user, e.g. {}. Duplicate submissions are not rejected until these are removed "
+						+ "and the service is restarted",
+						TASK_USER_INDEX, duplicates);
+				return;
+			}
+			if (existing.isPresent()) {
+				indexOps.dropIndex(TASK_USER_INDEX);
+			}
+			indexOps.ensureIndex(new Index()
+				.on("taskId", Sort.Direction.ASC)
+				.on("userId", Sort.Direction.ASC)
+				.unique()
+				.named(TASK_USER_INDEX));
+			log.info("Created the unique {} index on taskSubmission", TASK_USER_INDEX);
+		} catch (RuntimeException ex) {
+			log.warn("Could not create the unique {} index; duplicate submissions are not rejected: {}", TASK_USER_INDEX,
+					ex.getMessage());
+		}
+	}
+
+	// Only runs while the unique index is missing, so the full scan is a one-off.
+	private List<Document> duplicatePairs() {
+		Aggregation aggregation = Aggregation.newAggregation(
+				Aggregation.group("taskId", "userId").count().as("count"),
+				Aggregation.match(Criteria.where("count").gt(1)),
+				Aggregation.limit(DUPLICATE_SAMPLE))
+			.withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+		return mongoTemplate.aggregate(aggregation, TaskSubmission.class, Document.class).getMappedResults();
+	}
+}
@@ -0,0 +1,33 @@
+package in.garvit.tasks.controller;
+
+// Document versions as strong entity tags; unversioned (pre-existing) documents count as version 0.
+final class ETags {
+
+    private static final String INVALID = "If-Match must be a single entity tag returned by GET";
+
+    private ETags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + (version != null ? version : 0L) + "\"";
+    }
+
+    // null when the header is absent or "*", i.e. no version precondition
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new IllegalArgumentException(INVALID);
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(INVALID);
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package in.garvit.tasks.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,13 +17,24 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import in.garvit.tasks.dto.BulkItemResult;
+import in.garvit.tasks.dto.CursorPage;
+import in.garvit.tasks.dto.ExportFormat;
+import in.garvit.tasks.dto.SubmissionReviewRequest;
 import in.garvit.tasks.dto.SubmissionStatusUpdateRequest;
 import in.garvit.tasks.dto.TaskSubmissionRequest;
 import in.garvit.tasks.dto.TaskSubmissionResponse;
+import in.garvit.tasks.service.SubmissionEventStream;
+import in.garvit.tasks.service.SubmissionExportService;
 import in.garvit.tasks.service.SubmissionService;
+import in.garvit.tasks.service.UserDirectory;
 import in.garvit.tasks.submissionModel.TaskSubmission;
+import in.garvit.tasks.submissionModel.enums.SubmissionStatus;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -26,6 +43,9 @@ import lombok.RequiredArgsConstructor;
 public class SubController {
 
     private final SubmissionService submissionService;
+    private final SubmissionExportService submissionExportService;
+    private final SubmissionEventStream submissionEventStream;
+    private final UserDirectory userDirectory;
 
     @PostMapping
     public ResponseEntity<TaskSubmissionResponse> createSubmission(
@@ -35,35 +55,104 @@ public class SubController {
         return ResponseEntity.status(HttpStatus.CREATED).body(TaskSubmissionResponse.from(created));
     }
 
+    // A matching If-None-Match is answered with 304 by Spring because of the ETag.
     @GetMapping("/{submissionId}")
     public ResponseEntity<TaskSubmissionResponse> getSubmission(@PathVariable String submissionId) {
         TaskSubmission submission = submissionService.getTaskSubmissionById(submissionId);
-        return ResponseEntity.ok(TaskSubmissionResponse.from(submission));
+        return ResponseEntity.ok()
+            .eTag(ETags.of(submission.getVersion()))
+            .body(TaskSubmissionResponse.from(submission));
     }
 
+    // Without a status filter this is the review queue: pending submissions first, newest first.
+    // Listings carry submitter names, resolved with one batch lookup per page.
     @GetMapping
-    public ResponseEntity<List<TaskSubmissionResponse>> getAllSubmissions() {
-        List<TaskSubmissionResponse> submissions = submissionService.getAllTaskSubmissions().stream()
-            .map(TaskSubmissionResponse::from)
-            .toList();
-        return ResponseEntity.ok(submissions);
+    public ResponseEntity<List<TaskSubmissionResponse>> getAllSubmissions(
+            @RequestHeader(value = "Authorization", required = false) String jwt,
+            @RequestParam(required = false) SubmissionStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(withSubmitterNames(submissionService.getAllTaskSubmissions(status, page, size), jwt));
+    }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<TaskSubmissionResponse>> scrollSubmissions(
+            @RequestHeader(value = "Authorization", required = false) String jwt,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        CursorPage<TaskSubmission> page = submissionService.scrollTaskSubmissions(cursor, size);
+        return ResponseEntity.ok(new CursorPage<>(withSubmitterNames(page.items(), jwt), page.nextCursor()));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSubmissions(
+            @RequestHeader("Authorization") String jwt,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) SubmissionStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        submissionExportService.ensureCanExport(jwt);
+        ExportFormat exportFormat = ExportFormat.from(format);
+        Query query = submissionExportService.exportQuery(status, from, to);
+        StreamingResponseBody body = out -> submissionExportService.export(query, exportFormat, out);
+        return ResponseEntity.ok()
+            .contentType(exportFormat.getMediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"submissions." + exportFormat.getExtension() + "\"")
+            .body(body);
+    }
+
+    // Server-sent events for submission changes; admins see all submissions, other users their own.
+    // EventSource cannot send headers, so the token may also come as the access_token query parameter.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSubmissions(@RequestHeader(value = "Authorization", required = false) String jwt,
+            @RequestParam(value = "access_token", required = false) String accessToken) {
+        return submissionEventStream.subscribe(jwt != null ? jwt : accessToken);
     }
 
     @GetMapping("/task/{taskId}")
-    public ResponseEntity<List<TaskSubmissionResponse>> getTaskSubmissions(@PathVariable String taskId) {
-        List<TaskSubmissionResponse> submissions = submissionService.getTaskSubmissionByTaskId(taskId).stream()
+    public ResponseEntity<List<TaskSubmissionResponse>> getTaskSubmissions(@PathVariable String taskId,
+            @RequestHeader(value = "Authorization", required = false) String jwt) {
+        return ResponseEntity.ok(withSubmitterNames(submissionService.getTaskSubmissionByTaskId(taskId), jwt));
+    }
+
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<TaskSubmissionResponse>> getUserSubmissions(
+            @PathVariable String userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        List<TaskSubmissionResponse> submissions = submissionService.getTaskSubmissionsByUserId(userId, page, size).stream()
             .map(TaskSubmissionResponse::from)
             .toList();
         return ResponseEntity.ok(submissions);
     }
 
+    // Admin only. Each item is reported on its own; approvals complete their tasks in one batched call.
+    @PutMapping("/bulk/review")
+    public ResponseEntity<List<BulkItemResult>> reviewSubmissions(
+            @RequestBody List<SubmissionReviewRequest> reviews,
+            @RequestHeader("Authorization") String jwt) {
+        return ResponseEntity.ok(submissionService.reviewSubmissions(reviews, jwt));
+    }
+
     @PutMapping("/{submissionId}")
     public ResponseEntity<TaskSubmissionResponse> updateSubmission(
             @PathVariable String submissionId,
             @RequestBody SubmissionStatusUpdateRequest updateRequest,
-            @RequestHeader("Authorization") String jwt) {
-        TaskSubmission updated = submissionService.updateSubmission(submissionId, updateRequest, jwt);
-        return ResponseEntity.ok(TaskSubmissionResponse.from(updated));
+            @RequestHeader("Authorization") String jwt,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TaskSubmission updated = submissionService.updateSubmission(submissionId, updateRequest, jwt,
+            ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+            .eTag(ETags.of(updated.getVersion()))
+            .body(TaskSubmissionResponse.from(updated));
+    }
+
+    private List<TaskSubmissionResponse> withSubmitterNames(List<TaskSubmission> submissions, String jwt) {
+        Map<String, String> names = userDirectory.namesOf(submissions.stream().map(TaskSubmission::getUserId).toList(), jwt);
+        return submissions.stream()
+            .map(submission -> TaskSubmissionResponse.from(submission, names.get(submission.getUserId())))
+            .toList();
     }
 }
 
@@ -0,0 +1,13 @@
+package in.garvit.tasks.dto;
+
+// Outcome of one item of a bulk request, reported in request order.
+public record BulkItemResult(int index, String id, boolean success, String error) {
+
+	public static BulkItemResult ok(int index, String id) {
+		return new BulkItemResult(index, id, true, null);
+	}
+
+	public static BulkItemResult failed(int index, String id, String error) {
+		return new BulkItemResult(index, id, false, error);
+	}
+}
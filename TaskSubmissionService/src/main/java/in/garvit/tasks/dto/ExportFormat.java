@@ -0,0 +1,36 @@
+package in.garvit.tasks.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import org.springframework.http.MediaType;
+
+public enum ExportFormat {
+
+	NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+	CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+	private final MediaType mediaType;
+	private final String extension;
+
+	ExportFormat(MediaType mediaType, String extension) {
+		this.mediaType = mediaType;
+		this.extension = extension;
+	}
+
+	public MediaType getMediaType() {
+		return mediaType;
+	}
+
+	public String getExtension() {
+		return extension;
+	}
+
+	public static ExportFormat from(String raw) {
+		try {
+			return valueOf(raw.trim().toUpperCase(Locale.ROOT));
+		} catch (RuntimeException ex) {
+			throw new IllegalArgumentException("Unsupported export format: " + raw);
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package in.garvit.tasks.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Position of the last item of a keyset page, handed to clients as an opaque URL-safe token.
+ * A null timestamp is encoded as an empty string, so documents without one can still be paged.
+ */
+public record PageCursor(LocalDateTime timestamp, String id) {
+
+	private static final String SEPARATOR = "|";
+
+	public PageCursor {
+		Objects.requireNonNull(id, "Cursor id must not be null");
+	}
+
+	public String encode() {
+		String raw = (timestamp != null ? timestamp.toString() : "") + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static PageCursor decode(String token) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int separator = raw.lastIndexOf(SEPARATOR);
+			if (separator < 0 || separator == raw.length() - 1) {
+				throw new IllegalArgumentException("Invalid cursor");
+			}
+			LocalDateTime timestamp = separator == 0 ? null : LocalDateTime.parse(raw.substring(0, separator));
+			return new PageCursor(timestamp, raw.substring(separator + 1));
+		} catch (DateTimeParseException ex) {
+			throw new IllegalArgumentException("Invalid cursor", ex);
+		}
+	}
+}
@@ -0,0 +1,11 @@
+package in.garvit.tasks.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+// One item of a bulk review; version plays the role of If-Match and may be omitted.
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SubmissionReviewRequest(
+		String submissionId,
+		String status,
+		Long version) {
+}
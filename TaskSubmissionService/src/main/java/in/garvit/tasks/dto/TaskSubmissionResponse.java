@@ -2,6 +2,7 @@ package in.garvit.tasks.dto;
 
 import java.time.LocalDateTime;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import in.garvit.tasks.submissionModel.TaskSubmission;
@@ -13,9 +14,15 @@ public record TaskSubmissionResponse(
 		String status,
 		String content,
 		@JsonProperty("createdAt") LocalDateTime submittedAt,
-		@JsonProperty("updatedAt") LocalDateTime updatedAt) {
+		@JsonProperty("updatedAt") LocalDateTime updatedAt,
+		@JsonInclude(JsonInclude.Include.NON_NULL) String submitterName) {
 
 	public static TaskSubmissionResponse from(TaskSubmission submission) {
+		return from(submission, null);
+	}
+
+	// The submitter's full name is only known to listings that looked it up
+	public static TaskSubmissionResponse from(TaskSubmission submission, String submitterName) {
 		return new TaskSubmissionResponse(
 				submission.getId(),
 				submission.getTaskId(),
@@ -23,6 +30,7 @@ public record TaskSubmissionResponse(
 				submission.getStatus().name().toLowerCase(),
 				submission.getContent(),
 				submission.getSubmittedAt(),
-				submission.getUpdatedAt());
+				submission.getUpdatedAt(),
+				submitterName);
 	}
 }
@@ -0,0 +1,7 @@
+package in.garvit.tasks.dto;
+
+import java.util.List;
+
+public record UserBatchRequest(
+		List<String> ids) {
+}
@@ -0,0 +1,11 @@
+package in.garvit.tasks.exception;
+
+public class InvalidTokenException extends RuntimeException {
+	public InvalidTokenException(String message) {
+		super(message);
+	}
+
+	public InvalidTokenException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
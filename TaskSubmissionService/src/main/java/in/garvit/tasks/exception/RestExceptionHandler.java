@@ -24,11 +24,26 @@ public class RestExceptionHandler {
 		return buildResponse(HttpStatus.CONFLICT, ex.getMessage());
 	}
 
+	@ExceptionHandler(VersionMismatchException.class)
+	public ResponseEntity<ErrorResponse> handleVersionMismatch(VersionMismatchException ex) {
+		return buildResponse(HttpStatus.PRECONDITION_FAILED, ex.getMessage());
+	}
+
 	@ExceptionHandler(InvalidSubmissionStatusException.class)
 	public ResponseEntity<ErrorResponse> handleInvalidStatus(InvalidSubmissionStatusException ex) {
 		return buildResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
 	}
 
+	@ExceptionHandler(InvalidTokenException.class)
+	public ResponseEntity<ErrorResponse> handleInvalidToken(InvalidTokenException ex) {
+		return buildResponse(HttpStatus.UNAUTHORIZED, ex.getMessage());
+	}
+
+	@ExceptionHandler(UnauthorizedSubmissionActionException.class)
+	public ResponseEntity<ErrorResponse> handleForbidden(UnauthorizedSubmissionActionException ex) {
+		return buildResponse(HttpStatus.FORBIDDEN, ex.getMessage());
+	}
+
 	@ExceptionHandler(IllegalArgumentException.class)
 	public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
 		return buildResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
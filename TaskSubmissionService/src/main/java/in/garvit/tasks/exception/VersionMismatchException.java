@@ -0,0 +1,7 @@
+package in.garvit.tasks.exception;
+
+public class VersionMismatchException extends RuntimeException {
+	public VersionMismatchException(String message) {
+		super(message);
+	}
+}
@@ -1,17 +1,30 @@
 package in.garvit.tasks.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import in.garvit.tasks.submissionModel.TaskSubmission;
+import in.garvit.tasks.submissionModel.enums.SubmissionStatus;
 
 @Repository
-public interface SubRepository extends MongoRepository<TaskSubmission, String> {
+public interface SubRepository extends MongoRepository<TaskSubmission, String>, SubRepositoryCustom {
 
 	List<TaskSubmission> findByTaskIdOrderBySubmittedAtDesc(String taskId);
 
-	Optional<TaskSubmission> findByTaskIdAndUserId(String taskId, String userId);
+	List<TaskSubmission> findAllBy(Pageable pageable);
+
+	// Served by the status_submittedAt_id index.
+	List<TaskSubmission> findByStatus(SubmissionStatus status, Pageable pageable);
+
+	List<TaskSubmission> findByUserId(String userId, Pageable pageable);
+
+	// Keyset seek on (submittedAt, _id) descending; served by the submittedAt_id index.
+	@Query("{ '$or': [ { 'submittedAt': { '$lt': ?0 } }, { 'submittedAt': ?0, '_id': { '$lt': ?1 } } ] }")
+	List<TaskSubmission> findPageBefore(LocalDateTime submittedAt, ObjectId id, Pageable pageable);
 }
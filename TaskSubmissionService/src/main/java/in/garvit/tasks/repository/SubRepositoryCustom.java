@@ -0,0 +1,42 @@
+package in.garvit.tasks.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.data.mongodb.core.query.Update;
+
+import in.garvit.tasks.submissionModel.TaskSubmission;
+
+public interface SubRepositoryCustom {
+
+	/**
+	 * Review queue order: every PENDING submission first, then the rest, each newest first.
+	 * Both segments are range scans on the status_submittedAt_id index.
+	 */
+	List<TaskSubmission> findReviewQueue(long offset, int limit);
+
+	// Compare-and-set: applies the update and bumps the version only if it is still expectedVersion.
+	Optional<TaskSubmission> updateIfVersion(String id, long expectedVersion, Update update);
+
+	// Batched updateIfVersion: one unordered bulkWrite; returns the ids whose update was applied by this call.
+	// Each call stamps its writes with a unique token, so a partial result is read back by token, not by version.
+	Set<String> updateAllIfVersion(List<VersionedUpdate> updates);
+
+	// Leases the oldest due task-completion outbox entry until leaseUntil, counts the attempt and
+	// stamps it with a new claim token.
+	Optional<TaskSubmission> claimDueTaskCompletion(LocalDateTime now, LocalDateTime leaseUntil);
+
+	// Both only act if the entry still carries the caller's claim token, i.e. nobody re-claimed it meanwhile.
+	void clearTaskCompletion(String id, String claimToken);
+
+	// Batched clearTaskCompletion for entries that were all written with the same claim token.
+	void clearTaskCompletions(Collection<String> ids, String claimToken);
+
+	void rescheduleTaskCompletion(String id, String claimToken, LocalDateTime nextAttemptAt, String lastError);
+
+	record VersionedUpdate(String id, long expectedVersion, Update update) {
+	}
+}
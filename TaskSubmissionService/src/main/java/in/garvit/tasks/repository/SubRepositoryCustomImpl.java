@@ -0,0 +1,156 @@
+package in.garvit.tasks.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.mongodb.bulk.BulkWriteResult;
+import in.garvit.tasks.submissionModel.TaskSubmission;
+import in.garvit.tasks.submissionModel.enums.SubmissionStatus;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class SubRepositoryCustomImpl implements SubRepositoryCustom {
+
+	private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "submittedAt", "id");
+
+	// An $in over the index prefix is merged in sort order by MongoDB; $ne would force an in-memory sort.
+	private static final Set<SubmissionStatus> REVIEWED = EnumSet.complementOf(EnumSet.of(SubmissionStatus.PENDING));
+
+	// Not mapped on TaskSubmission: only written and matched by updateAllIfVersion.
+	private static final String BULK_WRITE_TOKEN = "bulkWriteToken";
+
+	private static final String OUTBOX = "taskCompletionOutbox";
+	private static final String OUTBOX_NEXT_ATTEMPT = OUTBOX + ".nextAttemptAt";
+	private static final String OUTBOX_ATTEMPTS = OUTBOX + ".attempts";
+	private static final String OUTBOX_CLAIM_TOKEN = OUTBOX + ".claimToken";
+
+	private final MongoTemplate mongoTemplate;
+
+	@Override
+	public List<TaskSubmission> findReviewQueue(long offset, int limit) {
+		long pending = mongoTemplate.count(
+				Query.query(Criteria.where("status").is(SubmissionStatus.PENDING)), TaskSubmission.class);
+
+		List<TaskSubmission> page = new ArrayList<>(limit);
+		if (offset < pending) {
+			page.addAll(mongoTemplate.find(
+					Query.query(Criteria.where("status").is(SubmissionStatus.PENDING))
+						.with(NEWEST_FIRST)
+						.skip(offset)
+						.limit(limit),
+					TaskSubmission.class));
+		}
+		if (page.size() < limit) {
+			page.addAll(mongoTemplate.find(
+					Query.query(Criteria.where("status").in(REVIEWED))
+						.with(NEWEST_FIRST)
+						.skip(Math.max(0, offset - pending))
+						.limit(limit - page.size()),
+					TaskSubmission.class));
+		}
+		return page;
+	}
+
+	@Override
+	public Optional<TaskSubmission> updateIfVersion(String id, long expectedVersion, Update update) {
+		return Optional.ofNullable(mongoTemplate.findAndModify(versionMatch(id, expectedVersion), update.inc("version", 1),
+				FindAndModifyOptions.options().returnNew(true), TaskSubmission.class));
+	}
+
+	@Override
+	public Set<String> updateAllIfVersion(List<VersionedUpdate> updates) {
+		if (updates.isEmpty()) {
+			return Set.of();
+		}
+		// Tags every document this call writes, so the read-back below cannot mistake a concurrent
+		// single update that also reached expectedVersion + 1 for one of ours.
+		String token = UUID.randomUUID().toString();
+		BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TaskSubmission.class);
+		for (VersionedUpdate item : updates) {
+			ops.updateOne(versionMatch(item.id(), item.expectedVersion()),
+					item.update().set(BULK_WRITE_TOKEN, token).inc("version", 1));
+		}
+		BulkWriteResult result = ops.execute();
+
+		Set<String> applied = new HashSet<>();
+		if (result.getMatchedCount() == updates.size()) {
+			updates.forEach(item -> applied.add(item.id()));
+			return applied;
+		}
+		// The bulk result only carries counts; read back which documents carry this call's token.
+		Query query = Query.query(Criteria.where("id").in(updates.stream().map(VersionedUpdate::id).toList())
+			.and(BULK_WRITE_TOKEN).is(token));
+		query.fields().include("id");
+		mongoTemplate.find(query, TaskSubmission.class).forEach(submission -> applied.add(submission.getId()));
+		return applied;
+	}
+
+	@Override
+	public Optional<TaskSubmission> claimDueTaskCompletion(LocalDateTime now, LocalDateTime leaseUntil) {
+		Query query = Query.query(Criteria.where(OUTBOX_NEXT_ATTEMPT).lte(now))
+			.with(Sort.by(Sort.Direction.ASC, OUTBOX_NEXT_ATTEMPT));
+		Update update = outboxUpdate()
+			.set(OUTBOX_NEXT_ATTEMPT, leaseUntil)
+			.set(OUTBOX_CLAIM_TOKEN, UUID.randomUUID().toString())
+			.inc(OUTBOX_ATTEMPTS, 1);
+		return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+				FindAndModifyOptions.options().returnNew(true), TaskSubmission.class));
+	}
+
+	@Override
+	public void clearTaskCompletion(String id, String claimToken) {
+		mongoTemplate.updateFirst(claimedEntry(id, claimToken), outboxUpdate().unset(OUTBOX), TaskSubmission.class);
+	}
+
+	@Override
+	public void clearTaskCompletions(Collection<String> ids, String claimToken) {
+		if (ids.isEmpty()) {
+			return;
+		}
+		Query query = Query.query(Criteria.where("id").in(ids).and(OUTBOX_CLAIM_TOKEN).is(claimToken));
+		mongoTemplate.updateMulti(query, outboxUpdate().unset(OUTBOX), TaskSubmission.class);
+	}
+
+	@Override
+	public void rescheduleTaskCompletion(String id, String claimToken, LocalDateTime nextAttemptAt, String lastError) {
+		Update update = outboxUpdate()
+			.set(OUTBOX_NEXT_ATTEMPT, nextAttemptAt)
+			.set(OUTBOX + ".lastError", lastError);
+		mongoTemplate.updateFirst(claimedEntry(id, claimToken), update, TaskSubmission.class);
+	}
+
+	private static Query versionMatch(String id, long expectedVersion) {
+		// Submissions stored before versioning have no version field and count as version 0
+		Criteria version = expectedVersion == 0
+				? Criteria.where("version").in(0L, null)
+				: Criteria.where("version").is(expectedVersion);
+		return Query.query(Criteria.where("id").is(id)).addCriteria(version);
+	}
+
+	// Attempts are not unique per claim: the poller's first claim and an entry written already claimed
+	// both sit at attempt 1, so only the token tells the two claims apart.
+	private static Query claimedEntry(String id, String claimToken) {
+		return Query.query(Criteria.where("id").is(id).and(OUTBOX_CLAIM_TOKEN).is(claimToken));
+	}
+
+	// Outbox bookkeeping is not a change to the submission, so it must not move the version (ETag).
+	// Spring Data only adds its own version increment when the update does not touch the field already.
+	private static Update outboxUpdate() {
+		return new Update().inc("version", 0);
+	}
+}
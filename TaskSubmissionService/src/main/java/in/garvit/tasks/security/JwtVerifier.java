@@ -0,0 +1,73 @@
+package in.garvit.tasks.security;
+
+import java.nio.charset.StandardCharsets;
+
+import javax.crypto.SecretKey;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import in.garvit.tasks.exception.InvalidTokenException;
+import in.garvit.tasks.service.UserProfileCache;
+import in.garvit.tasks.submissionModel.UserDTO;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Authenticates callers locally with the JWT secret shared with USER-SERVICE. Tokens issued
+ * before the {@code userId}/{@code role} claims existed still go through the remote profile lookup.
+ */
+@Component
+public class JwtVerifier {
+
+	private static final Logger log = LoggerFactory.getLogger(JwtVerifier.class);
+
+	private static final String BEARER_PREFIX = "Bearer ";
+	private static final String EMAIL_CLAIM = "email";
+	private static final String USER_ID_CLAIM = "userId";
+	private static final String ROLE_CLAIM = "role";
+
+	private final JwtParser parser;
+	private final UserProfileCache userProfileCache;
+
+	public JwtVerifier(@Value("${task.jwt.secret}") String secret, UserProfileCache userProfileCache) {
+		if (secret == null || secret.isBlank() || secret.length() < 32) {
+			throw new IllegalStateException("task.jwt.secret must be at least 32 characters long");
+		}
+		SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+		this.parser = Jwts.parser().verifyWith(key).build();
+		this.userProfileCache = userProfileCache;
+	}
+
+	public UserDTO verify(String jwt) {
+		Claims claims = parseClaims(resolveToken(jwt));
+		String userId = claims.get(USER_ID_CLAIM, String.class);
+		String role = claims.get(ROLE_CLAIM, String.class);
+		if (userId == null || userId.isBlank() || role == null || role.isBlank()) {
+			log.debug("Token has no identity claims, resolving profile through USER-SERVICE");
+			return userProfileCache.getUserProfile(jwt, claims.getExpiration());
+		}
+		return new UserDTO(userId, null, claims.get(EMAIL_CLAIM, String.class), role, null);
+	}
+
+	private String resolveToken(String jwt) {
+		if (jwt == null || jwt.isBlank()) {
+			throw new InvalidTokenException("Missing JWT token");
+		}
+		return jwt.startsWith(BEARER_PREFIX) ? jwt.substring(BEARER_PREFIX.length()) : jwt;
+	}
+
+	private Claims parseClaims(String token) {
+		try {
+			return parser.parseSignedClaims(token).getPayload();
+		} catch (JwtException | IllegalArgumentException ex) {
+			log.debug("Failed to verify JWT token", ex);
+			throw new InvalidTokenException("Invalid JWT token", ex);
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package in.garvit.tasks.security;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import javax.crypto.SecretKey;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Mints short-lived administrator tokens, signed with the shared JWT secret, for background jobs
+ * that call TASK-SERVICE with no user request in flight. A token is reused until half its lifetime
+ * has passed.
+ */
+@Component
+public class ServiceTokenIssuer {
+
+	static final String SERVICE_USER_ID = "service:task-submission";
+
+	private final SecretKey key;
+	private final Duration ttl;
+	private volatile IssuedToken current;
+
+	public ServiceTokenIssuer(@Value("${task.jwt.secret}") String secret,
+			@Value("${task.outbox.service-token-ttl:5m}") Duration ttl) {
+		if (secret == null || secret.isBlank() || secret.length() < 32) {
+			throw new IllegalStateException("task.jwt.secret must be at least 32 characters long");
+		}
+		this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+		this.ttl = ttl;
+	}
+
+	public String bearerToken() {
+		Instant now = Instant.now();
+		IssuedToken token = current;
+		if (token == null || now.isAfter(token.renewAfter())) {
+			String jwt = Jwts.builder()
+				.subject(SERVICE_USER_ID)
+				.claim("userId", SERVICE_USER_ID)
+				.claim("role", "ROLE_ADMIN")
+				.issuedAt(Date.from(now))
+				.expiration(Date.from(now.plus(ttl)))
+				.signWith(key)
+				.compact();
+			token = new IssuedToken("Bearer " + jwt, now.plus(ttl.dividedBy(2)));
+			current = token;
+		}
+		return token.value();
+	}
+
+	private record IssuedToken(String value, Instant renewAfter) {
+	}
+}
@@ -1,22 +1,42 @@
 package in.garvit.tasks.service;
 
-import java.util.Comparator;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
+import org.bson.types.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import feign.FeignException;
+import in.garvit.tasks.dto.BulkItemResult;
+import in.garvit.tasks.dto.CursorPage;
+import in.garvit.tasks.dto.PageCursor;
+import in.garvit.tasks.dto.SubmissionReviewRequest;
 import in.garvit.tasks.dto.SubmissionStatusUpdateRequest;
 import in.garvit.tasks.dto.TaskSubmissionRequest;
 import in.garvit.tasks.exception.DuplicateSubmissionException;
 import in.garvit.tasks.exception.InvalidSubmissionStatusException;
 import in.garvit.tasks.exception.ResourceNotFoundException;
 import in.garvit.tasks.exception.UnauthorizedSubmissionActionException;
+import in.garvit.tasks.exception.VersionMismatchException;
 import in.garvit.tasks.repository.SubRepository;
+import in.garvit.tasks.repository.SubRepositoryCustom.VersionedUpdate;
+import in.garvit.tasks.security.JwtVerifier;
+import in.garvit.tasks.submissionModel.TaskCompletionOutbox;
 import in.garvit.tasks.submissionModel.TaskDTO;
 import in.garvit.tasks.submissionModel.TaskSubmission;
 import in.garvit.tasks.submissionModel.UserDTO;
@@ -29,10 +49,15 @@ import lombok.RequiredArgsConstructor;
 public class SubServiceImp implements SubmissionService {
 
 	private static final Logger log = LoggerFactory.getLogger(SubServiceImp.class);
+	private static final int MAX_PAGE_SIZE = 200;
+	private static final int MAX_BULK_SIZE = 1000;
+	private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "submittedAt", "id");
+	private static final String TASK_COMPLETION_OUTBOX = "taskCompletionOutbox";
 
 	private final SubRepository subRepository;
 	private final TaskService taskService;
-	private final UserService userService;
+	private final JwtVerifier jwtVerifier;
+	private final TaskCompletionRelay taskCompletionRelay;
 
 	@Override
 	@SuppressWarnings("null")
@@ -40,7 +65,7 @@ public class SubServiceImp implements SubmissionService {
 		Objects.requireNonNull(request, "Request payload must not be null");
 		Objects.requireNonNull(jwt, "Authorization token must not be null");
 		validateSubmissionRequest(request);
-		UserDTO requester = userService.getUserProfileHandler(jwt);
+		UserDTO requester = jwtVerifier.verify(jwt);
 		TaskDTO task = fetchTask(request.taskId(), jwt);
 
 		if (task.getAssignedUserId() != null && !task.getAssignedUserId().equals(requester.getId())) {
@@ -51,11 +76,6 @@ public class SubServiceImp implements SubmissionService {
 			throw new InvalidSubmissionStatusException("Task is already completed; submissions are closed");
 		}
 
-		subRepository.findByTaskIdAndUserId(request.taskId(), requester.getId())
-			.ifPresent(existing -> {
-				throw new DuplicateSubmissionException("A submission already exists for this task and user");
-			});
-
 		TaskSubmission submission = TaskSubmission.builder()
 				.taskId(request.taskId())
 				.userId(requester.getId())
@@ -63,7 +83,13 @@ public class SubServiceImp implements SubmissionService {
 				.build();
 
 		log.info("Creating submission for task {} by user {}", request.taskId(), requester.getId());
-		TaskSubmission saved = subRepository.save(submission);
+		TaskSubmission saved;
+		try {
+			// Plain insert: the unique (taskId, userId) index rejects a second submission atomically.
+			saved = subRepository.insert(submission);
+		} catch (DuplicateKeyException ex) {
+			throw new DuplicateSubmissionException("A submission already exists for this task and user");
+		}
 		return Objects.requireNonNull(saved, "Submission persistence returned null");
 	}
 
@@ -76,10 +102,32 @@ public class SubServiceImp implements SubmissionService {
 	}
 
 	@Override
-	public List<TaskSubmission> getAllTaskSubmissions() {
-		return subRepository.findAll().stream()
-			.sorted(Comparator.comparing(TaskSubmission::getSubmittedAt).reversed())
-			.toList();
+	public List<TaskSubmission> getAllTaskSubmissions(SubmissionStatus status, int page, int size) {
+		validatePage(page, size);
+		if (status == null) {
+			return subRepository.findReviewQueue((long) page * size, size);
+		}
+		return subRepository.findByStatus(status, PageRequest.of(page, size, NEWEST_FIRST));
+	}
+
+	@Override
+	public CursorPage<TaskSubmission> scrollTaskSubmissions(String cursor, int size) {
+		validatePageSize(size);
+		Pageable pageable = PageRequest.of(0, size + 1, NEWEST_FIRST);
+		List<TaskSubmission> submissions;
+		if (cursor != null && !cursor.isBlank()) {
+			PageCursor position = PageCursor.decode(cursor);
+			submissions = subRepository.findPageBefore(position.timestamp(), new ObjectId(position.id()), pageable);
+		} else {
+			submissions = subRepository.findAllBy(pageable);
+		}
+
+		if (submissions.size() <= size) {
+			return new CursorPage<>(submissions, null);
+		}
+		List<TaskSubmission> page = submissions.subList(0, size);
+		TaskSubmission last = page.get(size - 1);
+		return new CursorPage<>(page, new PageCursor(last.getSubmittedAt(), last.getId()).encode());
 	}
 
 	@Override
@@ -87,15 +135,23 @@ public class SubServiceImp implements SubmissionService {
 		return subRepository.findByTaskIdOrderBySubmittedAtDesc(taskId);
 	}
 
+	@Override
+	public List<TaskSubmission> getTaskSubmissionsByUserId(String userId, int page, int size) {
+		Objects.requireNonNull(userId, "User id must not be null");
+		validatePage(page, size);
+		return subRepository.findByUserId(userId, PageRequest.of(page, size, NEWEST_FIRST));
+	}
+
 	@Override
 	public TaskSubmission updateSubmission(String submissionId,
 			SubmissionStatusUpdateRequest updateRequest,
-			String jwt) {
+			String jwt,
+			Long expectedVersion) {
 		Objects.requireNonNull(updateRequest, "Update request must not be null");
 		Objects.requireNonNull(jwt, "Authorization token must not be null");
 		validateStatusUpdate(updateRequest);
 		TaskSubmission submission = getTaskSubmissionById(submissionId);
-		UserDTO requester = userService.getUserProfileHandler(jwt);
+		UserDTO requester = jwtVerifier.verify(jwt);
 		SubmissionStatus newStatus = parseStatus(updateRequest.status());
 
 		boolean isOwner = submission.getUserId().equals(requester.getId());
@@ -109,19 +165,120 @@ public class SubServiceImp implements SubmissionService {
 			throw new UnauthorizedSubmissionActionException("Only administrators can approve or reject submissions");
 		}
 
+		long readVersion = submission.currentVersion();
+		if (expectedVersion != null && expectedVersion != readVersion) {
+			throw versionMismatch(submissionId, readVersion);
+		}
+
 		if (updateRequest.content() != null && !updateRequest.content().isBlank()) {
 			submission.refreshContent(updateRequest.content().trim());
 		}
 
 		submission.markStatus(newStatus);
 
-		TaskSubmission saved = subRepository.save(submission);
-
+		// Conditional on the version read above, so a concurrent review is never silently overwritten.
+		Update update = new Update()
+			.set("status", submission.getStatus())
+			.set("content", submission.getContent())
+			.set("updatedAt", submission.getUpdatedAt());
 		if (newStatus == SubmissionStatus.APPROVED) {
-			completeTask(submission.getTaskId(), jwt);
+			// Outbox entry in the same document write; TaskCompletionRelay completes the task asynchronously.
+			update.set(TASK_COMPLETION_OUTBOX, TaskCompletionOutbox.builder()
+				.taskId(submission.getTaskId())
+				.nextAttemptAt(LocalDateTime.now())
+				.build());
+		} else {
+			// Withdraws a completion still waiting from an earlier approval
+			update.unset(TASK_COMPLETION_OUTBOX);
 		}
+		return subRepository.updateIfVersion(submissionId, readVersion, update)
+			.orElseThrow(() -> versionMismatch(submissionId, readVersion));
+	}
 
-		return saved;
+	@Override
+	public List<BulkItemResult> reviewSubmissions(List<SubmissionReviewRequest> reviews, String jwt) {
+		Objects.requireNonNull(jwt, "Authorization token must not be null");
+		if (reviews == null || reviews.isEmpty() || reviews.size() > MAX_BULK_SIZE) {
+			throw new IllegalArgumentException("A bulk review must contain between 1 and " + MAX_BULK_SIZE + " items");
+		}
+		UserDTO requester = jwtVerifier.verify(jwt);
+		if (requester.getRole() == null || !requester.getRole().equalsIgnoreCase("ROLE_ADMIN")) {
+			throw new UnauthorizedSubmissionActionException("Only administrators can approve or reject submissions");
+		}
+
+		Map<String, TaskSubmission> submissions = new HashMap<>();
+		subRepository.findAllById(reviews.stream()
+				.map(review -> review == null ? null : review.submissionId())
+				.filter(Objects::nonNull)
+				.distinct()
+				.toList())
+			.forEach(submission -> submissions.put(submission.getId(), submission));
+
+		BulkItemResult[] results = new BulkItemResult[reviews.size()];
+		Map<Integer, VersionedUpdate> writes = new LinkedHashMap<>();
+		String claimToken = taskCompletionRelay.newClaimToken();
+		Set<String> seen = new HashSet<>();
+		for (int i = 0; i < reviews.size(); i++) {
+			SubmissionReviewRequest review = reviews.get(i);
+			String id = review == null ? null : review.submissionId();
+			TaskSubmission submission = id == null ? null : submissions.get(id);
+			if (submission == null) {
+				results[i] = BulkItemResult.failed(i, id, "Submission not found");
+				continue;
+			}
+			if (!seen.add(id)) {
+				results[i] = BulkItemResult.failed(i, id, "Submission appears more than once in the batch");
+				continue;
+			}
+			SubmissionStatus newStatus;
+			try {
+				newStatus = parseStatus(review.status());
+			} catch (InvalidSubmissionStatusException ex) {
+				results[i] = BulkItemResult.failed(i, id, ex.getMessage());
+				continue;
+			}
+			long readVersion = submission.currentVersion();
+			if (review.version() != null && review.version() != readVersion) {
+				results[i] = BulkItemResult.failed(i, id, versionMismatch(id, readVersion).getMessage());
+				continue;
+			}
+
+			submission.markStatus(newStatus);
+			Update update = new Update()
+				.set("status", submission.getStatus())
+				.set("updatedAt", submission.getUpdatedAt());
+			if (newStatus == SubmissionStatus.APPROVED) {
+				update.set(TASK_COMPLETION_OUTBOX, taskCompletionRelay.claimedEntry(submission.getTaskId(), claimToken));
+			} else {
+				update.unset(TASK_COMPLETION_OUTBOX);
+			}
+			writes.put(i, new VersionedUpdate(id, readVersion, update));
+		}
+
+		Set<String> applied = subRepository.updateAllIfVersion(List.copyOf(writes.values()));
+		Map<String, String> approvedTasks = new LinkedHashMap<>();
+		writes.forEach((index, write) -> {
+			if (!applied.contains(write.id())) {
+				results[index] = BulkItemResult.failed(index, write.id(),
+						versionMismatch(write.id(), write.expectedVersion()).getMessage());
+				return;
+			}
+			results[index] = BulkItemResult.ok(index, write.id());
+			TaskSubmission submission = submissions.get(write.id());
+			if (submission.getStatus() == SubmissionStatus.APPROVED) {
+				approvedTasks.put(write.id(), submission.getTaskId());
+			}
+		});
+
+		log.info("Bulk review by {}: {} of {} submissions updated, {} approved", requester.getId(), applied.size(),
+				reviews.size(), approvedTasks.size());
+		taskCompletionRelay.dispatchClaimed(approvedTasks, claimToken);
+		return Arrays.asList(results);
+	}
+
+	private VersionMismatchException versionMismatch(String submissionId, long staleVersion) {
+		return new VersionMismatchException(
+				"Submission " + submissionId + " has been modified since version " + staleVersion);
 	}
 
 	private SubmissionStatus parseStatus(String raw) {
@@ -143,14 +300,6 @@ public class SubServiceImp implements SubmissionService {
 		}
 	}
 
-	private void completeTask(String taskId, String jwt) {
-		try {
-			taskService.completeTask(taskId, jwt);
-		} catch (FeignException ex) {
-			log.warn("Failed to mark task {} as complete after submission approval: {}", taskId, ex.getMessage());
-		}
-	}
-
 	private void validateSubmissionRequest(TaskSubmissionRequest request) {
 		if (request.taskId() == null || request.taskId().isBlank()) {
 			throw new IllegalArgumentException("taskId is required");
@@ -160,6 +309,19 @@ public class SubServiceImp implements SubmissionService {
 		}
 	}
 
+	private void validatePage(int page, int size) {
+		if (page < 0) {
+			throw new IllegalArgumentException("page must not be negative");
+		}
+		validatePageSize(size);
+	}
+
+	private void validatePageSize(int size) {
+		if (size < 1 || size > MAX_PAGE_SIZE) {
+			throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+		}
+	}
+
 	private void validateStatusUpdate(SubmissionStatusUpdateRequest updateRequest) {
 		if (updateRequest.status() == null || updateRequest.status().isBlank()) {
 			throw new IllegalArgumentException("status is required");
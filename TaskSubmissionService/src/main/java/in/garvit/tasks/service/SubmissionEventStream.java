@@ -0,0 +1,235 @@
+package in.garvit.tasks.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.FullDocumentBeforeChange;
+import com.mongodb.client.model.changestream.OperationType;
+import in.garvit.tasks.dto.TaskSubmissionResponse;
+import in.garvit.tasks.security.JwtVerifier;
+import in.garvit.tasks.submissionModel.TaskSubmission;
+import in.garvit.tasks.submissionModel.UserDTO;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes submission inserts, updates and deletes to connected clients as server-sent events. One
+ * MongoDB change stream per instance is fanned out to every subscriber, so open browser tabs do not
+ * add database load. Admins see every submission, other users only their own. Needs MongoDB to run as
+ * a replica set; set task.stream.enabled=false on a standalone server.
+ *
+ * Deletes only reach admins and the submission's owner, read from the change stream pre-images that
+ * start() enables (MongoDB 6.0+); without them deletes go to admins only. Events are written from the
+ * application task executor in order per client, so a slow client holds up neither the others nor the
+ * change stream, and one more than MAX_PENDING_EVENTS behind is disconnected.
+ */
+@Component
+public class SubmissionEventStream {
+
+	private static final Logger log = LoggerFactory.getLogger(SubmissionEventStream.class);
+
+	private static final int MAX_PENDING_EVENTS = 1000;
+
+	private final MongoTemplate mongoTemplate;
+	private final JwtVerifier jwtVerifier;
+	private final Executor senders;
+	private final boolean enabled;
+	private final Duration timeout;
+	private final Map<SseEmitter, Subscriber> subscribers = new ConcurrentHashMap<>();
+	private MessageListenerContainer container;
+
+	public SubmissionEventStream(MongoTemplate mongoTemplate,
+			JwtVerifier jwtVerifier,
+			@Qualifier("applicationTaskExecutor") Executor senders,
+			@Value("${task.stream.enabled:true}") boolean enabled,
+			@Value("${task.stream.timeout:30m}") Duration timeout) {
+		this.mongoTemplate = mongoTemplate;
+		this.jwtVerifier = jwtVerifier;
+		this.senders = senders;
+		this.enabled = enabled;
+		this.timeout = timeout;
+	}
+
+	// Emits "submission" events with the submission and "submission-deleted" events with only the id.
+	public SseEmitter subscribe(String jwt) {
+		return subscribe(jwtVerifier.verify(jwt), new SseEmitter(timeout.toMillis()));
+	}
+
+	SseEmitter subscribe(UserDTO user, SseEmitter emitter) {
+		subscribers.put(emitter, new Subscriber(emitter, user.getId(), "ROLE_ADMIN".equalsIgnoreCase(user.getRole())));
+		emitter.onCompletion(() -> subscribers.remove(emitter));
+		emitter.onTimeout(() -> subscribers.remove(emitter));
+		emitter.onError(error -> subscribers.remove(emitter));
+		return emitter;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		if (!enabled) {
+			log.info("Submission change stream is disabled");
+			return;
+		}
+		String collection = mongoTemplate.getCollectionName(TaskSubmission.class);
+		enablePreImages(collection);
+		ChangeStreamRequest<TaskSubmission> request = ChangeStreamRequest.<TaskSubmission>builder(this::onChange)
+			.collection(collection)
+			.fullDocumentLookup(FullDocument.UPDATE_LOOKUP)
+			.fullDocumentBeforeChangeLookup(FullDocumentBeforeChange.WHEN_AVAILABLE)
+			.build();
+		container = new DefaultMessageListenerContainer(mongoTemplate);
+		container.register(request, TaskSubmission.class,
+				error -> log.warn("Submission change stream failed; live updates are unavailable: {}", error.getMessage()));
+		container.start();
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (container != null) {
+			container.stop();
+		}
+		subscribers.keySet().forEach(SseEmitter::complete);
+	}
+
+	// Comment lines keep idle connections from being closed by proxies.
+	@Scheduled(fixedDelayString = "${task.stream.heartbeat:15s}")
+	public void heartbeat() {
+		send(subscriber -> true, () -> SseEmitter.event().comment("keep-alive"));
+	}
+
+	void onChange(Message<ChangeStreamDocument<Document>, TaskSubmission> message) {
+		ChangeStreamDocument<Document> change = message.getRaw();
+		if (change == null) {
+			return;
+		}
+		if (change.getOperationType() == OperationType.DELETE) {
+			Document before = change.getFullDocumentBeforeChange();
+			String owner = before != null ? before.getString("userId") : null;
+			BsonValue id = change.getDocumentKey() != null ? change.getDocumentKey().get("_id") : null;
+			if (id != null) {
+				String submissionId = id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue();
+				send(subscriber -> subscriber.admin() || subscriber.isUser(owner),
+						() -> SseEmitter.event().name("submission-deleted").data(Map.of("id", submissionId)));
+			}
+			return;
+		}
+		TaskSubmission submission = message.getBody();
+		if (submission != null) {
+			TaskSubmissionResponse response = TaskSubmissionResponse.from(submission);
+			send(subscriber -> subscriber.canSee(submission),
+					() -> SseEmitter.event().name("submission").id(submission.getId()).data(response));
+		}
+	}
+
+	// Submissions do not change owner, so only deletes need the pre-image.
+	private void enablePreImages(String collection) {
+		try {
+			if (!mongoTemplate.collectionExists(collection)) {
+				mongoTemplate.createCollection(collection);
+			}
+			mongoTemplate.executeCommand(new Document("collMod", collection)
+				.append("changeStreamPreAndPostImages", new Document("enabled", true)));
+		} catch (RuntimeException ex) {
+			log.warn("Could not enable change stream pre-images on {}; deletes are only streamed to admins: {}",
+					collection, ex.getMessage());
+		}
+	}
+
+	// An event builder can only be sent once, so each subscriber gets a fresh one.
+	private void send(Predicate<Subscriber> audience, Supplier<SseEmitter.SseEventBuilder> event) {
+		subscribers.values().forEach(subscriber -> {
+			if (audience.test(subscriber)) {
+				subscriber.enqueue(event.get());
+			}
+		});
+	}
+
+	private void drop(Subscriber subscriber, Throwable cause) {
+		subscribers.remove(subscriber.emitter);
+		subscriber.emitter.completeWithError(cause);
+	}
+
+	// A client and its unsent events; at most one sender drains the queue at a time, keeping them in order.
+	private final class Subscriber {
+
+		private final SseEmitter emitter;
+		private final String userId;
+		private final boolean admin;
+		private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+		private final AtomicInteger size = new AtomicInteger();
+		private final AtomicBoolean draining = new AtomicBoolean();
+
+		private Subscriber(SseEmitter emitter, String userId, boolean admin) {
+			this.emitter = emitter;
+			this.userId = userId;
+			this.admin = admin;
+		}
+
+		boolean admin() {
+			return admin;
+		}
+
+		boolean isUser(String id) {
+			return userId.equals(id);
+		}
+
+		boolean canSee(TaskSubmission submission) {
+			return admin || userId.equals(submission.getUserId());
+		}
+
+		void enqueue(SseEmitter.SseEventBuilder event) {
+			if (size.incrementAndGet() > MAX_PENDING_EVENTS) {
+				drop(this, new IllegalStateException("Client fell more than " + MAX_PENDING_EVENTS + " events behind"));
+				return;
+			}
+			pending.add(event);
+			if (draining.compareAndSet(false, true)) {
+				senders.execute(this::drain);
+			}
+		}
+
+		private void drain() {
+			do {
+				SseEmitter.SseEventBuilder event;
+				while ((event = pending.poll()) != null) {
+					size.decrementAndGet();
+					try {
+						emitter.send(event);
+					} catch (IOException | IllegalStateException ex) {
+						pending.clear();
+						drop(this, ex);
+						return;
+					}
+				}
+				draining.set(false);
+				// An event queued between the last poll and clearing the flag still needs a sender.
+			} while (!pending.isEmpty() && draining.compareAndSet(false, true));
+		}
+	}
+}
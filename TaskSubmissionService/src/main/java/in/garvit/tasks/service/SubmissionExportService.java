@@ -0,0 +1,154 @@
+package in.garvit.tasks.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import in.garvit.tasks.dto.ExportFormat;
+import in.garvit.tasks.dto.TaskSubmissionResponse;
+import in.garvit.tasks.exception.UnauthorizedSubmissionActionException;
+import in.garvit.tasks.security.JwtVerifier;
+import in.garvit.tasks.submissionModel.TaskSubmission;
+import in.garvit.tasks.submissionModel.UserDTO;
+import in.garvit.tasks.submissionModel.enums.SubmissionStatus;
+
+/**
+ * Streams submissions from a MongoDB cursor as NDJSON or CSV. Only one cursor batch is
+ * resident at a time and writes block on the client, so memory stays flat for any history size.
+ */
+@Service
+public class SubmissionExportService {
+
+	private static final Logger log = LoggerFactory.getLogger(SubmissionExportService.class);
+
+	private static final String[] CSV_HEADER = {
+			"id", "taskId", "userId", "status", "content", "createdAt", "updatedAt" };
+
+	private final MongoTemplate mongoTemplate;
+	private final JwtVerifier jwtVerifier;
+	private final ObjectWriter jsonWriter;
+	private final int batchSize;
+
+	public SubmissionExportService(MongoTemplate mongoTemplate,
+			JwtVerifier jwtVerifier,
+			ObjectMapper objectMapper,
+			@Value("${task.export.batch-size:500}") int batchSize) {
+		this.mongoTemplate = mongoTemplate;
+		this.jwtVerifier = jwtVerifier;
+		this.jsonWriter = objectMapper.writerFor(TaskSubmissionResponse.class);
+		this.batchSize = batchSize;
+	}
+
+	public void ensureCanExport(String jwt) {
+		Objects.requireNonNull(jwt, "Authorization token must not be null");
+		UserDTO requester = jwtVerifier.verify(jwt);
+		if (requester.getRole() == null || !requester.getRole().equalsIgnoreCase("ROLE_ADMIN")) {
+			throw new UnauthorizedSubmissionActionException("Only administrators can export submissions");
+		}
+	}
+
+	// Built and validated up front so bad input is rejected before the response is committed.
+	public Query exportQuery(SubmissionStatus status, LocalDateTime from, LocalDateTime to) {
+		if (from != null && to != null && !from.isBefore(to)) {
+			throw new IllegalArgumentException("from must be before to");
+		}
+
+		Query query = new Query();
+		if (status != null) {
+			query.addCriteria(Criteria.where("status").is(status));
+		}
+		if (from != null || to != null) {
+			Criteria submittedAt = Criteria.where("submittedAt");
+			if (from != null) {
+				submittedAt.gte(from);
+			}
+			if (to != null) {
+				submittedAt.lt(to);
+			}
+			query.addCriteria(submittedAt);
+		}
+		return query.with(Sort.by(Sort.Direction.DESC, "submittedAt", "id"))
+				.cursorBatchSize(batchSize);
+	}
+
+	// Flushes once per cursor batch; the cursor is closed even if the client disconnects.
+	public long export(Query query, ExportFormat format, OutputStream out) throws IOException {
+		Objects.requireNonNull(format, "Export format must not be null");
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		long count = 0;
+
+		if (format == ExportFormat.CSV) {
+			writeCsvRow(writer, CSV_HEADER);
+		}
+		try (Stream<TaskSubmission> submissions = mongoTemplate.stream(query, TaskSubmission.class)) {
+			Iterator<TaskSubmission> iterator = submissions.iterator();
+			while (iterator.hasNext()) {
+				TaskSubmissionResponse row = TaskSubmissionResponse.from(iterator.next());
+				if (format == ExportFormat.CSV) {
+					writeCsvRow(writer, toCsvRow(row));
+				} else {
+					writer.write(jsonWriter.writeValueAsString(row));
+					writer.write('\n');
+				}
+				if (++count % batchSize == 0) {
+					writer.flush();
+				}
+			}
+		}
+		writer.flush();
+
+		log.info("Exported {} submissions as {}", count, format);
+		return count;
+	}
+
+	private String[] toCsvRow(TaskSubmissionResponse row) {
+		return new String[] {
+				row.id(),
+				row.taskId(),
+				row.userId(),
+				row.status(),
+				row.content(),
+				row.submittedAt() != null ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(row.submittedAt()) : null,
+				row.updatedAt() != null ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(row.updatedAt()) : null };
+	}
+
+	private void writeCsvRow(Writer writer, String[] values) throws IOException {
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			writer.write(escapeCsv(values[i]));
+		}
+		writer.write("\r\n");
+	}
+
+	private String escapeCsv(String value) {
+		if (value == null) {
+			return "";
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+}
@@ -2,9 +2,13 @@ package in.garvit.tasks.service;
 
 import java.util.List;
 
+import in.garvit.tasks.dto.BulkItemResult;
+import in.garvit.tasks.dto.CursorPage;
+import in.garvit.tasks.dto.SubmissionReviewRequest;
 import in.garvit.tasks.dto.SubmissionStatusUpdateRequest;
 import in.garvit.tasks.dto.TaskSubmissionRequest;
 import in.garvit.tasks.submissionModel.TaskSubmission;
+import in.garvit.tasks.submissionModel.enums.SubmissionStatus;
 
 public interface SubmissionService {
 
@@ -12,11 +16,20 @@ public interface SubmissionService {
 
 	TaskSubmission getTaskSubmissionById(String submissionId);
 
-	List<TaskSubmission> getAllTaskSubmissions();
+	List<TaskSubmission> getAllTaskSubmissions(SubmissionStatus status, int page, int size);
+
+	CursorPage<TaskSubmission> scrollTaskSubmissions(String cursor, int size);
 
 	List<TaskSubmission> getTaskSubmissionByTaskId(String taskId);
 
+	List<TaskSubmission> getTaskSubmissionsByUserId(String userId, int page, int size);
+
+	// expectedVersion comes from If-Match; null skips the client-side precondition.
 	TaskSubmission updateSubmission(String submissionId,
 			SubmissionStatusUpdateRequest updateRequest,
-			String jwt);
+			String jwt,
+			Long expectedVersion);
+
+	// Admin only: one bulkWrite for the status changes and one TASK-SERVICE call for the approvals.
+	List<BulkItemResult> reviewSubmissions(List<SubmissionReviewRequest> reviews, String jwt);
 }
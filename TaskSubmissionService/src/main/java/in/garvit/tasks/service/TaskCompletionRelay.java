@@ -0,0 +1,150 @@
+package in.garvit.tasks.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import feign.FeignException;
+import in.garvit.tasks.repository.SubRepository;
+import in.garvit.tasks.security.ServiceTokenIssuer;
+import in.garvit.tasks.submissionModel.TaskCompletionOutbox;
+import in.garvit.tasks.submissionModel.TaskSubmission;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Drains the task-completion outbox written when a submission is approved. Each due entry is
+ * claimed with a lease (so several instances never dispatch the same entry at once), sent to
+ * TASK-SERVICE, and either cleared or rescheduled with exponential backoff. Completing a task is
+ * idempotent, so a retry after an ambiguous failure is harmless.
+ */
+@Component
+public class TaskCompletionRelay {
+
+	private static final Logger log = LoggerFactory.getLogger(TaskCompletionRelay.class);
+	private static final int CLAIMED_ON_WRITE = 1;
+
+	private final SubRepository subRepository;
+	private final TaskService taskService;
+	private final ServiceTokenIssuer serviceTokenIssuer;
+	private final int batchSize;
+	private final Duration lease;
+	private final Duration initialBackoff;
+	private final Duration maxBackoff;
+	private final Counter completed;
+	private final Counter retried;
+	private final Counter dropped;
+
+	public TaskCompletionRelay(SubRepository subRepository,
+			TaskService taskService,
+			ServiceTokenIssuer serviceTokenIssuer,
+			MeterRegistry meterRegistry,
+			@Value("${task.outbox.batch-size:50}") int batchSize,
+			@Value("${task.outbox.lease:1m}") Duration lease,
+			@Value("${task.outbox.initial-backoff:5s}") Duration initialBackoff,
+			@Value("${task.outbox.max-backoff:10m}") Duration maxBackoff) {
+		this.subRepository = subRepository;
+		this.taskService = taskService;
+		this.serviceTokenIssuer = serviceTokenIssuer;
+		this.batchSize = batchSize;
+		this.lease = lease;
+		this.initialBackoff = initialBackoff;
+		this.maxBackoff = maxBackoff;
+		this.completed = meterRegistry.counter("task.outbox.relay", "result", "completed");
+		this.retried = meterRegistry.counter("task.outbox.relay", "result", "retried");
+		this.dropped = meterRegistry.counter("task.outbox.relay", "result", "dropped");
+	}
+
+	@Scheduled(fixedDelayString = "${task.outbox.poll-interval:5s}")
+	public void relayDueCompletions() {
+		for (int i = 0; i < batchSize; i++) {
+			LocalDateTime now = LocalDateTime.now();
+			Optional<TaskSubmission> claimed = subRepository.claimDueTaskCompletion(now, now.plus(lease));
+			if (claimed.isEmpty()) {
+				return;
+			}
+			dispatch(claimed.get());
+		}
+	}
+
+	/**
+	 * A claim token for the entries of one batch written with {@link #claimedEntry}
+	 */
+	public String newClaimToken() {
+		return UUID.randomUUID().toString();
+	}
+
+	/**
+	 * Outbox entry for a completion the caller dispatches itself straight away via {@link #dispatchClaimed}.
+	 * It is written already claimed, so the poller only picks it up once the lease runs out, i.e. if that
+	 * dispatch failed or the instance died before clearing it. The poller's claim then replaces the token,
+	 * so a late clear by the caller cannot remove the poller's claim.
+	 */
+	public TaskCompletionOutbox claimedEntry(String taskId, String claimToken) {
+		return TaskCompletionOutbox.builder()
+			.taskId(taskId)
+			.attempts(CLAIMED_ON_WRITE)
+			.nextAttemptAt(LocalDateTime.now().plus(lease))
+			.claimToken(claimToken)
+			.build();
+	}
+
+	/**
+	 * Completes the tasks of entries written with {@link #claimedEntry} in one TASK-SERVICE call and clears
+	 * them in one update. On failure the entries are left for the poller to retry after the lease.
+	 *
+	 * @param taskIdsBySubmissionId task to complete for each approved submission
+	 * @param claimToken the token the entries were written with
+	 */
+	public void dispatchClaimed(Map<String, String> taskIdsBySubmissionId, String claimToken) {
+		if (taskIdsBySubmissionId.isEmpty()) {
+			return;
+		}
+		List<String> taskIds = taskIdsBySubmissionId.values().stream().distinct().toList();
+		try {
+			taskService.completeTasks(taskIds, serviceTokenIssuer.bearerToken());
+		} catch (RuntimeException ex) {
+			log.warn("Completing {} tasks in one batch failed, leaving them to the relay: {}", taskIds.size(),
+					ex.getMessage());
+			return;
+		}
+		subRepository.clearTaskCompletions(taskIdsBySubmissionId.keySet(), claimToken);
+		completed.increment(taskIdsBySubmissionId.size());
+	}
+
+	void dispatch(TaskSubmission submission) {
+		TaskCompletionOutbox entry = submission.getTaskCompletionOutbox();
+		try {
+			taskService.completeTask(entry.getTaskId(), serviceTokenIssuer.bearerToken());
+			subRepository.clearTaskCompletion(submission.getId(), entry.getClaimToken());
+			completed.increment();
+		} catch (FeignException.NotFound ex) {
+			log.warn("Task {} no longer exists; dropping completion for submission {}", entry.getTaskId(),
+					submission.getId());
+			subRepository.clearTaskCompletion(submission.getId(), entry.getClaimToken());
+			dropped.increment();
+		} catch (RuntimeException ex) {
+			Duration delay = backoff(entry.getAttempts());
+			log.warn("Completing task {} failed (attempt {}), retrying in {}: {}", entry.getTaskId(),
+					entry.getAttempts(), delay, ex.getMessage());
+			subRepository.rescheduleTaskCompletion(submission.getId(), entry.getClaimToken(),
+					LocalDateTime.now().plus(delay), ex.getMessage());
+			retried.increment();
+		}
+	}
+
+	Duration backoff(int attempts) {
+		int exponent = Math.min(Math.max(attempts - 1, 0), 20);
+		Duration delay = initialBackoff.multipliedBy(1L << exponent);
+		return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+	}
+}
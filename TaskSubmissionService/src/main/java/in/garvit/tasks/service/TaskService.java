@@ -1,9 +1,12 @@
 package in.garvit.tasks.service;
 
+import java.util.List;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 
 import in.garvit.tasks.submissionModel.TaskDTO;
@@ -20,4 +23,8 @@ public interface TaskService {
 	@PutMapping("/api/tasks/{id}/complete")
 	TaskDTO completeTask(@PathVariable String id, @RequestHeader("Authorization") String jwt);
 
+	// Per-task results are not needed: unknown tasks are dropped just like a 404 from completeTask.
+	@PutMapping("/api/tasks/bulk/complete")
+	void completeTasks(@RequestBody List<String> taskIds, @RequestHeader("Authorization") String jwt);
+
 }
@@ -0,0 +1,64 @@
+package in.garvit.tasks.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import feign.FeignException;
+import in.garvit.tasks.dto.UserBatchRequest;
+import in.garvit.tasks.submissionModel.UserDTO;
+
+/**
+ * Resolves many user ids with the User Service batch endpoint, {@value #MAX_IDS_PER_CALL} ids per call,
+ * instead of one call per submission. Names only decorate a listing, so a failed lookup is logged and
+ * leaves them out rather than failing the request.
+ */
+@Component
+public class UserDirectory {
+
+	private static final Logger log = LoggerFactory.getLogger(UserDirectory.class);
+
+	// Largest batch the User Service accepts
+	static final int MAX_IDS_PER_CALL = 500;
+
+	private final UserService userService;
+
+	public UserDirectory(UserService userService) {
+		this.userService = userService;
+	}
+
+	/**
+	 * Full names keyed by user id; null, blank and repeated ids are skipped, and unknown ids, or all ids
+	 * after a failed call, are absent
+	 */
+	public Map<String, String> namesOf(Collection<String> ids, String jwt) {
+		List<String> distinct = ids.stream()
+			.filter(StringUtils::hasText)
+			.distinct()
+			.toList();
+		Map<String, String> names = new HashMap<>();
+		if (distinct.isEmpty() || jwt == null) {
+			return names;
+		}
+		try {
+			for (int from = 0; from < distinct.size(); from += MAX_IDS_PER_CALL) {
+				List<String> chunk = distinct.subList(from, Math.min(distinct.size(), from + MAX_IDS_PER_CALL));
+				for (Map.Entry<String, UserDTO> user : userService.findUsersByIds(new UserBatchRequest(chunk), jwt).entrySet()) {
+					if (user.getValue() != null && user.getValue().getFullName() != null) {
+						names.put(user.getKey(), user.getValue().getFullName());
+					}
+				}
+			}
+		} catch (FeignException ex) {
+			log.warn("Could not resolve {} users: {}", distinct.size(), ex.getMessage());
+			return new HashMap<>();
+		}
+		return names;
+	}
+}
@@ -1,9 +1,14 @@
 package in.garvit.tasks.service;
 
+import java.util.Map;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 
+import in.garvit.tasks.dto.UserBatchRequest;
 import in.garvit.tasks.submissionModel.UserDTO;
 
 
@@ -16,6 +21,11 @@ public interface UserService {
     @GetMapping("/api/users/profile")
 	public UserDTO getUserProfileHandler(@RequestHeader("Authorization") String jwt);
 
+    // Resolves submitter names for a whole review queue in one call; unknown ids are omitted
+    @PostMapping("/api/users/batch")
+	public Map<String, UserDTO> findUsersByIds(@RequestBody UserBatchRequest request,
+			@RequestHeader("Authorization") String jwt);
+
 
 }
  
\ No newline at end of file
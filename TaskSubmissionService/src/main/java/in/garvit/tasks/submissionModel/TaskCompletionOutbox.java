@@ -0,0 +1,30 @@
+package in.garvit.tasks.submissionModel;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Pending "complete this task" call, embedded in the approved submission so it is written in the
+// same single-document update as the approval. Drained by TaskCompletionRelay.
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskCompletionOutbox {
+
+	private String taskId;
+
+	private int attempts;
+
+	private LocalDateTime nextAttemptAt;
+
+	private String lastError;
+
+	// New on every claim; clearing or rescheduling only acts on the claim the caller made.
+	private String claimToken;
+}
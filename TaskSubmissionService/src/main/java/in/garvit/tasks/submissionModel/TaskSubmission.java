@@ -4,7 +4,9 @@ import java.time.LocalDateTime;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -21,7 +23,12 @@ import lombok.Setter;
 @AllArgsConstructor
 @NoArgsConstructor
 @Document(collection = "taskSubmission")
-@CompoundIndex(def = "{'taskId': 1, 'userId': 1}")
+// The unique (taskId, userId) index is built by config.SubmissionIndexes, which tolerates old duplicates.
+@CompoundIndexes({
+	@CompoundIndex(name = "submittedAt_id", def = "{'submittedAt': -1, '_id': -1}"),
+	@CompoundIndex(name = "status_submittedAt_id", def = "{'status': 1, 'submittedAt': -1, '_id': -1}"),
+	@CompoundIndex(name = "outbox_nextAttemptAt", def = "{'taskCompletionOutbox.nextAttemptAt': 1}", sparse = true)
+})
 public class TaskSubmission {
 
 	@Id
@@ -44,6 +51,17 @@ public class TaskSubmission {
 	@LastModifiedDate
 	private LocalDateTime updatedAt;
 
+	// Set atomically with an approval and removed once TASK-SERVICE has completed the task.
+	private TaskCompletionOutbox taskCompletionOutbox;
+
+	// Exposed as the ETag; absent on submissions stored before versioning, which count as 0.
+	@Version
+	private Long version;
+
+	public long currentVersion() {
+		return version != null ? version : 0L;
+	}
+
 	public void markStatus(SubmissionStatus newStatus) {
 		this.status = newStatus;
 		this.updatedAt = LocalDateTime.now();
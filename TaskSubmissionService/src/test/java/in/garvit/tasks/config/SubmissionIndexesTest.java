@@ -0,0 +1,108 @@
+package in.garvit.tasks.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import in.garvit.tasks.submissionModel.TaskSubmission;
+
+class SubmissionIndexesTest {
+
+	private MongoTemplate mongoTemplate;
+	private IndexOperations indexOps;
+	private SubmissionIndexes submissionIndexes;
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		indexOps = mock(IndexOperations.class);
+		given(mongoTemplate.indexOps(TaskSubmission.class)).willReturn(indexOps);
+		submissionIndexes = new SubmissionIndexes(mongoTemplate);
+	}
+
+	@Test
+	void ensureUniqueTaskUserIndex_whenRepeatSubmissionsExist_logsAndLeavesIndexesAlone() {
+		IndexInfo old = index(SubmissionIndexes.TASK_USER_INDEX, false);
+		given(indexOps.getIndexInfo()).willReturn(List.of(old));
+		givenDuplicates(List.of(new Document("_id", new Document("taskId", "task-1").append("userId", "user-1"))
+			.append("count", 2)));
+
+		submissionIndexes.ensureUniqueTaskUserIndex();
+
+		verify(indexOps, never()).dropIndex(anyString());
+		verify(indexOps, never()).ensureIndex(any(IndexDefinition.class));
+	}
+
+	@Test
+	void ensureUniqueTaskUserIndex_whenDataIsClean_replacesNonUniqueIndex() {
+		IndexInfo old = index(SubmissionIndexes.TASK_USER_INDEX, false);
+		given(indexOps.getIndexInfo()).willReturn(List.of(old));
+		givenDuplicates(List.of());
+
+		submissionIndexes.ensureUniqueTaskUserIndex();
+
+		ArgumentCaptor<IndexDefinition> definition = ArgumentCaptor.forClass(IndexDefinition.class);
+		InOrder order = inOrder(indexOps);
+		order.verify(indexOps).dropIndex(SubmissionIndexes.TASK_USER_INDEX);
+		order.verify(indexOps).ensureIndex(definition.capture());
+		assertEquals(new Document("taskId", 1).append("userId", 1), definition.getValue().getIndexKeys());
+		assertEquals(SubmissionIndexes.TASK_USER_INDEX, definition.getValue().getIndexOptions().get("name"));
+		assertTrue(definition.getValue().getIndexOptions().getBoolean("unique"));
+	}
+
+	@Test
+	void ensureUniqueTaskUserIndex_whenUniqueIndexExists_skipsDuplicateScan() {
+		IndexInfo unique = index(SubmissionIndexes.TASK_USER_INDEX, true);
+		given(indexOps.getIndexInfo()).willReturn(List.of(unique));
+
+		submissionIndexes.ensureUniqueTaskUserIndex();
+
+		verify(mongoTemplate, never()).aggregate(any(Aggregation.class), eq(TaskSubmission.class), eq(Document.class));
+		verify(indexOps, never()).ensureIndex(any(IndexDefinition.class));
+	}
+
+	@Test
+	void ensureUniqueTaskUserIndex_whenIndexBuildFails_doesNotFailStartup() {
+		given(indexOps.getIndexInfo()).willReturn(List.of());
+		givenDuplicates(List.of());
+		given(indexOps.ensureIndex(any(IndexDefinition.class)))
+			.willThrow(new IllegalStateException("E11000 duplicate key error"));
+
+		submissionIndexes.ensureUniqueTaskUserIndex();
+
+		verify(indexOps, never()).dropIndex(anyString());
+	}
+
+	private void givenDuplicates(List<Document> duplicates) {
+		given(mongoTemplate.aggregate(any(Aggregation.class), eq(TaskSubmission.class), eq(Document.class)))
+			.willReturn(new AggregationResults<>(duplicates, new Document()));
+	}
+
+	private static IndexInfo index(String name, boolean unique) {
+		IndexInfo index = mock(IndexInfo.class);
+		given(index.getName()).willReturn(name);
+		given(index.isUnique()).willReturn(unique);
+		return index;
+	}
+}
@@ -0,0 +1,137 @@
+package in.garvit.tasks.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.mongodb.bulk.BulkWriteResult;
+import in.garvit.tasks.repository.SubRepositoryCustom.VersionedUpdate;
+import in.garvit.tasks.submissionModel.TaskSubmission;
+import in.garvit.tasks.submissionModel.enums.SubmissionStatus;
+
+class SubRepositoryCustomImplTest {
+
+	private MongoTemplate mongoTemplate;
+	private SubRepositoryCustomImpl repository;
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		repository = new SubRepositoryCustomImpl(mongoTemplate);
+	}
+
+	@Test
+	void findReviewQueue_whenPageStraddlesPending_fillsWithReviewedFromStart() {
+		TaskSubmission pending = TaskSubmission.builder().id("pending-3").build();
+		TaskSubmission reviewed = TaskSubmission.builder().id("approved-1").status(SubmissionStatus.APPROVED).build();
+		given(mongoTemplate.count(any(Query.class), eq(TaskSubmission.class))).willReturn(3L);
+		given(mongoTemplate.find(argThat(q -> q != null && isPendingQuery(q)), eq(TaskSubmission.class)))
+			.willReturn(List.of(pending));
+		given(mongoTemplate.find(argThat(q -> q != null && !isPendingQuery(q)), eq(TaskSubmission.class)))
+			.willReturn(List.of(reviewed));
+
+		List<TaskSubmission> page = repository.findReviewQueue(2, 2);
+
+		assertEquals(List.of(pending, reviewed), page);
+		verify(mongoTemplate).find(argThat(q -> q != null && isPendingQuery(q) && q.getSkip() == 2 && q.getLimit() == 2),
+				eq(TaskSubmission.class));
+		verify(mongoTemplate).find(argThat(q -> q != null && !isPendingQuery(q) && q.getSkip() == 0 && q.getLimit() == 1),
+				eq(TaskSubmission.class));
+	}
+
+	@Test
+	void findReviewQueue_whenPastPending_skipsOnlyReviewedRemainder() {
+		given(mongoTemplate.count(any(Query.class), eq(TaskSubmission.class))).willReturn(3L);
+		given(mongoTemplate.find(any(Query.class), eq(TaskSubmission.class))).willReturn(List.of());
+
+		repository.findReviewQueue(10, 5);
+
+		verify(mongoTemplate, never()).find(argThat(q -> q != null && isPendingQuery(q)), eq(TaskSubmission.class));
+		verify(mongoTemplate).find(argThat(q -> q != null && q.getSkip() == 7 && q.getLimit() == 5),
+				eq(TaskSubmission.class));
+	}
+
+	@Test
+	void updateAllIfVersion_whenAllMatch_reportsAllWithoutReadBack() {
+		BulkOperations ops = bulkOps(2);
+
+		Set<String> applied = repository.updateAllIfVersion(List.of(
+				new VersionedUpdate("sub-1", 0, new Update().set("status", SubmissionStatus.APPROVED)),
+				new VersionedUpdate("sub-2", 3, new Update().set("status", SubmissionStatus.REJECTED))));
+
+		assertEquals(Set.of("sub-1", "sub-2"), applied);
+		verify(ops).execute();
+		verify(mongoTemplate, never()).find(any(Query.class), eq(TaskSubmission.class));
+	}
+
+	@Test
+	void updateAllIfVersion_whenSomeMiss_readsBackOnlyDocumentsCarryingItsToken() {
+		BulkOperations ops = bulkOps(1);
+		given(mongoTemplate.find(any(Query.class), eq(TaskSubmission.class)))
+			.willReturn(List.of(TaskSubmission.builder().id("sub-2").build()));
+
+		Set<String> applied = repository.updateAllIfVersion(List.of(
+				new VersionedUpdate("sub-1", 0, new Update().set("status", SubmissionStatus.APPROVED)),
+				new VersionedUpdate("sub-2", 3, new Update().set("status", SubmissionStatus.REJECTED))));
+
+		assertEquals(Set.of("sub-2"), applied);
+		ArgumentCaptor<Update> written = ArgumentCaptor.forClass(Update.class);
+		verify(ops, times(2)).updateOne(any(Query.class), written.capture());
+		Object token = ((Document) written.getValue().getUpdateObject().get("$set")).get("bulkWriteToken");
+		assertNotNull(token);
+		assertEquals(token, ((Document) written.getAllValues().get(0).getUpdateObject().get("$set")).get("bulkWriteToken"));
+		// A concurrent single update can also move a document to expectedVersion + 1; only the token proves the write
+		verify(mongoTemplate).find(argThat(q -> q != null && token.equals(q.getQueryObject().get("bulkWriteToken"))
+				&& !q.getQueryObject().containsKey("$or")), eq(TaskSubmission.class));
+	}
+
+	@Test
+	void claimDueTaskCompletion_stampsANewClaimTokenThatClearingMatchesOn() {
+		repository.claimDueTaskCompletion(LocalDateTime.now(), LocalDateTime.now().plusMinutes(1));
+		repository.clearTaskCompletions(List.of("submission-1"), "claim-1");
+
+		ArgumentCaptor<Update> claim = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).findAndModify(any(Query.class), claim.capture(), any(FindAndModifyOptions.class),
+				eq(TaskSubmission.class));
+		assertNotNull(claim.getValue().getUpdateObject().get("$set", Document.class).get("taskCompletionOutbox.claimToken"));
+		ArgumentCaptor<Query> clear = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).updateMulti(clear.capture(), any(Update.class), eq(TaskSubmission.class));
+		assertEquals("claim-1", clear.getValue().getQueryObject().get("taskCompletionOutbox.claimToken"));
+		assertFalse(clear.getValue().getQueryObject().containsKey("taskCompletionOutbox.attempts"));
+	}
+
+	private BulkOperations bulkOps(int matched) {
+		BulkOperations ops = mock(BulkOperations.class);
+		BulkWriteResult result = mock(BulkWriteResult.class);
+		given(result.getMatchedCount()).willReturn(matched);
+		given(ops.execute()).willReturn(result);
+		given(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TaskSubmission.class)).willReturn(ops);
+		return ops;
+	}
+
+	private static boolean isPendingQuery(Query query) {
+		return SubmissionStatus.PENDING.equals(query.getQueryObject().get("status"));
+	}
+}
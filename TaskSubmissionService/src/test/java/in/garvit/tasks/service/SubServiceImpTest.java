@@ -1,33 +1,58 @@
 package in.garvit.tasks.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Update;
 
 import feign.FeignException;
 import feign.Request;
 import feign.RequestTemplate;
+import in.garvit.tasks.dto.BulkItemResult;
+import in.garvit.tasks.dto.CursorPage;
+import in.garvit.tasks.dto.PageCursor;
+import in.garvit.tasks.dto.SubmissionReviewRequest;
 import in.garvit.tasks.dto.SubmissionStatusUpdateRequest;
 import in.garvit.tasks.dto.TaskSubmissionRequest;
 import in.garvit.tasks.exception.DuplicateSubmissionException;
 import in.garvit.tasks.exception.ResourceNotFoundException;
 import in.garvit.tasks.exception.UnauthorizedSubmissionActionException;
+import in.garvit.tasks.exception.VersionMismatchException;
 import in.garvit.tasks.repository.SubRepository;
+import in.garvit.tasks.security.JwtVerifier;
+import in.garvit.tasks.submissionModel.TaskCompletionOutbox;
 import in.garvit.tasks.submissionModel.TaskDTO;
 import in.garvit.tasks.submissionModel.TaskSubmission;
 import in.garvit.tasks.submissionModel.UserDTO;
+import in.garvit.tasks.submissionModel.enums.SubmissionStatus;
 import in.garvit.tasks.submissionModel.enums.TaskStatus;
 
 @SuppressWarnings("null")
@@ -40,7 +65,10 @@ class SubServiceImpTest {
 	private TaskService taskService;
 
 	@Mock
-	private UserService userService;
+	private JwtVerifier jwtVerifier;
+
+	@Mock
+	private TaskCompletionRelay taskCompletionRelay;
 
 	@InjectMocks
 	private SubServiceImp subServiceImp;
@@ -64,15 +92,14 @@ class SubServiceImpTest {
 				.content("https://github.com/example/repo")
 				.build();
 
-		given(userService.getUserProfileHandler(jwt)).willReturn(user);
+		given(jwtVerifier.verify(jwt)).willReturn(user);
 		given(taskService.getTaskById(request.taskId(), jwt)).willReturn(task);
-		given(subRepository.findByTaskIdAndUserId(request.taskId(), user.getId())).willReturn(Optional.empty());
-		given(subRepository.save(any(TaskSubmission.class))).willReturn(saved);
+		given(subRepository.insert(any(TaskSubmission.class))).willReturn(saved);
 
 		TaskSubmission result = subServiceImp.submitTask(request, jwt);
 
 		assertEquals(saved.getId(), result.getId());
-		verify(subRepository).save(any(TaskSubmission.class));
+		verify(subRepository).insert(any(TaskSubmission.class));
 	}
 
 	@Test
@@ -83,10 +110,10 @@ class SubServiceImpTest {
 		TaskDTO task = new TaskDTO("task-1", "Task", "desc", null, "user-1", TaskStatus.ASSIGNED,
 				LocalDateTime.now().plusDays(1), LocalDateTime.now(), null);
 
-		given(userService.getUserProfileHandler(jwt)).willReturn(user);
+		given(jwtVerifier.verify(jwt)).willReturn(user);
 		given(taskService.getTaskById(request.taskId(), jwt)).willReturn(task);
-		given(subRepository.findByTaskIdAndUserId(request.taskId(), user.getId()))
-			.willReturn(Optional.of(new TaskSubmission()));
+		given(subRepository.insert(any(TaskSubmission.class)))
+			.willThrow(new DuplicateKeyException("E11000 duplicate key error"));
 
 		assertThrows(DuplicateSubmissionException.class, () -> subServiceImp.submitTask(request, jwt));
 	}
@@ -104,10 +131,10 @@ class SubServiceImpTest {
 		UserDTO requester = new UserDTO("user-1", "Test User", "test@example.com", "ROLE_USER", "9876543210");
 
 		given(subRepository.findById(submission.getId())).willReturn(Optional.of(submission));
-		given(userService.getUserProfileHandler(jwt)).willReturn(requester);
+		given(jwtVerifier.verify(jwt)).willReturn(requester);
 
 		assertThrows(UnauthorizedSubmissionActionException.class,
-				() -> subServiceImp.updateSubmission(submission.getId(), updateRequest, jwt));
+				() -> subServiceImp.updateSubmission(submission.getId(), updateRequest, jwt, null));
 	}
 
 	@Test
@@ -118,7 +145,99 @@ class SubServiceImpTest {
 		given(subRepository.findById("missing")).willReturn(Optional.empty());
 
 		assertThrows(ResourceNotFoundException.class,
-				() -> subServiceImp.updateSubmission("missing", updateRequest, jwt));
+				() -> subServiceImp.updateSubmission("missing", updateRequest, jwt, null));
+	}
+
+	@Test
+	void updateSubmission_whenIfMatchIsStale_throwsVersionMismatchWithoutWriting() {
+		String jwt = "token";
+		SubmissionStatusUpdateRequest updateRequest = new SubmissionStatusUpdateRequest("APPROVED", null);
+		TaskSubmission submission = TaskSubmission.builder()
+				.id("submission-1")
+				.taskId("task-1")
+				.userId("user-1")
+				.version(3L)
+				.build();
+		UserDTO admin = new UserDTO("admin-1", "Admin", "admin@example.com", "ROLE_ADMIN", "9876543210");
+
+		given(subRepository.findById(submission.getId())).willReturn(Optional.of(submission));
+		given(jwtVerifier.verify(jwt)).willReturn(admin);
+
+		assertThrows(VersionMismatchException.class,
+				() -> subServiceImp.updateSubmission(submission.getId(), updateRequest, jwt, 2L));
+		verify(subRepository, never()).updateIfVersion(any(), anyLong(), any());
+	}
+
+	@Test
+	void updateSubmission_whenChangedConcurrently_throwsVersionMismatch() {
+		String jwt = "token";
+		SubmissionStatusUpdateRequest updateRequest = new SubmissionStatusUpdateRequest("REJECTED", null);
+		TaskSubmission submission = TaskSubmission.builder()
+				.id("submission-1")
+				.taskId("task-1")
+				.userId("user-1")
+				.version(3L)
+				.build();
+		UserDTO admin = new UserDTO("admin-1", "Admin", "admin@example.com", "ROLE_ADMIN", "9876543210");
+
+		given(subRepository.findById(submission.getId())).willReturn(Optional.of(submission));
+		given(jwtVerifier.verify(jwt)).willReturn(admin);
+		given(subRepository.updateIfVersion(eq(submission.getId()), eq(3L), any(Update.class)))
+			.willReturn(Optional.empty());
+
+		assertThrows(VersionMismatchException.class,
+				() -> subServiceImp.updateSubmission(submission.getId(), updateRequest, jwt, null));
+	}
+
+	@Test
+	void updateSubmission_whenApproved_writesOutboxEntryInsteadOfCallingTaskService() {
+		String jwt = "token";
+		SubmissionStatusUpdateRequest updateRequest = new SubmissionStatusUpdateRequest("APPROVED", null);
+		TaskSubmission submission = TaskSubmission.builder()
+				.id("submission-1")
+				.taskId("task-1")
+				.userId("user-1")
+				.build();
+		UserDTO admin = new UserDTO("admin-1", "Admin", "admin@example.com", "ROLE_ADMIN", "9876543210");
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+
+		given(subRepository.findById(submission.getId())).willReturn(Optional.of(submission));
+		given(jwtVerifier.verify(jwt)).willReturn(admin);
+		given(subRepository.updateIfVersion(eq(submission.getId()), eq(0L), update.capture()))
+			.willReturn(Optional.of(submission));
+
+		subServiceImp.updateSubmission(submission.getId(), updateRequest, jwt, null);
+
+		Document set = (Document) update.getValue().getUpdateObject().get("$set");
+		TaskCompletionOutbox outbox = (TaskCompletionOutbox) set.get("taskCompletionOutbox");
+		assertEquals("task-1", outbox.getTaskId());
+		verify(taskService, never()).completeTask(any(), any());
+	}
+
+	@Test
+	void updateSubmission_whenMovedAwayFromApproved_withdrawsOutboxEntry() {
+		String jwt = "token";
+		SubmissionStatusUpdateRequest updateRequest = new SubmissionStatusUpdateRequest("REJECTED", null);
+		TaskSubmission submission = TaskSubmission.builder()
+				.id("submission-1")
+				.taskId("task-1")
+				.userId("user-1")
+				.status(SubmissionStatus.APPROVED)
+				.taskCompletionOutbox(TaskCompletionOutbox.builder().taskId("task-1").build())
+				.build();
+		UserDTO admin = new UserDTO("admin-1", "Admin", "admin@example.com", "ROLE_ADMIN", "9876543210");
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+
+		given(subRepository.findById(submission.getId())).willReturn(Optional.of(submission));
+		given(jwtVerifier.verify(jwt)).willReturn(admin);
+		given(subRepository.updateIfVersion(eq(submission.getId()), eq(0L), update.capture()))
+			.willReturn(Optional.of(submission));
+
+		subServiceImp.updateSubmission(submission.getId(), updateRequest, jwt, null);
+
+		Document unset = (Document) update.getValue().getUpdateObject().get("$unset");
+		assertTrue(unset.containsKey("taskCompletionOutbox"));
+		assertFalse(((Document) update.getValue().getUpdateObject().get("$set")).containsKey("taskCompletionOutbox"));
 	}
 
 	@Test
@@ -127,12 +246,126 @@ class SubServiceImpTest {
 		TaskSubmissionRequest request = new TaskSubmissionRequest("task-404", "https://github.com/example/repo");
 		UserDTO user = new UserDTO("user-1", "Test User", "test@example.com", "ROLE_USER", "9876543210");
 
-		given(userService.getUserProfileHandler(jwt)).willReturn(user);
+		given(jwtVerifier.verify(jwt)).willReturn(user);
 		given(taskService.getTaskById(eq("task-404"), eq(jwt))).willThrow(createFeignNotFound());
 
 		assertThrows(ResourceNotFoundException.class, () -> subServiceImp.submitTask(request, jwt));
 	}
 
+	@Test
+	void scrollTaskSubmissions_whenMoreResultsRemain_returnsCursorOfLastItem() {
+		LocalDateTime now = LocalDateTime.now();
+		TaskSubmission first = TaskSubmission.builder().id("65f000000000000000000003").submittedAt(now).build();
+		TaskSubmission second = TaskSubmission.builder().id("65f000000000000000000002").submittedAt(now.minusMinutes(1)).build();
+		TaskSubmission third = TaskSubmission.builder().id("65f000000000000000000001").submittedAt(now.minusMinutes(2)).build();
+
+		given(subRepository.findAllBy(any(Pageable.class))).willReturn(List.of(first, second, third));
+
+		CursorPage<TaskSubmission> page = subServiceImp.scrollTaskSubmissions(null, 2);
+
+		assertEquals(List.of(first, second), page.items());
+		assertEquals(new PageCursor(second.getSubmittedAt(), second.getId()), PageCursor.decode(page.nextCursor()));
+	}
+
+	@Test
+	void scrollTaskSubmissions_whenCursorGiven_seeksPastIt() {
+		LocalDateTime submittedAt = LocalDateTime.now();
+		String cursor = new PageCursor(submittedAt, "65f000000000000000000002").encode();
+		TaskSubmission older = TaskSubmission.builder().id("65f000000000000000000001").submittedAt(submittedAt).build();
+
+		given(subRepository.findPageBefore(eq(submittedAt), eq(new ObjectId("65f000000000000000000002")), any(Pageable.class)))
+			.willReturn(List.of(older));
+
+		CursorPage<TaskSubmission> page = subServiceImp.scrollTaskSubmissions(cursor, 2);
+
+		assertEquals(List.of(older), page.items());
+		assertNull(page.nextCursor());
+	}
+
+	@Test
+	void getAllTaskSubmissions_whenNoStatus_readsReviewQueueAtPageOffset() {
+		TaskSubmission pending = TaskSubmission.builder().id("sub-1").build();
+		given(subRepository.findReviewQueue(100L, 50)).willReturn(List.of(pending));
+
+		List<TaskSubmission> submissions = subServiceImp.getAllTaskSubmissions(null, 2, 50);
+
+		assertEquals(List.of(pending), submissions);
+	}
+
+	@Test
+	void getAllTaskSubmissions_whenStatusGiven_queriesStatusNewestFirst() {
+		TaskSubmission approved = TaskSubmission.builder().id("sub-1").status(SubmissionStatus.APPROVED).build();
+		given(subRepository.findByStatus(SubmissionStatus.APPROVED,
+				PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "submittedAt", "id"))))
+			.willReturn(List.of(approved));
+
+		List<TaskSubmission> submissions = subServiceImp.getAllTaskSubmissions(SubmissionStatus.APPROVED, 0, 20);
+
+		assertEquals(List.of(approved), submissions);
+	}
+
+	@Test
+	void getAllTaskSubmissions_whenPageSizeTooLarge_throwsIllegalArgument() {
+		assertThrows(IllegalArgumentException.class, () -> subServiceImp.getAllTaskSubmissions(null, 0, 201));
+	}
+
+	@Test
+	void reviewSubmissions_whenNotAdmin_throwsUnauthorizedWithoutReading() {
+		UserDTO user = new UserDTO("user-1", "Test User", "test@example.com", "ROLE_USER", "9876543210");
+		given(jwtVerifier.verify("token")).willReturn(user);
+
+		assertThrows(UnauthorizedSubmissionActionException.class, () -> subServiceImp.reviewSubmissions(
+				List.of(new SubmissionReviewRequest("submission-1", "APPROVED", null)), "token"));
+		verify(subRepository, never()).findAllById(any());
+	}
+
+	@Test
+	void reviewSubmissions_writesOnceAndCompletesApprovedTasksInOneBatch() {
+		UserDTO admin = new UserDTO("admin-1", "Admin", "admin@example.com", "ROLE_ADMIN", "9876543210");
+		TaskSubmission first = TaskSubmission.builder().id("submission-1").taskId("task-1").userId("user-1").build();
+		TaskSubmission second = TaskSubmission.builder().id("submission-2").taskId("task-2").userId("user-2")
+				.version(3L).build();
+		given(jwtVerifier.verify("token")).willReturn(admin);
+		given(subRepository.findAllById(List.of("submission-1", "submission-2", "missing")))
+			.willReturn(List.of(first, second));
+		given(subRepository.updateAllIfVersion(any())).willReturn(Set.of("submission-1", "submission-2"));
+		given(taskCompletionRelay.newClaimToken()).willReturn("claim-1");
+
+		List<BulkItemResult> results = subServiceImp.reviewSubmissions(List.of(
+				new SubmissionReviewRequest("submission-1", "APPROVED", null),
+				new SubmissionReviewRequest("submission-2", "REJECTED", 3L),
+				new SubmissionReviewRequest("missing", "APPROVED", null)), "token");
+
+		assertEquals(List.of(
+				BulkItemResult.ok(0, "submission-1"),
+				BulkItemResult.ok(1, "submission-2"),
+				BulkItemResult.failed(2, "missing", "Submission not found")), results);
+		verify(subRepository).updateAllIfVersion(argThat(updates -> updates.size() == 2
+				&& updates.get(1).update().getUpdateObject().get("$unset", Document.class).containsKey("taskCompletionOutbox")));
+		verify(taskCompletionRelay).claimedEntry("task-1", "claim-1");
+		verify(taskCompletionRelay).dispatchClaimed(Map.of("submission-1", "task-1"), "claim-1");
+		verify(taskService, never()).completeTask(any(), any());
+	}
+
+	@Test
+	void reviewSubmissions_whenVersionIsStaleOrRaced_reportsMismatchPerItem() {
+		UserDTO admin = new UserDTO("admin-1", "Admin", "admin@example.com", "ROLE_ADMIN", "9876543210");
+		TaskSubmission first = TaskSubmission.builder().id("submission-1").taskId("task-1").version(2L).build();
+		TaskSubmission second = TaskSubmission.builder().id("submission-2").taskId("task-2").build();
+		given(jwtVerifier.verify("token")).willReturn(admin);
+		given(subRepository.findAllById(any())).willReturn(List.of(first, second));
+		given(subRepository.updateAllIfVersion(any())).willReturn(Set.of());
+
+		List<BulkItemResult> results = subServiceImp.reviewSubmissions(List.of(
+				new SubmissionReviewRequest("submission-1", "APPROVED", 1L),
+				new SubmissionReviewRequest("submission-2", "APPROVED", null)), "token");
+
+		assertFalse(results.get(0).success());
+		assertFalse(results.get(1).success());
+		verify(subRepository).updateAllIfVersion(argThat(updates -> updates.size() == 1));
+		verify(taskCompletionRelay).dispatchClaimed(eq(Map.of()), any());
+	}
+
 	private FeignException.NotFound createFeignNotFound() {
 		Request request = Request.create(Request.HttpMethod.GET, "/api/tasks/404", java.util.Collections.emptyMap(), null,
 				new RequestTemplate());
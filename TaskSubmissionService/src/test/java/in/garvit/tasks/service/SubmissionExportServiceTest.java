@@ -0,0 +1,104 @@
+package in.garvit.tasks.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import in.garvit.tasks.dto.ExportFormat;
+import in.garvit.tasks.exception.UnauthorizedSubmissionActionException;
+import in.garvit.tasks.security.JwtVerifier;
+import in.garvit.tasks.submissionModel.TaskSubmission;
+import in.garvit.tasks.submissionModel.UserDTO;
+import in.garvit.tasks.submissionModel.enums.SubmissionStatus;
+
+class SubmissionExportServiceTest {
+
+	private MongoTemplate mongoTemplate;
+	private JwtVerifier jwtVerifier;
+	private SubmissionExportService exportService;
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		jwtVerifier = mock(JwtVerifier.class);
+		ObjectMapper objectMapper = new ObjectMapper()
+				.registerModule(new JavaTimeModule())
+				.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		exportService = new SubmissionExportService(mongoTemplate, jwtVerifier, objectMapper, 2);
+	}
+
+	@Test
+	void export_asNdjson_writesOneDocumentPerLineAndClosesCursor() throws Exception {
+		AtomicBoolean closed = new AtomicBoolean();
+		given(mongoTemplate.stream(any(Query.class), eq(TaskSubmission.class)))
+			.willReturn(Stream.of(submission("sub-1", "done"), submission("sub-2", "again"), submission("sub-3", "more"))
+				.onClose(() -> closed.set(true)));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		long count = exportService.export(exportService.exportQuery(null, null, null), ExportFormat.NDJSON, out);
+
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+		assertEquals(3, count);
+		assertEquals(3, lines.length);
+		assertTrue(lines[0].startsWith("{\"id\":\"sub-1\""));
+		assertTrue(lines[2].contains("\"createdAt\":\"2024-05-01T10:00:00\""));
+		assertTrue(closed.get());
+	}
+
+	@Test
+	void export_asCsv_writesHeaderAndQuotesSpecialCharacters() throws Exception {
+		given(mongoTemplate.stream(any(Query.class), eq(TaskSubmission.class)))
+			.willReturn(Stream.of(submission("sub-1", "fixed, \"finally\"\nsee PR")));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		exportService.export(exportService.exportQuery(SubmissionStatus.PENDING, null, null), ExportFormat.CSV, out);
+
+		assertEquals("id,taskId,userId,status,content,createdAt,updatedAt\r\n"
+				+ "sub-1,task-1,user-1,pending,\"fixed, \"\"finally\"\"\nsee PR\",2024-05-01T10:00:00,\r\n",
+				out.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void exportQuery_whenRangeIsInverted_throwsIllegalArgument() {
+		LocalDateTime now = LocalDateTime.now();
+
+		assertThrows(IllegalArgumentException.class, () -> exportService.exportQuery(null, now, now.minusDays(1)));
+	}
+
+	@Test
+	void ensureCanExport_whenNotAdmin_throwsUnauthorized() {
+		given(jwtVerifier.verify("token"))
+			.willReturn(new UserDTO("user-1", "Test User", "test@example.com", "ROLE_USER", "9876543210"));
+
+		assertThrows(UnauthorizedSubmissionActionException.class, () -> exportService.ensureCanExport("token"));
+	}
+
+	private TaskSubmission submission(String id, String content) {
+		return TaskSubmission.builder()
+			.id(id)
+			.taskId("task-1")
+			.userId("user-1")
+			.content(content)
+			.submittedAt(LocalDateTime.of(2024, 5, 1, 10, 0))
+			.build();
+	}
+}
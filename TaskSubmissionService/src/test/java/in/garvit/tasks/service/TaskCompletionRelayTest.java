@@ -0,0 +1,153 @@
+package in.garvit.tasks.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import feign.FeignException;
+import feign.Request;
+import feign.RequestTemplate;
+import in.garvit.tasks.repository.SubRepository;
+import in.garvit.tasks.security.ServiceTokenIssuer;
+import in.garvit.tasks.submissionModel.TaskCompletionOutbox;
+import in.garvit.tasks.submissionModel.TaskSubmission;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TaskCompletionRelayTest {
+
+	private SubRepository subRepository;
+	private TaskService taskService;
+	private SimpleMeterRegistry meterRegistry;
+	private TaskCompletionRelay relay;
+
+	@BeforeEach
+	void setUp() {
+		subRepository = mock(SubRepository.class);
+		taskService = mock(TaskService.class);
+		ServiceTokenIssuer serviceTokenIssuer = mock(ServiceTokenIssuer.class);
+		given(serviceTokenIssuer.bearerToken()).willReturn("Bearer service-token");
+		meterRegistry = new SimpleMeterRegistry();
+		relay = new TaskCompletionRelay(subRepository, taskService, serviceTokenIssuer, meterRegistry, 10,
+				Duration.ofMinutes(1), Duration.ofSeconds(5), Duration.ofMinutes(10));
+	}
+
+	@Test
+	void relayDueCompletions_whenTaskServiceSucceeds_clearsEntry() {
+		TaskSubmission claimed = claimed("submission-1", 1);
+		given(subRepository.claimDueTaskCompletion(any(), any()))
+			.willReturn(Optional.of(claimed), Optional.empty());
+
+		relay.relayDueCompletions();
+
+		verify(taskService).completeTask("task-1", "Bearer service-token");
+		verify(subRepository).clearTaskCompletion("submission-1", "claim-1");
+		verify(subRepository, never()).rescheduleTaskCompletion(anyString(), anyString(), any(), any());
+		assertEquals(1.0, meterRegistry.counter("task.outbox.relay", "result", "completed").count());
+	}
+
+	@Test
+	void dispatch_whenTaskServiceUnavailable_reschedulesWithBackoff() {
+		given(taskService.completeTask(eq("task-1"), anyString()))
+			.willThrow(new FeignException.ServiceUnavailable("unavailable", request(), null, null));
+
+		relay.dispatch(claimed("submission-1", 3));
+
+		verify(subRepository, never()).clearTaskCompletion(anyString(), anyString());
+		verify(subRepository).rescheduleTaskCompletion(eq("submission-1"), eq("claim-1"),
+				any(LocalDateTime.class), eq("unavailable"));
+		assertEquals(1.0, meterRegistry.counter("task.outbox.relay", "result", "retried").count());
+	}
+
+	@Test
+	void dispatch_whenTaskDeleted_dropsEntry() {
+		given(taskService.completeTask(eq("task-1"), anyString()))
+			.willThrow(new FeignException.NotFound("not found", request(), null, null));
+
+		relay.dispatch(claimed("submission-1", 1));
+
+		verify(subRepository).clearTaskCompletion("submission-1", "claim-1");
+		assertEquals(1.0, meterRegistry.counter("task.outbox.relay", "result", "dropped").count());
+	}
+
+	@Test
+	void relayDueCompletions_stopsAtBatchSize() {
+		given(subRepository.claimDueTaskCompletion(any(), any())).willReturn(Optional.of(claimed("submission-1", 1)));
+
+		relay.relayDueCompletions();
+
+		verify(taskService, times(10)).completeTask(eq("task-1"), anyString());
+	}
+
+	@Test
+	void dispatchClaimed_completesAllTasksInOneCallAndClearsEntries() {
+		Map<String, String> approved = Map.of("submission-1", "task-1", "submission-2", "task-2");
+
+		relay.dispatchClaimed(approved, "claim-1");
+
+		verify(taskService).completeTasks(argThat(ids -> ids.size() == 2 && ids.containsAll(approved.values())),
+				eq("Bearer service-token"));
+		verify(subRepository).clearTaskCompletions(approved.keySet(), "claim-1");
+		assertEquals(2.0, meterRegistry.counter("task.outbox.relay", "result", "completed").count());
+	}
+
+	@Test
+	void dispatchClaimed_whenTaskServiceFails_leavesEntriesForPoller() {
+		willThrow(new RuntimeException("connection refused")).given(taskService).completeTasks(any(), anyString());
+
+		relay.dispatchClaimed(Map.of("submission-1", "task-1"), "claim-1");
+
+		verify(subRepository, never()).clearTaskCompletions(any(), anyString());
+		verify(subRepository, never()).rescheduleTaskCompletion(anyString(), anyString(), any(), any());
+	}
+
+	@Test
+	void claimedEntry_isLeasedSoPollerSkipsIt() {
+		TaskCompletionOutbox entry = relay.claimedEntry("task-1", "claim-1");
+
+		assertEquals(1, entry.getAttempts());
+		assertEquals("claim-1", entry.getClaimToken());
+		assertTrue(entry.getNextAttemptAt().isAfter(LocalDateTime.now()));
+	}
+
+	@Test
+	void backoff_doublesPerAttemptUpToMaximum() {
+		assertEquals(Duration.ofSeconds(5), relay.backoff(1));
+		assertEquals(Duration.ofSeconds(20), relay.backoff(3));
+		assertEquals(Duration.ofMinutes(10), relay.backoff(30));
+	}
+
+	private TaskSubmission claimed(String id, int attempts) {
+		return TaskSubmission.builder()
+			.id(id)
+			.taskCompletionOutbox(TaskCompletionOutbox.builder()
+				.taskId("task-1")
+				.attempts(attempts)
+				.claimToken("claim-1")
+				.nextAttemptAt(LocalDateTime.now().plusMinutes(1))
+				.build())
+			.build();
+	}
+
+	private Request request() {
+		return Request.create(Request.HttpMethod.PUT, "/api/tasks/task-1/complete", Collections.emptyMap(), null,
+				new RequestTemplate());
+	}
+}
@@ -0,0 +1,81 @@
+package in.garvit.tasks.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import feign.FeignException;
+import in.garvit.tasks.dto.UserBatchRequest;
+import in.garvit.tasks.submissionModel.UserDTO;
+
+class UserDirectoryTest {
+
+	private UserService userService;
+	private UserDirectory userDirectory;
+
+	@BeforeEach
+	void setUp() {
+		userService = mock(UserService.class);
+		userDirectory = new UserDirectory(userService);
+	}
+
+	@Test
+	void namesOf_resolvesEverySubmitterWithOneCall() {
+		given(userService.findUsersByIds(any(UserBatchRequest.class), eq("token"))).willReturn(Map.of(
+				"user-1", new UserDTO("user-1", "Jane Doe", "jane@example.com", "ROLE_USER", null),
+				"user-2", new UserDTO("user-2", "John Roe", "john@example.com", "ROLE_USER", null)));
+
+		Map<String, String> names = userDirectory.namesOf(Arrays.asList("user-1", "user-2", "user-1", null, " "), "token");
+
+		assertEquals(Map.of("user-1", "Jane Doe", "user-2", "John Roe"), names);
+		ArgumentCaptor<UserBatchRequest> request = ArgumentCaptor.forClass(UserBatchRequest.class);
+		verify(userService, times(1)).findUsersByIds(request.capture(), eq("token"));
+		assertEquals(List.of("user-1", "user-2"), request.getValue().ids());
+	}
+
+	@Test
+	void namesOf_splitsLargeListsIntoBatchesTheUserServiceAccepts() {
+		List<String> ids = new ArrayList<>(IntStream.range(0, UserDirectory.MAX_IDS_PER_CALL + 1)
+				.mapToObj(i -> "user-" + i)
+				.toList());
+		given(userService.findUsersByIds(any(UserBatchRequest.class), eq("token"))).willReturn(Map.of());
+
+		userDirectory.namesOf(ids, "token");
+
+		ArgumentCaptor<UserBatchRequest> requests = ArgumentCaptor.forClass(UserBatchRequest.class);
+		verify(userService, times(2)).findUsersByIds(requests.capture(), eq("token"));
+		assertEquals(UserDirectory.MAX_IDS_PER_CALL, requests.getAllValues().get(0).ids().size());
+		assertEquals(1, requests.getAllValues().get(1).ids().size());
+	}
+
+	@Test
+	void namesOf_whenUserServiceFails_returnsNoNames() {
+		given(userService.findUsersByIds(any(UserBatchRequest.class), eq("token"))).willThrow(FeignException.class);
+
+		assertTrue(userDirectory.namesOf(List.of("user-1"), "token").isEmpty());
+	}
+
+	@Test
+	void namesOf_withoutToken_skipsTheLookup() {
+		assertTrue(userDirectory.namesOf(List.of("user-1"), null).isEmpty());
+
+		verify(userService, never()).findUsersByIds(any(UserBatchRequest.class), anyString());
+	}
+}
@@ -0,0 +1,58 @@
+package in.garvit.tasks.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import in.garvit.tasks.submissionModel.UserDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserProfileCacheTest {
+
+	private UserService userService;
+	private SimpleMeterRegistry meterRegistry;
+	private UserProfileCache userProfileCache;
+
+	@BeforeEach
+	void setUp() {
+		userService = mock(UserService.class);
+		meterRegistry = new SimpleMeterRegistry();
+		userProfileCache = new UserProfileCache(userService, meterRegistry, 100, Duration.ofMinutes(1));
+	}
+
+	@Test
+	void getUserProfile_whenCalledRepeatedly_looksUpOnce() {
+		UserDTO user = new UserDTO("user-1", "Test User", "test@example.com", "ROLE_USER", "9876543210");
+		Date expiry = Date.from(Instant.now().plusSeconds(300));
+		given(userService.getUserProfileHandler("token")).willReturn(user);
+
+		for (int i = 0; i < 5; i++) {
+			assertEquals(user, userProfileCache.getUserProfile("token", expiry));
+		}
+
+		verify(userService, times(1)).getUserProfileHandler("token");
+		assertEquals(4.0, meterRegistry.get("cache.gets").tag("cache", "userProfiles").tag("result", "hit")
+				.functionCounter().count());
+	}
+
+	@Test
+	void getUserProfile_whenTokenAlreadyExpired_doesNotServeFromCache() {
+		UserDTO user = new UserDTO("user-1", "Test User", "test@example.com", "ROLE_USER", "9876543210");
+		Date expiry = Date.from(Instant.now().minusSeconds(1));
+		given(userService.getUserProfileHandler("token")).willReturn(user);
+
+		userProfileCache.getUserProfile("token", expiry);
+		userProfileCache.getUserProfile("token", expiry);
+
+		verify(userService, times(2)).getUserProfileHandler("token");
+	}
+}
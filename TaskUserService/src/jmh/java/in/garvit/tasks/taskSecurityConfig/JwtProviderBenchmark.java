@@ -0,0 +1,80 @@
+package in.garvit.tasks.taskSecurityConfig;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Tokens verified per second by the old per-call parser versus {@link JwtProvider} with its
+ * shared parser and claims cache. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtProviderBenchmark {
+
+	private static final String SECRET = "change-me-change-me-change-me-change-me-123456";
+
+	private SecretKey key;
+	private JwtProvider cachedProvider;
+	private JwtProvider uncachedProvider;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+		cachedProvider = provider(10_000L);
+		uncachedProvider = provider(0L);
+
+		Authentication authentication = new UsernamePasswordAuthenticationToken("jane@example.com", null,
+			List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER")));
+		token = "Bearer " + cachedProvider.generateToken(authentication);
+	}
+
+	/** Baseline: the previous implementation built a new parser for every verification. */
+	@Benchmark
+	public Claims parserPerCall() {
+		return Jwts.parser()
+			.verifyWith(key)
+			.build()
+			.parseSignedClaims(token.substring(7))
+			.getPayload();
+	}
+
+	/** Shared parser, cache disabled: every call still checks the HMAC signature. */
+	@Benchmark
+	public Authentication sharedParser() {
+		return uncachedProvider.buildAuthentication(token);
+	}
+
+	/** Shared parser with the claims cache: repeated tokens skip signature verification. */
+	@Benchmark
+	public Authentication sharedParserWithClaimsCache() {
+		return cachedProvider.buildAuthentication(token);
+	}
+
+	private JwtProvider provider(long cacheSize) {
+		JwtProperties properties = new JwtProperties();
+		properties.setSecret(SECRET);
+		properties.setClaimsCacheMaxSize(cacheSize);
+		properties.setClaimsCacheTtl(Duration.ofMinutes(1));
+		JwtProvider provider = new JwtProvider(properties);
+		provider.initializeKey();
+		return provider;
+	}
+}
@@ -0,0 +1,24 @@
+package in.garvit.tasks.controller;
+
+import in.garvit.tasks.service.UserLookupCache;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/** Exposes user lookup cache statistics at {@code /actuator/usercache}. */
+@Component
+@Endpoint(id = "usercache")
+public class UserCacheEndpoint {
+
+	private final UserLookupCache userLookupCache;
+
+	public UserCacheEndpoint(UserLookupCache userLookupCache) {
+		this.userLookupCache = userLookupCache;
+	}
+
+	@ReadOperation
+	public Map<String, Map<String, Object>> cacheStats() {
+		return userLookupCache.stats();
+	}
+}
@@ -2,11 +2,15 @@ package in.garvit.tasks.controller;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import in.garvit.tasks.exception.UserException;
+import in.garvit.tasks.request.UserBatchRequest;
 import in.garvit.tasks.response.ApiResponse;
 import in.garvit.tasks.response.UserResponse;
 import in.garvit.tasks.service.UserService;
 import in.garvit.tasks.usermodel.User;
+import jakarta.validation.Valid;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,6 +18,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -60,6 +66,24 @@ public class UserController {
 		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
 	}
 
+	@CircuitBreaker(name = CIRCUIT_BREAKER_NAME, fallbackMethod = "fallbackForFindUsersByIds")
+	@PostMapping("/batch")
+	public ResponseEntity<Map<String, UserResponse>> findUsersByIds(@Valid @RequestBody UserBatchRequest request,
+			@RequestHeader("Authorization") String jwt) {
+		log.info("Fetching {} users by id", request.getIds().size());
+		Map<String, UserResponse> users = new LinkedHashMap<>();
+		userService.findUsersByIds(request.getIds())
+			.forEach((id, user) -> users.put(id, UserResponse.from(user)));
+		return ResponseEntity.ok(users);
+	}
+
+	@SuppressWarnings("unused")
+	private ResponseEntity<Map<String, UserResponse>> fallbackForFindUsersByIds(UserBatchRequest request, String jwt,
+			Throwable throwable) {
+		log.error("Fallback triggered while fetching users by id", throwable);
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of());
+	}
+
 	@CircuitBreaker(name = CIRCUIT_BREAKER_NAME, fallbackMethod = "fallbackForFindAllUsers")
 	@GetMapping
 	public ResponseEntity<List<UserResponse>> findAllUsers(@RequestHeader("Authorization") String jwt) {
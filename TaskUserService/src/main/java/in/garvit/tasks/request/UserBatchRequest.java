@@ -0,0 +1,29 @@
+package in.garvit.tasks.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public class UserBatchRequest {
+
+    public static final int MAX_IDS = 500;
+
+    @NotEmpty
+    @Size(max = MAX_IDS, message = "At most " + MAX_IDS + " ids can be resolved per request")
+    private List<String> ids;
+
+    public UserBatchRequest() {
+    }
+
+    public UserBatchRequest(List<String> ids) {
+        this.ids = ids;
+    }
+
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+}
@@ -1,6 +1,6 @@
 package in.garvit.tasks.service;
 
-import in.garvit.tasks.repository.UserRepository;
+import in.garvit.tasks.taskSecurityConfig.AuthenticatedUser;
 import in.garvit.tasks.usermodel.User;
 import java.util.List;
 import java.util.Optional;
@@ -18,22 +18,24 @@ public class CustomerServiceImplementation implements UserDetailsService {
 
 	private static final Logger log = LoggerFactory.getLogger(CustomerServiceImplementation.class);
 
-	private final UserRepository userRepository;
+	private final UserLookupCache userLookupCache;
 
-	public CustomerServiceImplementation(UserRepository userRepository) {
-		this.userRepository = userRepository;
+	public CustomerServiceImplementation(UserLookupCache userLookupCache) {
+		this.userLookupCache = userLookupCache;
 	}
 
 	@Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-		User user = Optional.ofNullable(userRepository.findByEmail(username))
+		User user = Optional.ofNullable(userLookupCache.findByEmail(username))
 			.orElseThrow(() -> new UsernameNotFoundException("User not found with this email " + username));
 		String role = StringUtils.hasText(user.getRole()) ? user.getRole() : "ROLE_CUSTOMER";
 		List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(role));
 		log.debug("Loaded user {} with authorities {}", username, authorities);
-		return new org.springframework.security.core.userdetails.User(
+		return new AuthenticatedUser(
+			user.getId(),
 			user.getEmail(),
 			user.getPassword(),
+			role,
 			authorities);
 	}
 }
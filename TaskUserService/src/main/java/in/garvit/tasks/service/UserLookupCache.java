@@ -0,0 +1,105 @@
+package in.garvit.tasks.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import in.garvit.tasks.repository.UserRepository;
+import in.garvit.tasks.usermodel.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-through cache for user lookups by email and by id. Misses are not cached, so a newly
+ * registered email is visible immediately; every write goes through {@link #save(User)}, which
+ * invalidates both entries of the affected user.
+ */
+@Component
+public class UserLookupCache {
+
+	static final String BY_EMAIL = "usersByEmail";
+	static final String BY_ID = "usersById";
+
+	private final UserRepository userRepository;
+	private final Cache<String, User> usersByEmail;
+	private final Cache<String, User> usersById;
+
+	public UserLookupCache(UserRepository userRepository,
+		MeterRegistry meterRegistry,
+		@Value("${task.user-cache.max-size:10000}") long maxSize,
+		@Value("${task.user-cache.ttl:5m}") Duration ttl) {
+		this.userRepository = userRepository;
+		this.usersByEmail = newCache(maxSize, ttl);
+		this.usersById = newCache(maxSize, ttl);
+		CaffeineCacheMetrics.monitor(meterRegistry, usersByEmail, BY_EMAIL);
+		CaffeineCacheMetrics.monitor(meterRegistry, usersById, BY_ID);
+	}
+
+	public User findByEmail(String email) {
+		return usersByEmail.get(email, userRepository::findByEmail);
+	}
+
+	public Optional<User> findById(String userId) {
+		return Optional.ofNullable(usersById.get(userId, id -> userRepository.findById(id).orElse(null)));
+	}
+
+	/**
+	 * Resolves many ids at once: cached users are served from memory and all misses are loaded
+	 * with a single {@code $in} query. Unknown, null and blank ids are absent from the result.
+	 */
+	public Map<String, User> findAllById(Collection<String> userIds) {
+		// Caffeine rejects null keys, and a blank id cannot match a user anyway
+		List<String> ids = userIds.stream()
+			.filter(id -> id != null && !id.isBlank())
+			.distinct()
+			.toList();
+		return usersById.getAll(ids, missing -> userRepository.findAllById(List.copyOf(missing)).stream()
+			.collect(Collectors.toMap(User::getId, Function.identity())));
+	}
+
+	public User save(User user) {
+		User previous = user.getId() != null ? usersById.getIfPresent(user.getId()) : null;
+		User saved = userRepository.save(user);
+		if (previous != null) {
+			usersByEmail.invalidate(previous.getEmail());
+		}
+		usersByEmail.invalidate(saved.getEmail());
+		usersById.invalidate(saved.getId());
+		return saved;
+	}
+
+	public Map<String, Map<String, Object>> stats() {
+		Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+		stats.put(BY_EMAIL, describe(usersByEmail));
+		stats.put(BY_ID, describe(usersById));
+		return stats;
+	}
+
+	private Map<String, Object> describe(Cache<String, User> cache) {
+		CacheStats cacheStats = cache.stats();
+		Map<String, Object> description = new LinkedHashMap<>();
+		description.put("size", cache.estimatedSize());
+		description.put("hits", cacheStats.hitCount());
+		description.put("misses", cacheStats.missCount());
+		description.put("hitRate", cacheStats.hitRate());
+		description.put("evictions", cacheStats.evictionCount());
+		return description;
+	}
+
+	private static Cache<String, User> newCache(long maxSize, Duration ttl) {
+		return Caffeine.newBuilder()
+			.maximumSize(maxSize)
+			.expireAfterWrite(ttl)
+			.recordStats()
+			.build();
+	}
+}
@@ -4,7 +4,9 @@ import in.garvit.tasks.exception.UserException;
 import in.garvit.tasks.request.SignupRequest;
 import in.garvit.tasks.usermodel.User;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface UserService {
 
@@ -16,6 +18,8 @@ public interface UserService {
 
 	User findUserById(String userId) throws UserException;
 
+	Map<String, User> findUsersByIds(Collection<String> userIds);
+
 	List<User> findAllUsers();
 }
 
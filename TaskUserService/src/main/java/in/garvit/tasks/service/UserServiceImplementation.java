@@ -5,10 +5,13 @@ import in.garvit.tasks.repository.UserRepository;
 import in.garvit.tasks.request.SignupRequest;
 import in.garvit.tasks.usermodel.User;
 import in.garvit.tasks.taskSecurityConfig.JwtProvider;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
@@ -19,20 +22,23 @@ public class UserServiceImplementation implements UserService {
 	private static final Logger log = LoggerFactory.getLogger(UserServiceImplementation.class);
 
 	private final UserRepository userRepository;
+	private final UserLookupCache userLookupCache;
 	private final PasswordEncoder passwordEncoder;
 	private final JwtProvider jwtProvider;
 
 	public UserServiceImplementation(UserRepository userRepository,
+		UserLookupCache userLookupCache,
 		PasswordEncoder passwordEncoder,
 		JwtProvider jwtProvider) {
 		this.userRepository = userRepository;
+		this.userLookupCache = userLookupCache;
 		this.passwordEncoder = passwordEncoder;
 		this.jwtProvider = jwtProvider;
 	}
 
 	@Override
 	public User register(SignupRequest request) throws UserException {
-		if (userRepository.findByEmail(request.getEmail()) != null) {
+		if (userLookupCache.findByEmail(request.getEmail()) != null) {
 			throw new UserException("Email is already associated with another account");
 		}
 		User user = new User();
@@ -43,7 +49,12 @@ public class UserServiceImplementation implements UserService {
 		user.setRole(role);
 		user.setPassword(passwordEncoder.encode(request.getPassword()));
 		log.info("Registering user with email {}", user.getEmail());
-		return userRepository.save(user);
+		try {
+			return userLookupCache.save(user);
+		} catch (DuplicateKeyException ex) {
+			// Lost a concurrent signup race; the unique email index is the final arbiter
+			throw new UserException("Email is already associated with another account");
+		}
 	}
 
 	@Override
@@ -64,7 +75,7 @@ public class UserServiceImplementation implements UserService {
 	@Override
 	public User findUserByEmail(String email) throws UserException {
 		log.debug("Looking up user by email {}", email);
-		User user = userRepository.findByEmail(email);
+		User user = userLookupCache.findByEmail(email);
 		if (user == null) {
 			throw new UserException("User not found with email " + email);
 		}
@@ -74,10 +85,16 @@ public class UserServiceImplementation implements UserService {
 	@Override
 	public User findUserById(String userId) throws UserException {
 		log.debug("Looking up user by id {}", userId);
-		Optional<User> opt = userRepository.findById(userId);
+		Optional<User> opt = userLookupCache.findById(userId);
 		return opt.orElseThrow(() -> new UserException("User not found with id " + userId));
 	}
 
+	@Override
+	public Map<String, User> findUsersByIds(Collection<String> userIds) {
+		log.debug("Looking up {} users by id", userIds.size());
+		return userLookupCache.findAllById(userIds);
+	}
+
 	@Override
 	public List<User> findAllUsers() {
 		log.debug("Fetching all users from repository");
@@ -0,0 +1,32 @@
+package in.garvit.tasks.taskSecurityConfig;
+
+import java.util.Collection;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * Security principal that keeps the user id and role next to the credentials so they can be
+ * embedded in issued tokens without another repository lookup.
+ */
+public class AuthenticatedUser extends User {
+
+	private static final long serialVersionUID = 1L;
+
+	private final String id;
+	private final String role;
+
+	public AuthenticatedUser(String id, String email, String password, String role,
+		Collection<? extends GrantedAuthority> authorities) {
+		super(email, password, authorities);
+		this.id = id;
+		this.role = role;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public String getRole() {
+		return role;
+	}
+}
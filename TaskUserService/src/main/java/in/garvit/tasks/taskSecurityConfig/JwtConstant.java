@@ -9,4 +9,10 @@ public final class JwtConstant {
     }
 
     public static final String JWT_HEADER = HttpHeaders.AUTHORIZATION;
+
+    public static final String EMAIL_CLAIM = "email";
+
+    public static final String USER_ID_CLAIM = "userId";
+
+    public static final String ROLE_CLAIM = "role";
 }
@@ -2,6 +2,7 @@ package in.garvit.tasks.taskSecurityConfig;
 
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
@@ -15,6 +16,11 @@ public class JwtProperties {
 	@Min(1)
 	private long accessTokenTtlMinutes = 1440L;
 
+	@Min(0)
+	private long claimsCacheMaxSize = 10_000L;
+
+	private Duration claimsCacheTtl = Duration.ofMinutes(1);
+
 	public String getSecret() {
 		return secret;
 	}
@@ -30,4 +36,20 @@ public class JwtProperties {
 	public void setAccessTokenTtlMinutes(long accessTokenTtlMinutes) {
 		this.accessTokenTtlMinutes = accessTokenTtlMinutes;
 	}
+
+	public long getClaimsCacheMaxSize() {
+		return claimsCacheMaxSize;
+	}
+
+	public void setClaimsCacheMaxSize(long claimsCacheMaxSize) {
+		this.claimsCacheMaxSize = claimsCacheMaxSize;
+	}
+
+	public Duration getClaimsCacheTtl() {
+		return claimsCacheTtl;
+	}
+
+	public void setClaimsCacheTtl(Duration claimsCacheTtl) {
+		this.claimsCacheTtl = claimsCacheTtl;
+	}
 }
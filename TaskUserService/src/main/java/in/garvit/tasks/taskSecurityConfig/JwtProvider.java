@@ -1,13 +1,22 @@
 package in.garvit.tasks.taskSecurityConfig;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashSet;
@@ -32,6 +41,10 @@ public class JwtProvider {
 
     private SecretKey key;
 
+    private JwtParser parser;
+
+    private Cache<String, Claims> claimsCache;
+
     public JwtProvider(JwtProperties jwtProperties) {
         this.jwtProperties = jwtProperties;
     }
@@ -43,6 +56,12 @@ public class JwtProvider {
             throw new IllegalStateException("task.jwt.secret must be at least 32 characters long");
         }
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        // JwtParser is immutable and thread-safe, so one instance serves every request
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.claimsCache = Caffeine.newBuilder()
+            .maximumSize(jwtProperties.getClaimsCacheMaxSize())
+            .expireAfter(new TokenBoundExpiry(jwtProperties.getClaimsCacheTtl()))
+            .build();
         log.info("JWT provider initialised with configurable secret and TTL of {} minutes",
             jwtProperties.getAccessTokenTtlMinutes());
     }
@@ -51,24 +70,28 @@ public class JwtProvider {
         Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
         String roles = populateAuthorities(authorities);
         Instant now = Instant.now();
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
             .issuedAt(Date.from(now))
             .expiration(Date.from(now.plus(jwtProperties.getAccessTokenTtlMinutes(), ChronoUnit.MINUTES)))
             .subject(authentication.getName())
-            .claim("email", authentication.getName())
-            .claim("authorities", roles)
-            .signWith(key)
-            .compact();
+            .claim(JwtConstant.EMAIL_CLAIM, authentication.getName())
+            .claim("authorities", roles);
+        // Identity claims let the other services authenticate callers locally with the shared key
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            builder.claim(JwtConstant.USER_ID_CLAIM, user.getId())
+                .claim(JwtConstant.ROLE_CLAIM, user.getRole());
+        }
+        return builder.signWith(key).compact();
     }
 
     public String extractEmail(String token) {
         Claims claims = parseClaims(resolveToken(token));
-        return claims.get("email", String.class);
+        return claims.get(JwtConstant.EMAIL_CLAIM, String.class);
     }
 
     public Authentication buildAuthentication(String rawToken) {
         Claims claims = parseClaims(resolveToken(rawToken));
-        String email = claims.get("email", String.class);
+        String email = claims.get(JwtConstant.EMAIL_CLAIM, String.class);
         String authorities = claims.get("authorities", String.class);
         return new UsernamePasswordAuthenticationToken(email, null,
             AuthorityUtils.commaSeparatedStringToAuthorityList(authorities != null ? authorities : ""));
@@ -89,16 +112,61 @@ public class JwtProvider {
         return token.startsWith("Bearer ") ? token.substring(7) : token;
     }
 
+    /**
+     * Returns the verified claims of a token, reusing a previous verification of the same token
+     * while it is cached. Only successfully verified tokens are cached, keyed by their SHA-256 digest.
+     */
     private Claims parseClaims(String jwt) {
+        return claimsCache.get(digest(jwt), ignored -> verifyClaims(jwt));
+    }
+
+    private Claims verifyClaims(String jwt) {
         try {
-            return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(jwt)
-                .getPayload();
-        } catch (JwtException ex) {
+            return parser.parseSignedClaims(jwt).getPayload();
+        } catch (JwtException | IllegalArgumentException ex) {
             log.debug("Failed to parse JWT token", ex);
             throw new BadCredentialsException("Invalid JWT token", ex);
         }
     }
+
+    private String digest(String jwt) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(jwt.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * Keeps verified claims for the configured TTL but never past the token's own expiry.
+     */
+    private static final class TokenBoundExpiry implements Expiry<String, Claims> {
+
+        private final long ttlNanos;
+
+        private TokenBoundExpiry(Duration ttl) {
+            this.ttlNanos = ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return ttlNanos;
+            }
+            long untilExpiry = Duration.between(Instant.now(), expiration.toInstant()).toNanos();
+            return Math.max(0, Math.min(ttlNanos, untilExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
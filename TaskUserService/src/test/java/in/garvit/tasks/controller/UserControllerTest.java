@@ -1,6 +1,7 @@
 package in.garvit.tasks.controller;
 
 import in.garvit.tasks.exception.UserException;
+import in.garvit.tasks.request.UserBatchRequest;
 import in.garvit.tasks.response.UserResponse;
 import in.garvit.tasks.service.UserService;
 import in.garvit.tasks.usermodel.User;
@@ -13,6 +14,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.when;
@@ -67,6 +69,27 @@ class UserControllerTest {
         assertEquals(mockUser.getId(), responseEntity.getBody().id());
     }
 
+    @Test
+    void testFindUsersByIds() {
+        // Arrange
+        String jwt = "mockJWT";
+        User mockUser = new User();
+        mockUser.setId("user-1");
+        List<String> ids = List.of("user-1", "missing");
+        // Set up mock behavior
+        when(userService.findUsersByIds(ids)).thenReturn(Map.of("user-1", mockUser));
+
+        // Act
+        ResponseEntity<Map<String, UserResponse>> responseEntity =
+            userController.findUsersByIds(new UserBatchRequest(ids), jwt);
+
+        // Assert
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertNotNull(responseEntity.getBody());
+        assertEquals(1, responseEntity.getBody().size());
+        assertEquals("user-1", responseEntity.getBody().get("user-1").id());
+    }
+
     @Test
     void testFindAllUsers() {
         // Arrange
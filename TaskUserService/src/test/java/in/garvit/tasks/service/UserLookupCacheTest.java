@@ -0,0 +1,87 @@
+package in.garvit.tasks.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import in.garvit.tasks.repository.UserRepository;
+import in.garvit.tasks.usermodel.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class UserLookupCacheTest {
+
+	@Mock
+	private UserRepository userRepository;
+
+	private UserLookupCache userLookupCache;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		userLookupCache = new UserLookupCache(userRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+	}
+
+	@Test
+	void findByEmail_ServesRepeatedLookupsFromMemory() {
+		User user = user("user-1", "jane@example.com");
+		when(userRepository.findByEmail("jane@example.com")).thenReturn(user);
+
+		userLookupCache.findByEmail("jane@example.com");
+		User cached = userLookupCache.findByEmail("jane@example.com");
+
+		assertEquals(user, cached);
+		verify(userRepository, times(1)).findByEmail("jane@example.com");
+		assertEquals(1L, userLookupCache.stats().get(UserLookupCache.BY_EMAIL).get("hits"));
+	}
+
+	@Test
+	void findByEmail_DoesNotCacheMisses() {
+		userLookupCache.findByEmail("new@example.com");
+		assertNull(userLookupCache.findByEmail("new@example.com"));
+
+		verify(userRepository, times(2)).findByEmail("new@example.com");
+	}
+
+	@Test
+	void save_InvalidatesCachedEntries() {
+		User user = user("user-1", "jane@example.com");
+		when(userRepository.findById("user-1")).thenReturn(Optional.of(user));
+		when(userRepository.save(any(User.class))).thenReturn(user);
+
+		userLookupCache.findById("user-1");
+		userLookupCache.save(user);
+		userLookupCache.findById("user-1");
+
+		verify(userRepository, times(2)).findById("user-1");
+	}
+
+	@Test
+	void findAllById_SkipsNullAndBlankIds() {
+		User user = user("user-1", "jane@example.com");
+		when(userRepository.findAllById(List.of("user-1"))).thenReturn(List.of(user));
+
+		Map<String, User> users = userLookupCache.findAllById(Arrays.asList("user-1", null, " ", "user-1"));
+
+		assertEquals(Map.of("user-1", user), users);
+		verify(userRepository, times(1)).findAllById(List.of("user-1"));
+	}
+
+	private User user(String id, String email) {
+		User user = new User();
+		user.setId(id);
+		user.setEmail(email);
+		return user;
+	}
+}
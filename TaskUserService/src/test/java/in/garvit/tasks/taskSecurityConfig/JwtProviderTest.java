@@ -0,0 +1,50 @@
+package in.garvit.tasks.taskSecurityConfig;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+class JwtProviderTest {
+
+	private JwtProvider jwtProvider;
+
+	@BeforeEach
+	void setUp() {
+		JwtProperties properties = new JwtProperties();
+		properties.setSecret("change-me-change-me-change-me-change-me-123456");
+		jwtProvider = new JwtProvider(properties);
+		jwtProvider.initializeKey();
+	}
+
+	@Test
+	void buildAuthentication_RepeatedCallsReturnSameClaims() {
+		String token = "Bearer " + jwtProvider.generateToken(authentication());
+
+		Authentication first = jwtProvider.buildAuthentication(token);
+		Authentication second = jwtProvider.buildAuthentication(token);
+
+		assertEquals("jane@example.com", first.getName());
+		assertEquals(first.getAuthorities(), second.getAuthorities());
+		assertEquals("jane@example.com", jwtProvider.extractEmail(token));
+	}
+
+	@Test
+	void buildAuthentication_TamperedTokenIsRejected() {
+		String token = jwtProvider.generateToken(authentication());
+		String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+		assertThrows(BadCredentialsException.class, () -> jwtProvider.buildAuthentication(tampered));
+	}
+
+	private Authentication authentication() {
+		return new UsernamePasswordAuthenticationToken("jane@example.com", null,
+			List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER")));
+	}
+}
@@ -22,7 +22,7 @@ const AdminPanel = () => {
           submissionAPI.getAllSubmissions(),
         ]);
         setUsers(safeArray(usersResponse?.data));
-        setSubmissions(safeArray(submissionsResponse?.data));
+        setSubmissions(safeArray(submissionsResponse?.data?.items));
       } catch (err) {
         const message = err?.response?.data?.message ?? 'We were unable to load admin data.';
         setDashboardError(message);
@@ -8,13 +8,16 @@ const SubmissionList = () => {
   const [submissions, setSubmissions] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   useEffect(() => {
     const loadSubmissions = async () => {
       try {
         setLoading(true);
         const response = await submissionAPI.getAllSubmissions();
-        setSubmissions(safeArray(response?.data));
+        setSubmissions(safeArray(response?.data?.items));
+        setNextCursor(response?.data?.next ?? null);
       } catch (err) {
         const message = err?.response?.data?.message ?? 'We were unable to load submissions.';
         setError(message);
@@ -27,6 +30,20 @@ const SubmissionList = () => {
     loadSubmissions();
   }, []);
 
+  const loadMoreSubmissions = async () => {
+    setLoadingMore(true);
+    try {
+      const response = await submissionAPI.getAllSubmissions(nextCursor);
+      setSubmissions((current) => [...current, ...safeArray(response?.data?.items)]);
+      setNextCursor(response?.data?.next ?? null);
+    } catch (err) {
+      const message = err?.response?.data?.message ?? 'We were unable to load more submissions.';
+      setError(message);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   if (loading) {
     return <Loader label="Loading submissions" />;
   }
@@ -72,6 +89,11 @@ const SubmissionList = () => {
           </article>
         ))}
       </div>
+      {nextCursor !== null && (
+        <button type="button" className="button button--ghost" onClick={loadMoreSubmissions} disabled={loadingMore}>
+          {loadingMore ? 'Loading…' : 'Load more submissions'}
+        </button>
+      )}
     </div>
   );
 };
@@ -12,21 +12,45 @@ const TaskList = ({ refreshKey = 0 }) => {
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
   const [updating, setUpdating] = useState(null);
+  const [nextPage, setNextPage] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
+
+  const fetchPage = useCallback(
+    (next) => (checkIsAdmin(user) ? taskAPI.getAllTasks(next) : taskAPI.getUserTasks(next)),
+    [user?.role],
+  );
 
   const loadTasks = useCallback(async () => {
     try {
       setLoading(true);
       setError('');
-      const response = checkIsAdmin(user) ? await taskAPI.getAllTasks() : await taskAPI.getUserTasks();
-      setTasks(safeArray(response?.data));
+      const response = await fetchPage(null);
+      setTasks(safeArray(response?.data?.items));
+      setNextPage(response?.data?.next ?? null);
     } catch (err) {
       const message = err?.response?.data?.message ?? 'We were unable to load your tasks.';
       setError(message);
       setTasks([]);
+      setNextPage(null);
     } finally {
       setLoading(false);
     }
-  }, [user?.role]);
+  }, [fetchPage]);
+
+  const loadMoreTasks = async () => {
+    setLoadingMore(true);
+    setError('');
+    try {
+      const response = await fetchPage(nextPage);
+      setTasks((current) => [...current, ...safeArray(response?.data?.items)]);
+      setNextPage(response?.data?.next ?? null);
+    } catch (err) {
+      const message = err?.response?.data?.message ?? 'We were unable to load more tasks.';
+      setError(message);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
 
   useEffect(() => {
     if (user) {
@@ -61,45 +85,52 @@ const TaskList = ({ refreshKey = 0 }) => {
   }
 
   return (
-    <div className="task-grid" role="list" aria-label="Task list">
-      {error && (
-        <div className="alert alert--error" role="alert">
-          {error}
-        </div>
+    <>
+      <div className="task-grid" role="list" aria-label="Task list">
+        {error && (
+          <div className="alert alert--error" role="alert">
+            {error}
+          </div>
+        )}
+        {tasks.map((task) => {
+          const taskId = task?.id ?? task?.taskId;
+          const isComplete = Boolean(task?.completed);
+          return (
+            <article key={taskId} className="card task-card" role="listitem">
+              <header>
+                <h3 className="task-card__title">{task?.title}</h3>
+                <p style={{ margin: '0 0 1rem', color: 'var(--color-muted)' }}>{task?.description}</p>
+                {task?.dueDate && (
+                  <div className="task-card__meta">
+                    <span>Due {formatDateTime(task?.dueDate)}</span>
+                  </div>
+                )}
+              </header>
+              <footer className="task-card__meta">
+                <span className={`status-badge ${isComplete ? 'status-badge--success' : 'status-badge--warning'}`}>
+                  {isComplete ? 'Completed' : 'In progress'}
+                </span>
+                {!isComplete && (
+                  <button
+                    type="button"
+                    className="button button--primary"
+                    onClick={() => handleCompleteTask(taskId)}
+                    disabled={updating === taskId}
+                  >
+                    {updating === taskId ? 'Updating…' : 'Mark complete'}
+                  </button>
+                )}
+              </footer>
+            </article>
+          );
+        })}
+      </div>
+      {nextPage !== null && (
+        <button type="button" className="button button--ghost" onClick={loadMoreTasks} disabled={loadingMore}>
+          {loadingMore ? 'Loading…' : 'Load more tasks'}
+        </button>
       )}
-      {tasks.map((task) => {
-        const taskId = task?.id ?? task?.taskId;
-        const isComplete = Boolean(task?.completed);
-        return (
-          <article key={taskId} className="card task-card" role="listitem">
-            <header>
-              <h3 className="task-card__title">{task?.title}</h3>
-              <p style={{ margin: '0 0 1rem', color: 'var(--color-muted)' }}>{task?.description}</p>
-              {task?.dueDate && (
-                <div className="task-card__meta">
-                  <span>Due {formatDateTime(task?.dueDate)}</span>
-                </div>
-              )}
-            </header>
-            <footer className="task-card__meta">
-              <span className={`status-badge ${isComplete ? 'status-badge--success' : 'status-badge--warning'}`}>
-                {isComplete ? 'Completed' : 'In progress'}
-              </span>
-              {!isComplete && (
-                <button
-                  type="button"
-                  className="button button--primary"
-                  onClick={() => handleCompleteTask(taskId)}
-                  disabled={updating === taskId}
-                >
-                  {updating === taskId ? 'Updating…' : 'Mark complete'}
-                </button>
-              )}
-            </footer>
-          </article>
-        );
-      })}
-    </div>
+    </>
   );
 };
 
@@ -39,6 +39,23 @@ api.interceptors.request.use((config) => {
 
 const buildPath = (path) => path.replace(/\/{2,}/g, '/');
 
+// Lists are loaded one page at a time, as the user asks for more. Every page resolves to
+// `{ items, next }`, where `next` is passed back to fetch the following page and is null on the last one.
+const PAGE_SIZE = 50;
+
+// Keyset pages (`/scroll`): the server hands back a cursor, so deep pages cost the same as the first.
+const getCursorPage = async (path, cursor) => {
+  const response = await api.get(buildPath(path), { params: { cursor: cursor ?? undefined, size: PAGE_SIZE } });
+  return { ...response, data: { items: response?.data?.items ?? [], next: response?.data?.nextCursor ?? null } };
+};
+
+// Offset pages, for listings without a cursor endpoint; a short page is the last one.
+const getOffsetPage = async (path, page = 0) => {
+  const response = await api.get(buildPath(path), { params: { page, size: PAGE_SIZE } });
+  const items = Array.isArray(response?.data) ? response.data : [];
+  return { ...response, data: { items, next: items.length < PAGE_SIZE ? null : page + 1 } };
+};
+
 export const authAPI = {
   signup: (userData) => api.post(buildPath('/auth/signup'), userData),
   signin: (credentials) => api.post(buildPath('/auth/signin'), credentials),
@@ -48,8 +65,8 @@ export const authAPI = {
 export const taskAPI = {
   createTask: (taskData) => api.post(buildPath('/api/tasks'), taskData),
   getTask: (taskId) => api.get(buildPath(`/api/tasks/${taskId}`)),
-  getUserTasks: () => api.get(buildPath('/api/tasks/user')),
-  getAllTasks: () => api.get(buildPath('/api/tasks')),
+  getUserTasks: (page) => getOffsetPage('/api/tasks/user', page ?? 0),
+  getAllTasks: (cursor) => getCursorPage('/api/tasks/scroll', cursor),
   updateTask: (taskId, taskData) => api.put(buildPath(`/api/tasks/${taskId}`), taskData),
   assignTask: (taskId, userId) => api.put(buildPath(`/api/tasks/${taskId}/user/${userId}/assigned`)),
   completeTask: (taskId) => api.put(buildPath(`/api/tasks/${taskId}/complete`)),
@@ -59,7 +76,7 @@ export const taskAPI = {
 export const submissionAPI = {
   createSubmission: (submissionData) => api.post(buildPath('/api/submissions'), submissionData),
   getSubmission: (submissionId) => api.get(buildPath(`/api/submissions/${submissionId}`)),
-  getAllSubmissions: () => api.get(buildPath('/api/submissions')),
+  getAllSubmissions: (cursor) => getCursorPage('/api/submissions/scroll', cursor),
   getTaskSubmissions: (taskId) => api.get(buildPath(`/api/submissions/task/${taskId}`)),
   updateSubmission: (submissionId, submissionData) => api.put(buildPath(`/api/submissions/${submissionId}`), submissionData),
 };